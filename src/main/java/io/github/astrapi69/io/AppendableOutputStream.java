@@ -0,0 +1,131 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.Objects;
+
+/**
+ * The class {@link AppendableOutputStream} appends every written byte as one char with the same
+ * value to an {@link Appendable}, what is the ISO-8859-1 decoding of the bytes. It is used for the
+ * ASCII output of encoders like {@link java.util.Base64.Encoder#wrap(OutputStream)}. Closing this
+ * stream flushes the appendable but does not close it<br>
+ * Note: this class is not thread safe
+ */
+final class AppendableOutputStream extends OutputStream
+{
+
+	/** The size of the char buffer */
+	private static final int BUFFER_SIZE = 1024;
+
+	/** The appendable */
+	private final Appendable appendable;
+
+	/** The reused buffer for the converted chars */
+	private final char[] chars = new char[BUFFER_SIZE];
+
+	/** The view of the char buffer for appendables that are no {@link Writer} */
+	private final CharBuffer charBuffer = CharBuffer.wrap(chars);
+
+	/**
+	 * Instantiates a new {@link AppendableOutputStream}
+	 *
+	 * @param appendable
+	 *            the appendable to write to
+	 */
+	AppendableOutputStream(final Appendable appendable)
+	{
+		this.appendable = Objects.requireNonNull(appendable, "Appendable must not be null");
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(final int b) throws IOException
+	{
+		appendable.append((char)(b & 0xFF));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(final byte[] bytes, int offset, int length) throws IOException
+	{
+		Objects.checkFromIndexSize(offset, length, bytes.length);
+		while (0 < length)
+		{
+			final int count = Math.min(length, BUFFER_SIZE);
+			for (int i = 0; i < count; i++)
+			{
+				chars[i] = (char)(bytes[offset + i] & 0xFF);
+			}
+			if (appendable instanceof Writer)
+			{
+				((Writer)appendable).write(chars, 0, count);
+			}
+			else if (appendable instanceof StringBuilder)
+			{
+				((StringBuilder)appendable).append(chars, 0, count);
+			}
+			else
+			{
+				appendable.append(charBuffer, 0, count);
+			}
+			offset += count;
+			length -= count;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void flush() throws IOException
+	{
+		if (appendable instanceof Flushable)
+		{
+			((Flushable)appendable).flush();
+		}
+	}
+
+	/**
+	 * Flushes the appendable but does not close it
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		flush();
+	}
+
+}
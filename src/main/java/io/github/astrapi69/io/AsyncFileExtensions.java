@@ -0,0 +1,377 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * The class {@link AsyncFileExtensions} is the asynchronous counterpart of the file methods from
+ * {@link StreamExtensions}. All methods returns immediately with a {@link CompletableFuture} and
+ * are backed by an {@link AsynchronousFileChannel}, so the calling thread is not blocked while the
+ * file is read or written. The given {@link ExecutorService} is used for the I/O operations and
+ * the completion of the returned futures. If no executor is given the default thread pool of the
+ * {@link AsynchronousFileChannel} is used
+ */
+public final class AsyncFileExtensions
+{
+
+	private AsyncFileExtensions()
+	{
+	}
+
+	/**
+	 * Reads asynchronous all bytes from the given file with the default thread pool
+	 *
+	 * @param path
+	 *            the {@link Path} object of the file
+	 * @return the future with the content of the given file
+	 */
+	public static CompletableFuture<byte[]> readAllBytesAsync(final Path path)
+	{
+		return readAllBytesAsync(path, null);
+	}
+
+	/**
+	 * Reads asynchronous all bytes from the given file with the given executor
+	 *
+	 * @param path
+	 *            the {@link Path} object of the file
+	 * @param executor
+	 *            the executor for the I/O operations or null for the default thread pool
+	 * @return the future with the content of the given file
+	 */
+	public static CompletableFuture<byte[]> readAllBytesAsync(final Path path,
+		final ExecutorService executor)
+	{
+		final AsynchronousFileChannel channel;
+		final long size;
+		try
+		{
+			channel = open(path, executor, Set.of(StandardOpenOption.READ));
+			size = channel.size();
+		}
+		catch (IOException | RuntimeException exception)
+		{
+			return CompletableFuture.failedFuture(exception);
+		}
+		if (Integer.MAX_VALUE - 8 < size)
+		{
+			closeQuietly(channel);
+			return CompletableFuture.failedFuture(new IOException(
+				"File " + path.getFileName() + " with " + size + " bytes is too large."));
+		}
+		final ByteBuffer buffer = ByteBuffer.allocate((int)size);
+		return readFully(channel, buffer, 0)
+			.thenApply(read -> read == buffer.capacity()
+				? buffer.array()
+				: Arrays.copyOf(buffer.array(), read))
+			.whenComplete((content, throwable) -> closeQuietly(channel));
+	}
+
+	/**
+	 * Writes asynchronous the remaining bytes of the given buffer to the given file with the
+	 * default thread pool. If the file does not exist it will be created otherwise it will be
+	 * truncated
+	 *
+	 * @param path
+	 *            the {@link Path} object of the file
+	 * @param buffer
+	 *            the buffer with the bytes to write
+	 * @return the future with the number of written bytes
+	 */
+	public static CompletableFuture<Long> writeAsync(final Path path, final ByteBuffer buffer)
+	{
+		return writeAsync(path, buffer, null);
+	}
+
+	/**
+	 * Writes asynchronous the remaining bytes of the given buffer to the given file with the given
+	 * executor. If the file does not exist it will be created otherwise it will be truncated
+	 *
+	 * @param path
+	 *            the {@link Path} object of the file
+	 * @param buffer
+	 *            the buffer with the bytes to write
+	 * @param executor
+	 *            the executor for the I/O operations or null for the default thread pool
+	 * @return the future with the number of written bytes
+	 */
+	public static CompletableFuture<Long> writeAsync(final Path path, final ByteBuffer buffer,
+		final ExecutorService executor)
+	{
+		final AsynchronousFileChannel channel;
+		try
+		{
+			channel = open(path, executor, Set.of(StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+		}
+		catch (IOException | RuntimeException exception)
+		{
+			return CompletableFuture.failedFuture(exception);
+		}
+		return writeFully(channel, buffer, 0)
+			.whenComplete((written, throwable) -> closeQuietly(channel));
+	}
+
+	/**
+	 * Copies asynchronous the given source file to the given target file with the default thread
+	 * pool. If the target file does not exist it will be created otherwise it will be truncated
+	 *
+	 * @param source
+	 *            the {@link Path} object of the source file
+	 * @param target
+	 *            the {@link Path} object of the target file
+	 * @return the future with the number of copied bytes
+	 */
+	public static CompletableFuture<Long> copyAsync(final Path source, final Path target)
+	{
+		return copyAsync(source, target, null);
+	}
+
+	/**
+	 * Copies asynchronous the given source file to the given target file with the given executor.
+	 * If the target file does not exist it will be created otherwise it will be truncated
+	 *
+	 * @param source
+	 *            the {@link Path} object of the source file
+	 * @param target
+	 *            the {@link Path} object of the target file
+	 * @param executor
+	 *            the executor for the I/O operations or null for the default thread pool
+	 * @return the future with the number of copied bytes
+	 */
+	public static CompletableFuture<Long> copyAsync(final Path source, final Path target,
+		final ExecutorService executor)
+	{
+		final AsynchronousFileChannel sourceChannel;
+		final AsynchronousFileChannel targetChannel;
+		try
+		{
+			sourceChannel = open(source, executor, Set.of(StandardOpenOption.READ));
+		}
+		catch (IOException | RuntimeException exception)
+		{
+			return CompletableFuture.failedFuture(exception);
+		}
+		try
+		{
+			targetChannel = open(target, executor, Set.of(StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+		}
+		catch (IOException | RuntimeException exception)
+		{
+			closeQuietly(sourceChannel);
+			return CompletableFuture.failedFuture(exception);
+		}
+		final BufferPool bufferPool = BufferPool.getDefault();
+		final ByteBuffer buffer = bufferPool.acquireDirect(StreamExtensions.DEFAULT_BUFFER_SIZE);
+		return copy(sourceChannel, targetChannel, buffer, 0).whenComplete((copied, throwable) -> {
+			closeQuietly(sourceChannel);
+			closeQuietly(targetChannel);
+			bufferPool.releaseDirect(buffer);
+		});
+	}
+
+	/**
+	 * Opens an {@link AsynchronousFileChannel} for the given file
+	 *
+	 * @param path
+	 *            the {@link Path} object of the file
+	 * @param executor
+	 *            the executor or null for the default thread pool
+	 * @param options
+	 *            the open options
+	 * @return the opened channel
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	private static AsynchronousFileChannel open(final Path path, final ExecutorService executor,
+		final Set<? extends OpenOption> options) throws IOException
+	{
+		return AsynchronousFileChannel.open(path, options, executor);
+	}
+
+	/**
+	 * Reads from the given channel beginning at the given position until the given buffer is full
+	 * or the end of the file is reached
+	 *
+	 * @param channel
+	 *            the channel to read from
+	 * @param buffer
+	 *            the buffer to fill
+	 * @param position
+	 *            the file position to begin with
+	 * @return the future with the number of read bytes
+	 */
+	private static CompletableFuture<Integer> readFully(final AsynchronousFileChannel channel,
+		final ByteBuffer buffer, final long position)
+	{
+		if (!buffer.hasRemaining())
+		{
+			return CompletableFuture.completedFuture(0);
+		}
+		return read(channel, buffer, position).thenCompose(read -> read == -1
+			? CompletableFuture.completedFuture(0)
+			: readFully(channel, buffer, position + read).thenApply(next -> read + next));
+	}
+
+	/**
+	 * Writes the remaining bytes of the given buffer to the given channel beginning at the given
+	 * position
+	 *
+	 * @param channel
+	 *            the channel to write to
+	 * @param buffer
+	 *            the buffer with the bytes to write
+	 * @param position
+	 *            the file position to begin with
+	 * @return the future with the number of written bytes
+	 */
+	private static CompletableFuture<Long> writeFully(final AsynchronousFileChannel channel,
+		final ByteBuffer buffer, final long position)
+	{
+		if (!buffer.hasRemaining())
+		{
+			return CompletableFuture.completedFuture(0L);
+		}
+		return write(channel, buffer, position).thenCompose(written -> writeFully(channel, buffer,
+			position + written).thenApply(next -> written + next));
+	}
+
+	/**
+	 * Copies chunk by chunk from the given source channel to the given target channel beginning
+	 * at the given position
+	 *
+	 * @param source
+	 *            the source channel
+	 * @param target
+	 *            the target channel
+	 * @param buffer
+	 *            the buffer for one chunk
+	 * @param position
+	 *            the file position to begin with
+	 * @return the future with the number of copied bytes
+	 */
+	private static CompletableFuture<Long> copy(final AsynchronousFileChannel source,
+		final AsynchronousFileChannel target, final ByteBuffer buffer, final long position)
+	{
+		buffer.clear();
+		return read(source, buffer, position).thenCompose(read -> {
+			if (read == -1)
+			{
+				return CompletableFuture.completedFuture(position);
+			}
+			buffer.flip();
+			return writeFully(target, buffer, position)
+				.thenCompose(written -> copy(source, target, buffer, position + written));
+		});
+	}
+
+	/**
+	 * Reads once from the given channel into the given buffer
+	 *
+	 * @param channel
+	 *            the channel to read from
+	 * @param buffer
+	 *            the buffer to read into
+	 * @param position
+	 *            the file position to read from
+	 * @return the future with the number of read bytes or -1 if the end of the file is reached
+	 */
+	private static CompletableFuture<Integer> read(final AsynchronousFileChannel channel,
+		final ByteBuffer buffer, final long position)
+	{
+		final CompletableFuture<Integer> future = new CompletableFuture<>();
+		channel.read(buffer, position, future, new FutureCompletionHandler());
+		return future;
+	}
+
+	/**
+	 * Writes once the given buffer to the given channel
+	 *
+	 * @param channel
+	 *            the channel to write to
+	 * @param buffer
+	 *            the buffer to write
+	 * @param position
+	 *            the file position to write to
+	 * @return the future with the number of written bytes
+	 */
+	private static CompletableFuture<Integer> write(final AsynchronousFileChannel channel,
+		final ByteBuffer buffer, final long position)
+	{
+		final CompletableFuture<Integer> future = new CompletableFuture<>();
+		channel.write(buffer, position, future, new FutureCompletionHandler());
+		return future;
+	}
+
+	/**
+	 * Closes the given channel and ignores an {@link IOException}
+	 *
+	 * @param channel
+	 *            the channel to close
+	 */
+	private static void closeQuietly(final AsynchronousFileChannel channel)
+	{
+		try
+		{
+			channel.close();
+		}
+		catch (IOException exception)
+		{
+			// ignore...
+		}
+	}
+
+	/**
+	 * The {@link CompletionHandler} that completes the future that is given as attachment
+	 */
+	private static final class FutureCompletionHandler
+		implements CompletionHandler<Integer, CompletableFuture<Integer>>
+	{
+		@Override
+		public void completed(final Integer result, final CompletableFuture<Integer> future)
+		{
+			future.complete(result);
+		}
+
+		@Override
+		public void failed(final Throwable throwable, final CompletableFuture<Integer> future)
+		{
+			future.completeExceptionally(throwable);
+		}
+	}
+
+}
@@ -0,0 +1,321 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The class {@link AtomicFileOutputStream} writes to a temporary file in the directory of the
+ * target file and renames it on {@link #commit()} over the target file with
+ * {@link StandardCopyOption#ATOMIC_MOVE}. Readers of the target file will see either the old or
+ * the complete new content but never a partial written file, even if the process crashes while
+ * writing. A {@link #close()} without a commit discards the written content, so the commit is
+ * the last statement of a try-with-resources block and an exception in the block leaves the target
+ * file unchanged.<br>
+ * If the file system does not support atomic moves the temporary file replaces the target
+ * file with {@link StandardCopyOption#REPLACE_EXISTING}.<br>
+ * If the force flag is set the content is forced to the storage device with
+ * {@link FileChannel#force(boolean)} before the rename and the directory of the target file is
+ * forced after the rename where the platform supports it, so the new content survives also a
+ * crash of the operating system.<br>
+ * The POSIX file permissions of an existing target file are copied to the new file
+ */
+public final class AtomicFileOutputStream extends OutputStream
+{
+
+	/** The target file */
+	private final Path target;
+
+	/** The temporary file */
+	private final Path temporary;
+
+	/** The channel of the temporary file */
+	private final FileChannel channel;
+
+	/** The buffered stream to the channel of the temporary file */
+	private final OutputStream outputStream;
+
+	/** The flag if the content is forced to the storage device before the rename */
+	private final boolean force;
+
+	/** The flag if this stream is closed or aborted */
+	private boolean closed;
+
+	/**
+	 * Instantiates a new {@link AtomicFileOutputStream} that does not force the content to the
+	 * storage device
+	 *
+	 * @param target
+	 *            the target file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public AtomicFileOutputStream(final Path target) throws IOException
+	{
+		this(target, false);
+	}
+
+	/**
+	 * Instantiates a new {@link AtomicFileOutputStream}
+	 *
+	 * @param target
+	 *            the target file
+	 * @param force
+	 *            the flag if the content is forced to the storage device before the rename
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public AtomicFileOutputStream(final Path target, final boolean force) throws IOException
+	{
+		this.target = Objects.requireNonNull(target, "Target must not be null").toAbsolutePath();
+		this.force = force;
+		this.temporary = Files.createTempFile(this.target.getParent(),
+			"." + this.target.getFileName(), ".tmp");
+		try
+		{
+			this.channel = FileChannel.open(temporary, StandardOpenOption.WRITE);
+		}
+		catch (IOException exception)
+		{
+			Files.deleteIfExists(temporary);
+			throw exception;
+		}
+		this.outputStream = new BufferedOutputStream(Channels.newOutputStream(channel),
+			StreamExtensions.DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Gets the target file
+	 *
+	 * @return the target file
+	 */
+	public Path getTarget()
+	{
+		return target;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(final int b) throws IOException
+	{
+		ensureOpen();
+		outputStream.write(b);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(final byte[] b, final int off, final int len) throws IOException
+	{
+		ensureOpen();
+		outputStream.write(b, off, len);
+	}
+
+	/**
+	 * Flushes the buffered bytes to the temporary file. The target file is not changed until
+	 * {@link #close()} is called
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Override
+	public void flush() throws IOException
+	{
+		ensureOpen();
+		outputStream.flush();
+	}
+
+	/**
+	 * Flushes the written content to the temporary file, forces it to the storage device if the
+	 * force flag is set and renames the temporary file over the target file. If this fails the
+	 * temporary file is deleted and the target file keeps its old content. If the force flag is
+	 * set the directory of the target file is forced after the rename. After the commit this
+	 * stream is closed
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred or this stream is already closed
+	 */
+	public void commit() throws IOException
+	{
+		ensureOpen();
+		closed = true;
+		try
+		{
+			try
+			{
+				outputStream.flush();
+				if (force)
+				{
+					channel.force(true);
+				}
+			}
+			finally
+			{
+				channel.close();
+			}
+			copyPermissions();
+			try
+			{
+				Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch (AtomicMoveNotSupportedException exception)
+			{
+				Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		catch (IOException | RuntimeException exception)
+		{
+			Files.deleteIfExists(temporary);
+			throw exception;
+		}
+		if (force)
+		{
+			forceDirectory();
+		}
+	}
+
+	/**
+	 * Closes this stream. If {@link #commit()} was not called the written content is discarded
+	 * like with {@link #abort()} and the target file keeps its old content
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		abort();
+	}
+
+	/**
+	 * Discards the written content and deletes the temporary file. The target file keeps its old
+	 * content. Calling this method after {@link #commit()} or {@link #close()} has no effect
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public void abort() throws IOException
+	{
+		if (closed)
+		{
+			return;
+		}
+		closed = true;
+		try
+		{
+			channel.close();
+		}
+		finally
+		{
+			Files.deleteIfExists(temporary);
+		}
+	}
+
+	/**
+	 * Copies the POSIX file permissions of the target file to the temporary file, because the
+	 * temporary file is created with permissions for the owner only. Nothing is copied if the
+	 * target file does not exist or the file system does not support POSIX file permissions
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	private void copyPermissions() throws IOException
+	{
+		final PosixFileAttributeView targetView = Files.getFileAttributeView(target,
+			PosixFileAttributeView.class);
+		if (targetView == null)
+		{
+			return;
+		}
+		final Set<PosixFilePermission> permissions;
+		try
+		{
+			permissions = targetView.readAttributes().permissions();
+		}
+		catch (NoSuchFileException exception)
+		{
+			// a new target file
+			return;
+		}
+		Files.setPosixFilePermissions(temporary, permissions);
+	}
+
+	/**
+	 * Forces the directory of the target file to the storage device, so the rename survives a
+	 * crash of the operating system. Platforms that can not open a directory as channel, like
+	 * windows, are skipped
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	private void forceDirectory() throws IOException
+	{
+		final FileChannel directory;
+		try
+		{
+			directory = FileChannel.open(target.getParent(), StandardOpenOption.READ);
+		}
+		catch (IOException exception)
+		{
+			return;
+		}
+		try (directory)
+		{
+			directory.force(true);
+		}
+	}
+
+	/**
+	 * Checks that this stream is not closed
+	 *
+	 * @throws IOException
+	 *             if this stream is closed or aborted
+	 */
+	private void ensureOpen() throws IOException
+	{
+		if (closed)
+		{
+			throw new IOException("Stream closed");
+		}
+	}
+
+}
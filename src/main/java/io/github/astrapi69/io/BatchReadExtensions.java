@@ -0,0 +1,153 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * The class {@link BatchReadExtensions} reads the contents of many small files concurrently.
+ * Without a given executor a bounded thread pool is created for the batch. On a runtime with
+ * virtual threads an executor like {@code Executors.newVirtualThreadPerTaskExecutor()} can be
+ * given, the number of concurrent reads is limited in both cases by the given maximum concurrency
+ */
+public final class BatchReadExtensions
+{
+
+	private BatchReadExtensions()
+	{
+	}
+
+	/**
+	 * Reads the contents of the given files concurrently with a bounded thread pool
+	 *
+	 * @param paths
+	 *            the paths of the files to read
+	 * @param maxConcurrency
+	 *            the maximum number of files that are read at the same time
+	 * @return the {@link BatchReadResult} with the contents in the order of the given paths and
+	 *         the failures
+	 */
+	public static BatchReadResult readAll(final Collection<? extends Path> paths,
+		final int maxConcurrency)
+	{
+		validate(paths, maxConcurrency);
+		final ExecutorService executor = Executors
+			.newFixedThreadPool(Math.max(1, Math.min(maxConcurrency, paths.size())), runnable -> {
+				final Thread thread = new Thread(runnable, "batch-read");
+				thread.setDaemon(true);
+				return thread;
+			});
+		try
+		{
+			return readAll(paths, executor, maxConcurrency);
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Reads the contents of the given files concurrently with the given executor. The given
+	 * executor will not be shut down
+	 *
+	 * @param paths
+	 *            the paths of the files to read
+	 * @param executor
+	 *            the executor that runs the reads
+	 * @param maxConcurrency
+	 *            the maximum number of files that are read at the same time
+	 * @return the {@link BatchReadResult} with the contents in the order of the given paths and
+	 *         the failures
+	 */
+	public static BatchReadResult readAll(final Collection<? extends Path> paths,
+		final Executor executor, final int maxConcurrency)
+	{
+		validate(paths, maxConcurrency);
+		Objects.requireNonNull(executor, "Executor must not be null");
+		final List<Path> pathList = new ArrayList<>(paths);
+		final byte[][] contents = new byte[pathList.size()][];
+		final Exception[] failures = new Exception[pathList.size()];
+		final Semaphore permits = new Semaphore(maxConcurrency);
+		final CompletableFuture<?>[] futures = new CompletableFuture<?>[pathList.size()];
+		for (int index = 0; index < futures.length; index++)
+		{
+			final int current = index;
+			futures[index] = CompletableFuture.runAsync(() -> {
+				try
+				{
+					permits.acquire();
+				}
+				catch (InterruptedException exception)
+				{
+					Thread.currentThread().interrupt();
+					failures[current] = exception;
+					return;
+				}
+				try
+				{
+					contents[current] = StreamExtensions.getByteArray(pathList.get(current));
+				}
+				catch (Exception exception)
+				{
+					failures[current] = exception;
+				}
+				finally
+				{
+					permits.release();
+				}
+			}, executor);
+		}
+		CompletableFuture.allOf(futures).join();
+		return new BatchReadResult(pathList, contents, failures);
+	}
+
+	/**
+	 * Validates the given arguments
+	 *
+	 * @param paths
+	 *            the paths of the files to read
+	 * @param maxConcurrency
+	 *            the maximum number of files that are read at the same time
+	 */
+	private static void validate(final Collection<? extends Path> paths, final int maxConcurrency)
+	{
+		Objects.requireNonNull(paths, "Paths must not be null");
+		if (maxConcurrency <= 0)
+		{
+			throw new IllegalArgumentException("Maximum concurrency must be greater than 0");
+		}
+	}
+
+}
@@ -0,0 +1,146 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The class {@link BatchReadResult} holds the contents of files that was read in a batch in the
+ * order of the given paths and the failures of the files that could not be read
+ */
+public final class BatchReadResult
+{
+
+	/** The paths in the order they was given */
+	private final List<Path> paths;
+
+	/** The contents in the order of the paths, null for failed files */
+	private final byte[][] contents;
+
+	/** The failures in the order of the paths, null for read files */
+	private final Exception[] failures;
+
+	/**
+	 * Instantiates a new {@link BatchReadResult}
+	 *
+	 * @param paths
+	 *            the paths in the order they was given
+	 * @param contents
+	 *            the contents in the order of the paths, null for failed files
+	 * @param failures
+	 *            the failures in the order of the paths, null for read files
+	 */
+	BatchReadResult(final List<Path> paths, final byte[][] contents, final Exception[] failures)
+	{
+		this.paths = Collections.unmodifiableList(paths);
+		this.contents = contents;
+		this.failures = failures;
+	}
+
+	/**
+	 * Gets the paths in the order they was given
+	 *
+	 * @return the paths
+	 */
+	public List<Path> getPaths()
+	{
+		return paths;
+	}
+
+	/**
+	 * Gets the number of files in this batch
+	 *
+	 * @return the number of files
+	 */
+	public int size()
+	{
+		return paths.size();
+	}
+
+	/**
+	 * Gets the content of the file at the given index
+	 *
+	 * @param index
+	 *            the index of the file in the given paths
+	 * @return the content of the file or null if the file could not be read
+	 */
+	public byte[] getContent(final int index)
+	{
+		return contents[index];
+	}
+
+	/**
+	 * Gets the failure of the file at the given index
+	 *
+	 * @param index
+	 *            the index of the file in the given paths
+	 * @return the failure of the file or null if the file was read
+	 */
+	public Exception getFailure(final int index)
+	{
+		return failures[index];
+	}
+
+	/**
+	 * Checks if at least one file could not be read
+	 *
+	 * @return true if at least one file could not be read otherwise false
+	 */
+	public boolean hasFailures()
+	{
+		for (final Exception failure : failures)
+		{
+			if (failure != null)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gets the failures of all files that could not be read in the order of the given paths. A
+	 * path that was given more than once has an entry for each failed read
+	 *
+	 * @return the list of entries with the path as key and the failure as value
+	 */
+	public List<Map.Entry<Path, Exception>> getFailures()
+	{
+		final List<Map.Entry<Path, Exception>> failureList = new ArrayList<>();
+		for (int index = 0; index < failures.length; index++)
+		{
+			if (failures[index] != null)
+			{
+				failureList.add(Map.entry(paths.get(index), failures[index]));
+			}
+		}
+		return failureList;
+	}
+
+}
@@ -0,0 +1,356 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The class {@link BoundedStringOutputStream} is a {@link StringOutputStream} with a fixed memory
+ * limit for the capture of output that can grow without limit. It keeps the first bytes in a head
+ * buffer and the last bytes in a circular tail buffer, the bytes between are dropped and counted.
+ * Both buffers are allocated once, so writes do not allocate memory. The head and the tail are
+ * decoded separately, so a char that is cut at the border of the dropped bytes is replaced
+ */
+public class BoundedStringOutputStream extends StringOutputStream
+{
+
+	/**
+	 * The serialVersionUID.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/** The initial chunk size of the buffer of the parent class that is not used */
+	private static final int UNUSED_CHUNK_SIZE = 1;
+
+	/** The size of the buffer for encoded chars */
+	private static final int ENCODE_BUFFER_SIZE = 1024;
+
+	/** The buffer for the first bytes */
+	private final byte[] head;
+
+	/** The circular buffer for the last bytes */
+	private final byte[] tail;
+
+	/** The number of bytes in the head buffer */
+	private int headCount;
+
+	/** The index of the oldest byte in the tail buffer */
+	private int tailStart;
+
+	/** The number of bytes in the tail buffer */
+	private int tailCount;
+
+	/** The number of dropped bytes */
+	private long droppedBytes;
+
+	/** The reusable buffer for encoded chars */
+	private transient ByteBuffer encodeBuffer;
+
+	/**
+	 * Instantiates a new {@link BoundedStringOutputStream} that keeps only the last bytes
+	 *
+	 * @param tailSize
+	 *            the number of the last bytes to keep
+	 */
+	public BoundedStringOutputStream(final int tailSize)
+	{
+		this(0, tailSize);
+	}
+
+	/**
+	 * Instantiates a new {@link BoundedStringOutputStream} that keeps the first and the last bytes
+	 *
+	 * @param headSize
+	 *            the number of the first bytes to keep
+	 * @param tailSize
+	 *            the number of the last bytes to keep
+	 */
+	public BoundedStringOutputStream(final int headSize, final int tailSize)
+	{
+		super(UNUSED_CHUNK_SIZE);
+		if (headSize < 0 || tailSize < 0)
+		{
+			throw new IllegalArgumentException(
+				"Head and tail size must not be negative: " + headSize + ", " + tailSize);
+		}
+		this.head = new byte[headSize];
+		this.tail = new byte[tailSize];
+	}
+
+	/**
+	 * Gets the number of the first bytes that are kept
+	 *
+	 * @return the size of the head buffer
+	 */
+	public int getHeadSize()
+	{
+		return head.length;
+	}
+
+	/**
+	 * Gets the number of the last bytes that are kept
+	 *
+	 * @return the size of the tail buffer
+	 */
+	public int getTailSize()
+	{
+		return tail.length;
+	}
+
+	/**
+	 * Gets the number of dropped bytes
+	 *
+	 * @return the number of dropped bytes
+	 */
+	public synchronized long getDroppedBytes()
+	{
+		return droppedBytes;
+	}
+
+	/**
+	 * Gets the number of all written bytes including the dropped bytes
+	 *
+	 * @return the number of all written bytes
+	 */
+	public synchronized long getTotalBytes()
+	{
+		return headCount + tailCount + droppedBytes;
+	}
+
+	/**
+	 * Gets the number of kept bytes
+	 *
+	 * @return the number of kept bytes
+	 */
+	@Override
+	public synchronized long size()
+	{
+		return headCount + tailCount;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized void reset()
+	{
+		headCount = 0;
+		tailStart = 0;
+		tailCount = 0;
+		droppedBytes = 0;
+	}
+
+	/**
+	 * Decodes the kept head and tail with the charset of this {@link StringOutputStream} object.
+	 * If no bytes are dropped the head and the tail are decoded as one continuous content, so a
+	 * char that is split over the border of the head and the tail stays intact
+	 *
+	 * @return the decoded head followed by the decoded tail
+	 */
+	@Override
+	public synchronized String toString()
+	{
+		if (tailCount == 0)
+		{
+			return new String(head, 0, headCount, getCharset());
+		}
+		try
+		{
+			if (droppedBytes == 0)
+			{
+				final List<ByteBuffer> byteBuffers = new ArrayList<>(3);
+				byteBuffers.add(ByteBuffer.wrap(head, 0, headCount));
+				byteBuffers.addAll(tailBuffers());
+				return StreamExtensions.decode(byteBuffers, headCount + tailCount, getCharset());
+			}
+			return new String(head, 0, headCount, getCharset())
+				+ StreamExtensions.decode(tailBuffers(), tailCount, getCharset());
+		}
+		catch (CharacterCodingException exception)
+		{
+			// the decoder replaces malformed and unmappable input
+			throw new IllegalStateException(exception);
+		}
+	}
+
+	/**
+	 * Writes the kept head and tail to the given output stream
+	 *
+	 * @param outputStream
+	 *            the output stream to write to
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Override
+	public synchronized void writeTo(final OutputStream outputStream) throws IOException
+	{
+		outputStream.write(head, 0, headCount);
+		for (final ByteBuffer byteBuffer : tailBuffers())
+		{
+			outputStream.write(byteBuffer.array(), byteBuffer.arrayOffset() + byteBuffer.position(),
+				byteBuffer.remaining());
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized void write(final int b)
+	{
+		if (headCount < head.length)
+		{
+			head[headCount++] = (byte)b;
+		}
+		else if (tail.length == 0)
+		{
+			droppedBytes++;
+		}
+		else if (tailCount < tail.length)
+		{
+			tail[(tailStart + tailCount++) % tail.length] = (byte)b;
+		}
+		else
+		{
+			tail[tailStart] = (byte)b;
+			tailStart = (tailStart + 1) % tail.length;
+			droppedBytes++;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized void write(final byte[] b) throws IOException
+	{
+		write(b, 0, b.length);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized void write(final byte[] b, int off, int len)
+	{
+		Objects.checkFromIndexSize(off, len, b.length);
+		if (headCount < head.length)
+		{
+			final int length = Math.min(len, head.length - headCount);
+			System.arraycopy(b, off, head, headCount, length);
+			headCount += length;
+			off += length;
+			len -= length;
+		}
+		if (len == 0)
+		{
+			return;
+		}
+		if (tail.length <= len)
+		{
+			// the new bytes replace the whole tail
+			droppedBytes += tailCount + len - tail.length;
+			System.arraycopy(b, off + len - tail.length, tail, 0, tail.length);
+			tailStart = 0;
+			tailCount = tail.length;
+			return;
+		}
+		final int overwritten = Math.max(0, tailCount + len - tail.length);
+		final int end = (tailStart + tailCount) % tail.length;
+		final int first = Math.min(len, tail.length - end);
+		System.arraycopy(b, off, tail, end, first);
+		System.arraycopy(b, off + first, tail, 0, len - first);
+		tailCount += len - overwritten;
+		tailStart = (tailStart + overwritten) % tail.length;
+		droppedBytes += overwritten;
+	}
+
+	/**
+	 * Write the given {@link CharSequence} object encoded with the charset of this
+	 * {@link StringOutputStream} object through a reusable buffer
+	 *
+	 * @param value
+	 *            the value
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Override
+	public synchronized void write(final CharSequence value) throws IOException
+	{
+		if (encodeBuffer == null)
+		{
+			encodeBuffer = ByteBuffer.allocate(ENCODE_BUFFER_SIZE);
+		}
+		final CharsetEncoder encoder = getEncoder().reset();
+		final CharBuffer in = CharBuffer.wrap(value);
+		boolean flushing = false;
+		while (true)
+		{
+			final CoderResult result = flushing
+				? encoder.flush(encodeBuffer)
+				: encoder.encode(in, encodeBuffer, true);
+			write(encodeBuffer.array(), 0, encodeBuffer.position());
+			encodeBuffer.clear();
+			if (result.isUnderflow())
+			{
+				if (flushing)
+				{
+					return;
+				}
+				flushing = true;
+			}
+			else if (result.isError())
+			{
+				result.throwException();
+			}
+		}
+	}
+
+	/**
+	 * Gets the views on the tail buffer in the order of the bytes
+	 *
+	 * @return the views on the tail buffer
+	 */
+	private List<ByteBuffer> tailBuffers()
+	{
+		final int first = Math.min(tailCount, tail.length - tailStart);
+		if (first == tailCount)
+		{
+			return List.of(ByteBuffer.wrap(tail, tailStart, tailCount));
+		}
+		return List.of(ByteBuffer.wrap(tail, tailStart, first),
+			ByteBuffer.wrap(tail, 0, tailCount - first));
+	}
+
+}
@@ -0,0 +1,389 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The class {@link BufferPool} pools heap byte arrays and direct {@link ByteBuffer} objects for
+ * reuse. The buffers are organized in size classes of the powers of two between the minimum and
+ * the maximum buffer size, a request is rounded up to the next size class. Requests greater than
+ * the maximum buffer size are allocated and not pooled. The pool is striped by thread to reduce
+ * contention and the memory that is retained by the pool is limited to the given maximum. The
+ * counters for hits and misses can be used to size the pool.<br>
+ * All copy routines of the package {@link io.github.astrapi69.io} draw their buffers from the
+ * default pool that can be replaced with {@link #setDefault(BufferPool)}
+ */
+public final class BufferPool
+{
+
+	/** The default minimum buffer size. current value:4096 */
+	public static final int DEFAULT_MIN_BUFFER_SIZE = 4096;
+
+	/** The default maximum buffer size. current value:1048576 */
+	public static final int DEFAULT_MAX_BUFFER_SIZE = 1048576;
+
+	/** The default maximum of retained bytes. current value:33554432 */
+	public static final long DEFAULT_MAX_RETAINED_BYTES = 33554432L;
+
+	/** The default pool */
+	private static volatile BufferPool defaultPool = new BufferPool();
+
+	/** The shift of the smallest size class */
+	private final int minShift;
+
+	/** The number of size classes */
+	private final int sizeClasses;
+
+	/** The maximum of bytes that are retained by this pool */
+	private final long maxRetainedBytes;
+
+	/** The stripes */
+	private final Stripe[] stripes;
+
+	/** The bytes that are currently retained by this pool */
+	private final AtomicLong retainedBytes = new AtomicLong();
+
+	/** The counter for requests that was served from the pool */
+	private final LongAdder hits = new LongAdder();
+
+	/** The counter for requests that had to allocate a new buffer */
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * Instantiates a new {@link BufferPool} with the default values
+	 */
+	public BufferPool()
+	{
+		this(DEFAULT_MIN_BUFFER_SIZE, DEFAULT_MAX_BUFFER_SIZE, DEFAULT_MAX_RETAINED_BYTES);
+	}
+
+	/**
+	 * Instantiates a new {@link BufferPool}
+	 *
+	 * @param minBufferSize
+	 *            the size of the smallest size class, will be rounded up to a power of two
+	 * @param maxBufferSize
+	 *            the size of the greatest size class, will be rounded up to a power of two
+	 * @param maxRetainedBytes
+	 *            the maximum of bytes that are retained by this pool, 0 disables the pooling
+	 */
+	public BufferPool(final int minBufferSize, final int maxBufferSize,
+		final long maxRetainedBytes)
+	{
+		if (minBufferSize <= 0 || maxBufferSize < minBufferSize || (1 << 30) < maxBufferSize)
+		{
+			throw new IllegalArgumentException("Invalid buffer sizes: " + minBufferSize + " - "
+				+ maxBufferSize);
+		}
+		if (maxRetainedBytes < 0)
+		{
+			throw new IllegalArgumentException("Maximum of retained bytes must not be negative");
+		}
+		this.minShift = shift(minBufferSize);
+		this.sizeClasses = shift(maxBufferSize) - minShift + 1;
+		this.maxRetainedBytes = maxRetainedBytes;
+		final int stripeCount = Integer
+			.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+		this.stripes = new Stripe[stripeCount];
+		for (int index = 0; index < stripeCount; index++)
+		{
+			stripes[index] = new Stripe(sizeClasses);
+		}
+	}
+
+	/**
+	 * Gets the default pool
+	 *
+	 * @return the default pool
+	 */
+	public static BufferPool getDefault()
+	{
+		return defaultPool;
+	}
+
+	/**
+	 * Sets the given pool as the default pool
+	 *
+	 * @param bufferPool
+	 *            the new default pool
+	 */
+	public static void setDefault(final BufferPool bufferPool)
+	{
+		defaultPool = Objects.requireNonNull(bufferPool, "BufferPool must not be null");
+	}
+
+	/**
+	 * Acquires a heap byte array with at least the given size
+	 *
+	 * @param minSize
+	 *            the minimum size of the byte array
+	 * @return the byte array, the content is undefined
+	 */
+	public byte[] acquireHeap(final int minSize)
+	{
+		final int sizeClass = sizeClass(minSize);
+		if (sizeClass < 0)
+		{
+			misses.increment();
+			return new byte[minSize];
+		}
+		final byte[] buffer = stripe().pollHeap(sizeClass);
+		if (buffer == null)
+		{
+			misses.increment();
+			return new byte[1 << (sizeClass + minShift)];
+		}
+		retainedBytes.addAndGet(-buffer.length);
+		hits.increment();
+		return buffer;
+	}
+
+	/**
+	 * Releases the given byte array to this pool. Arrays that does not match a size class or that
+	 * would exceed the maximum of retained bytes are dropped
+	 *
+	 * @param buffer
+	 *            the byte array to release
+	 */
+	public void releaseHeap(final byte[] buffer)
+	{
+		final int sizeClass = exactSizeClass(buffer.length);
+		if (0 <= sizeClass && retain(buffer.length))
+		{
+			stripe().offerHeap(sizeClass, buffer);
+		}
+	}
+
+	/**
+	 * Acquires a cleared direct {@link ByteBuffer} with at least the given capacity
+	 *
+	 * @param minSize
+	 *            the minimum capacity of the buffer
+	 * @return the cleared direct buffer
+	 */
+	public ByteBuffer acquireDirect(final int minSize)
+	{
+		final int sizeClass = sizeClass(minSize);
+		if (sizeClass < 0)
+		{
+			misses.increment();
+			return ByteBuffer.allocateDirect(minSize);
+		}
+		final ByteBuffer buffer = stripe().pollDirect(sizeClass);
+		if (buffer == null)
+		{
+			misses.increment();
+			return ByteBuffer.allocateDirect(1 << (sizeClass + minShift));
+		}
+		retainedBytes.addAndGet(-buffer.capacity());
+		hits.increment();
+		return buffer.clear();
+	}
+
+	/**
+	 * Releases the given direct buffer to this pool. Buffers that are not direct, that does not
+	 * match a size class or that would exceed the maximum of retained bytes are dropped
+	 *
+	 * @param buffer
+	 *            the buffer to release
+	 */
+	public void releaseDirect(final ByteBuffer buffer)
+	{
+		final int sizeClass = exactSizeClass(buffer.capacity());
+		if (buffer.isDirect() && 0 <= sizeClass && retain(buffer.capacity()))
+		{
+			stripe().offerDirect(sizeClass, buffer);
+		}
+	}
+
+	/**
+	 * Gets the number of requests that was served from this pool
+	 *
+	 * @return the number of hits
+	 */
+	public long getHitCount()
+	{
+		return hits.sum();
+	}
+
+	/**
+	 * Gets the number of requests that had to allocate a new buffer
+	 *
+	 * @return the number of misses
+	 */
+	public long getMissCount()
+	{
+		return misses.sum();
+	}
+
+	/**
+	 * Gets the number of bytes that are currently retained by this pool
+	 *
+	 * @return the number of retained bytes
+	 */
+	public long getRetainedBytes()
+	{
+		return retainedBytes.get();
+	}
+
+	/**
+	 * Gets the maximum of bytes that are retained by this pool
+	 *
+	 * @return the maximum of retained bytes
+	 */
+	public long getMaxRetainedBytes()
+	{
+		return maxRetainedBytes;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "BufferPool{hits=" + getHitCount() + ", misses=" + getMissCount()
+			+ ", retainedBytes=" + getRetainedBytes() + ", maxRetainedBytes=" + maxRetainedBytes
+			+ "}";
+	}
+
+	/**
+	 * Reserves the given number of bytes from the maximum of retained bytes
+	 *
+	 * @param size
+	 *            the number of bytes
+	 * @return true if the bytes could be reserved otherwise false
+	 */
+	private boolean retain(final int size)
+	{
+		if (maxRetainedBytes < retainedBytes.addAndGet(size))
+		{
+			retainedBytes.addAndGet(-size);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the size class for a request of the given size
+	 *
+	 * @param size
+	 *            the requested size
+	 * @return the index of the size class or -1 if the size is greater than the greatest size
+	 *         class
+	 */
+	private int sizeClass(final int size)
+	{
+		final int sizeClass = Math.max(0, shift(size) - minShift);
+		return sizeClass < sizeClasses ? sizeClass : -1;
+	}
+
+	/**
+	 * Gets the size class that matches exactly the given size
+	 *
+	 * @param size
+	 *            the size of a buffer
+	 * @return the index of the size class or -1 if no size class matches exactly
+	 */
+	private int exactSizeClass(final int size)
+	{
+		if (Integer.bitCount(size) != 1)
+		{
+			return -1;
+		}
+		final int sizeClass = Integer.numberOfTrailingZeros(size) - minShift;
+		return 0 <= sizeClass && sizeClass < sizeClasses ? sizeClass : -1;
+	}
+
+	/**
+	 * Gets the stripe of the current thread
+	 *
+	 * @return the stripe of the current thread
+	 */
+	private Stripe stripe()
+	{
+		return stripes[(int)Thread.currentThread().getId() & (stripes.length - 1)];
+	}
+
+	/**
+	 * Gets the exponent of the smallest power of two that is greater or equal to the given size
+	 *
+	 * @param size
+	 *            the size
+	 * @return the exponent
+	 */
+	private static int shift(final int size)
+	{
+		return size <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(size - 1);
+	}
+
+	/**
+	 * One stripe of the pool with a queue per size class for heap and direct buffers
+	 */
+	private static final class Stripe
+	{
+		private final ArrayDeque<byte[]>[] heap;
+
+		private final ArrayDeque<ByteBuffer>[] direct;
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		Stripe(final int sizeClasses)
+		{
+			heap = new ArrayDeque[sizeClasses];
+			direct = new ArrayDeque[sizeClasses];
+			for (int index = 0; index < sizeClasses; index++)
+			{
+				heap[index] = new ArrayDeque<>();
+				direct[index] = new ArrayDeque<>();
+			}
+		}
+
+		synchronized byte[] pollHeap(final int sizeClass)
+		{
+			return heap[sizeClass].pollFirst();
+		}
+
+		synchronized void offerHeap(final int sizeClass, final byte[] buffer)
+		{
+			heap[sizeClass].offerFirst(buffer);
+		}
+
+		synchronized ByteBuffer pollDirect(final int sizeClass)
+		{
+			return direct[sizeClass].pollFirst();
+		}
+
+		synchronized void offerDirect(final int sizeClass, final ByteBuffer buffer)
+		{
+			direct[sizeClass].offerFirst(buffer);
+		}
+	}
+
+}
@@ -0,0 +1,145 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * The class {@link ByteBufferInputStream} reads the remaining content of a list of
+ * {@link ByteBuffer} objects, for instance the mapped regions of a file, without system calls. The
+ * positions of the given buffers are not changed<br>
+ * Note: this class is not thread safe
+ */
+final class ByteBufferInputStream extends InputStream
+{
+
+	/** The duplicates of the buffers */
+	private final ByteBuffer[] buffers;
+
+	/** The index of the current buffer */
+	private int index;
+
+	/**
+	 * Instantiates a new {@link ByteBufferInputStream}
+	 *
+	 * @param buffers
+	 *            the buffers to read in the given order
+	 */
+	ByteBufferInputStream(final List<? extends ByteBuffer> buffers)
+	{
+		this.buffers = new ByteBuffer[buffers.size()];
+		for (int i = 0; i < this.buffers.length; i++)
+		{
+			this.buffers[i] = buffers.get(i).duplicate();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int read()
+	{
+		final ByteBuffer buffer = current();
+		return buffer != null ? buffer.get() & 0xFF : -1;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int read(final byte[] bytes, final int offset, final int length)
+	{
+		if (length == 0)
+		{
+			return 0;
+		}
+		final ByteBuffer buffer = current();
+		if (buffer == null)
+		{
+			return -1;
+		}
+		final int read = Math.min(length, buffer.remaining());
+		buffer.get(bytes, offset, read);
+		return read;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long skip(final long count)
+	{
+		long skipped = 0;
+		ByteBuffer buffer;
+		while (skipped < count && (buffer = current()) != null)
+		{
+			final int step = (int)Math.min(count - skipped, buffer.remaining());
+			buffer.position(buffer.position() + step);
+			skipped += step;
+		}
+		return skipped;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int available()
+	{
+		return (int)Math.min(remaining(), Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Gets the number of remaining bytes, that can be greater than {@link Integer#MAX_VALUE}
+	 *
+	 * @return the number of remaining bytes
+	 */
+	long remaining()
+	{
+		long remaining = 0;
+		for (int i = index; i < buffers.length; i++)
+		{
+			remaining += buffers[i].remaining();
+		}
+		return remaining;
+	}
+
+	private ByteBuffer current()
+	{
+		while (index < buffers.length)
+		{
+			if (buffers[index].hasRemaining())
+			{
+				return buffers[index];
+			}
+			index++;
+		}
+		return null;
+	}
+
+}
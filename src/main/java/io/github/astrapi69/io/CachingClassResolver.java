@@ -0,0 +1,181 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.github.astrapi69.io.annotation.ClassloaderExtensions;
+
+/**
+ * The class {@link CachingClassResolver} resolves classes with {@link Class#forName} and keeps the
+ * resolved classes in a bounded cache with least recently used eviction, so the repeated lookups
+ * of the same classes cost no class loader calls. Without a given class loader the classes are
+ * resolved with the class loader of {@link ClassloaderExtensions#getClassLoader()} and cached per
+ * class loader.<br>
+ * The cache references the resolved classes, so the maximum size should be small when the class
+ * loaders are replaced at runtime. This class is thread safe
+ */
+public final class CachingClassResolver implements ClassResolver
+{
+
+	/** The default maximum number of cached classes */
+	public static final int DEFAULT_MAXIMUM_SIZE = 512;
+
+	/** The class loader or null for the current class loader */
+	private final ClassLoader classLoader;
+
+	/** The cached classes in the order of their last access */
+	private final Map<Key, Class<?>> cache;
+
+	/** The counter of the resolutions from the cache */
+	private final LongAdder hits = new LongAdder();
+
+	/** The counter of the resolutions with the class loader */
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * Instantiates a new {@link CachingClassResolver} with the current class loader and the
+	 * default maximum size
+	 */
+	public CachingClassResolver()
+	{
+		this(null, DEFAULT_MAXIMUM_SIZE);
+	}
+
+	/**
+	 * Instantiates a new {@link CachingClassResolver}
+	 *
+	 * @param classLoader
+	 *            the class loader or null for the current class loader
+	 * @param maximumSize
+	 *            the maximum number of cached classes
+	 */
+	public CachingClassResolver(final ClassLoader classLoader, final int maximumSize)
+	{
+		if (maximumSize <= 0)
+		{
+			throw new IllegalArgumentException("Maximum size must be greater than 0");
+		}
+		this.classLoader = classLoader;
+		this.cache = new LinkedHashMap<>(16, 0.75f, true)
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<Key, Class<?>> eldest)
+			{
+				return maximumSize < size();
+			}
+		};
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Class<?> resolve(final String name) throws ClassNotFoundException
+	{
+		final ClassLoader loader = classLoader != null
+			? classLoader
+			: ClassloaderExtensions.getClassLoader();
+		final Key key = new Key(loader, name);
+		Class<?> resolved;
+		synchronized (cache)
+		{
+			resolved = cache.get(key);
+		}
+		if (resolved != null)
+		{
+			hits.increment();
+			return resolved;
+		}
+		misses.increment();
+		resolved = Class.forName(name, false, loader);
+		synchronized (cache)
+		{
+			cache.put(key, resolved);
+		}
+		return resolved;
+	}
+
+	/**
+	 * Gets the number of cached classes
+	 *
+	 * @return the number of cached classes
+	 */
+	public int size()
+	{
+		synchronized (cache)
+		{
+			return cache.size();
+		}
+	}
+
+	/**
+	 * Removes all cached classes
+	 */
+	public void clear()
+	{
+		synchronized (cache)
+		{
+			cache.clear();
+		}
+	}
+
+	/**
+	 * Gets the number of resolutions from the cache
+	 *
+	 * @return the number of cache hits
+	 */
+	public long getHitCount()
+	{
+		return hits.sum();
+	}
+
+	/**
+	 * Gets the number of resolutions with the class loader
+	 *
+	 * @return the number of cache misses
+	 */
+	public long getMissCount()
+	{
+		return misses.sum();
+	}
+
+	/**
+	 * The key of a cached class
+	 *
+	 * @param classLoader
+	 *            the class loader that resolved the class
+	 * @param name
+	 *            the name of the class
+	 */
+	private record Key(ClassLoader classLoader, String name)
+	{
+	}
+
+}
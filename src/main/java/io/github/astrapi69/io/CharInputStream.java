@@ -0,0 +1,145 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.Objects;
+
+/**
+ * The class {@link CharInputStream} reads the ASCII chars of a {@link CharSequence} or a
+ * {@link Reader} as bytes without copying the whole content. It is used as input of decoders like
+ * {@link java.util.Base64.Decoder#wrap(InputStream)}. A char outside of ASCII is read as the byte
+ * {@code '?'}, so a decoder rejects it. Closing this stream does not close the reader<br>
+ * Note: this class is not thread safe
+ */
+final class CharInputStream extends InputStream
+{
+
+	/** The size of the char buffer for a reader */
+	private static final int BUFFER_SIZE = 8192;
+
+	/** The byte of the chars outside of ASCII */
+	private static final byte NON_ASCII = '?';
+
+	/** The reader or null if the chars of a char sequence are read */
+	private final Reader reader;
+
+	/** The view on the char sequence or the buffer of the reader */
+	private final CharBuffer buffer;
+
+	/**
+	 * Instantiates a new {@link CharInputStream} that reads the chars of the given char sequence
+	 *
+	 * @param chars
+	 *            the char sequence
+	 */
+	CharInputStream(final CharSequence chars)
+	{
+		this.reader = null;
+		this.buffer = CharBuffer.wrap(Objects.requireNonNull(chars, "Chars must not be null"));
+	}
+
+	/**
+	 * Instantiates a new {@link CharInputStream} that reads the chars of the given reader
+	 *
+	 * @param reader
+	 *            the reader
+	 */
+	CharInputStream(final Reader reader)
+	{
+		this.reader = Objects.requireNonNull(reader, "Reader must not be null");
+		this.buffer = CharBuffer.allocate(BUFFER_SIZE).flip();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int read() throws IOException
+	{
+		return fill() ? toByte(buffer.get()) & 0xFF : -1;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int read(final byte[] bytes, final int offset, final int length) throws IOException
+	{
+		Objects.checkFromIndexSize(offset, length, bytes.length);
+		if (length == 0)
+		{
+			return 0;
+		}
+		if (!fill())
+		{
+			return -1;
+		}
+		final int count = Math.min(length, buffer.remaining());
+		for (int i = 0; i < count; i++)
+		{
+			bytes[offset + i] = toByte(buffer.get());
+		}
+		return count;
+	}
+
+	/**
+	 * Does not close the reader
+	 */
+	@Override
+	public void close()
+	{
+	}
+
+	private boolean fill() throws IOException
+	{
+		if (buffer.hasRemaining())
+		{
+			return true;
+		}
+		if (reader == null)
+		{
+			return false;
+		}
+		buffer.clear();
+		int read;
+		do
+		{
+			read = reader.read(buffer);
+		}
+		while (read == 0);
+		buffer.flip();
+		return 0 < read;
+	}
+
+	private static byte toByte(final char c)
+	{
+		return c < 0x80 ? (byte)c : NON_ASCII;
+	}
+
+}
@@ -0,0 +1,437 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Checksum;
+
+/**
+ * The class {@link ChecksumExtensions} computes checksums and message digests inline while the
+ * data is read, written or copied, so no second pass over the data is needed. For large files the
+ * method {@link #treeHash(Path, String)} hashes mapped regions of the file in parallel on a
+ * {@link ForkJoinPool} and combines the region hashes to one root hash like a merkle tree
+ */
+public final class ChecksumExtensions
+{
+
+	/** The default size of the regions of a tree hash, 4 MiB */
+	public static final int DEFAULT_CHUNK_SIZE = 4194304;
+
+	/** The prefix byte of a leaf hash that separates leaves from inner nodes */
+	private static final byte LEAF_PREFIX = 0x00;
+
+	/** The prefix byte of an inner node hash */
+	private static final byte NODE_PREFIX = 0x01;
+
+	private ChecksumExtensions()
+	{
+	}
+
+	/**
+	 * Wraps the given input stream so that a CRC32C checksum is computed over all read bytes
+	 *
+	 * @param inputStream
+	 *            the input stream
+	 * @return the checked input stream, the checksum is available with
+	 *         {@link CheckedInputStream#getChecksum()}
+	 */
+	public static CheckedInputStream newCrc32cInputStream(final InputStream inputStream)
+	{
+		return new CheckedInputStream(inputStream, new CRC32C());
+	}
+
+	/**
+	 * Wraps the given output stream so that a CRC32C checksum is computed over all written bytes
+	 *
+	 * @param outputStream
+	 *            the output stream
+	 * @return the checked output stream, the checksum is available with
+	 *         {@link CheckedOutputStream#getChecksum()}
+	 */
+	public static CheckedOutputStream newCrc32cOutputStream(final OutputStream outputStream)
+	{
+		return new CheckedOutputStream(outputStream, new CRC32C());
+	}
+
+	/**
+	 * Wraps the given input stream so that a message digest with the given algorithm is computed
+	 * over all read bytes
+	 *
+	 * @param inputStream
+	 *            the input stream
+	 * @param algorithm
+	 *            the name of the digest algorithm, for instance 'SHA-256'
+	 * @return the digest input stream, the digest is available with
+	 *         {@link DigestInputStream#getMessageDigest()}
+	 * @throws NoSuchAlgorithmException
+	 *             if no provider supports the given algorithm
+	 */
+	public static DigestInputStream newDigestInputStream(final InputStream inputStream,
+		final String algorithm) throws NoSuchAlgorithmException
+	{
+		return new DigestInputStream(inputStream, MessageDigest.getInstance(algorithm));
+	}
+
+	/**
+	 * Wraps the given output stream so that a message digest with the given algorithm is computed
+	 * over all written bytes
+	 *
+	 * @param outputStream
+	 *            the output stream
+	 * @param algorithm
+	 *            the name of the digest algorithm, for instance 'SHA-256'
+	 * @return the digest output stream, the digest is available with
+	 *         {@link DigestOutputStream#getMessageDigest()}
+	 * @throws NoSuchAlgorithmException
+	 *             if no provider supports the given algorithm
+	 */
+	public static DigestOutputStream newDigestOutputStream(final OutputStream outputStream,
+		final String algorithm) throws NoSuchAlgorithmException
+	{
+		return new DigestOutputStream(outputStream, MessageDigest.getInstance(algorithm));
+	}
+
+	/**
+	 * Copies the given input stream to the given output stream and updates the given checksum
+	 * with every copied chunk
+	 *
+	 * @param inputStream
+	 *            the input stream
+	 * @param outputStream
+	 *            the output stream
+	 * @param checksum
+	 *            the checksum to update
+	 * @return the number of copied bytes
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static long copy(final InputStream inputStream, final OutputStream outputStream,
+		final Checksum checksum) throws IOException
+	{
+		Objects.requireNonNull(checksum, "Checksum must not be null");
+		return copyChecked(inputStream, outputStream, checksum);
+	}
+
+	/**
+	 * Copies the given input stream to the given output stream and updates the given message
+	 * digest with every copied chunk
+	 *
+	 * @param inputStream
+	 *            the input stream
+	 * @param outputStream
+	 *            the output stream
+	 * @param messageDigest
+	 *            the message digest to update
+	 * @return the number of copied bytes
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static long copy(final InputStream inputStream, final OutputStream outputStream,
+		final MessageDigest messageDigest) throws IOException
+	{
+		Objects.requireNonNull(messageDigest, "MessageDigest must not be null");
+		return copyChecked(inputStream, outputStream, new DigestChecksum(messageDigest));
+	}
+
+	/**
+	 * Copies the given input stream with the pooled buffer of
+	 * {@link StreamExtensions#copy(InputStream, OutputStream)} to the given output stream and
+	 * updates the given checksum with every written chunk. The given streams will not be closed
+	 *
+	 * @param inputStream
+	 *            the input stream
+	 * @param outputStream
+	 *            the output stream
+	 * @param checksum
+	 *            the checksum to update
+	 * @return the number of copied bytes
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	private static long copyChecked(final InputStream inputStream,
+		final OutputStream outputStream, final Checksum checksum) throws IOException
+	{
+		return StreamExtensions.copy(inputStream, new CheckedOutputStream(outputStream, checksum));
+	}
+
+	/**
+	 * Computes the CRC32C checksum of the given file over read only mapped regions
+	 *
+	 * @param path
+	 *            the path of the file
+	 * @return the CRC32C checksum value
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static long crc32c(final Path path) throws IOException
+	{
+		final CRC32C checksum = new CRC32C();
+		for (final MappedByteBuffer region : StreamExtensions.getMappedByteBuffers(path))
+		{
+			checksum.update(region);
+		}
+		return checksum.getValue();
+	}
+
+	/**
+	 * Computes the tree hash of the given file with the default chunk size on the common
+	 * {@link ForkJoinPool}
+	 *
+	 * @param path
+	 *            the path of the file
+	 * @param algorithm
+	 *            the name of the digest algorithm, for instance 'SHA-256'
+	 * @return the root hash
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws NoSuchAlgorithmException
+	 *             if no provider supports the given algorithm
+	 * @see #treeHash(Path, String, int, ForkJoinPool)
+	 */
+	public static byte[] treeHash(final Path path, final String algorithm)
+		throws IOException, NoSuchAlgorithmException
+	{
+		return treeHash(path, algorithm, DEFAULT_CHUNK_SIZE, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Computes the tree hash of the given file. The file is split in regions of the given chunk
+	 * size that are mapped read only and hashed in parallel on the given pool. Every region hash
+	 * is computed over a leading zero byte and the region content, two neighbour hashes are
+	 * combined over a leading one byte and both hashes. The tree is split at the largest power of
+	 * two below the number of regions like the merkle tree of RFC 6962, so the root hash depends
+	 * only on the content, the algorithm and the chunk size and not on the parallelism
+	 *
+	 * @param path
+	 *            the path of the file
+	 * @param algorithm
+	 *            the name of the digest algorithm, for instance 'SHA-256'
+	 * @param chunkSize
+	 *            the size of the regions
+	 * @param pool
+	 *            the pool that hashes the regions
+	 * @return the root hash
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws NoSuchAlgorithmException
+	 *             if no provider supports the given algorithm
+	 */
+	public static byte[] treeHash(final Path path, final String algorithm, final int chunkSize,
+		final ForkJoinPool pool) throws IOException, NoSuchAlgorithmException
+	{
+		Objects.requireNonNull(pool, "ForkJoinPool must not be null");
+		if (chunkSize < 1)
+		{
+			throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+		}
+		MessageDigest.getInstance(algorithm);
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			final long size = channel.size();
+			final long chunks = Math.max(1, (size + chunkSize - 1) / chunkSize);
+			try
+			{
+				return pool.invoke(new TreeHashTask(channel, size, algorithm, chunkSize, 0, chunks));
+			}
+			catch (UncheckedIOException exception)
+			{
+				throw exception.getCause();
+			}
+		}
+	}
+
+	/**
+	 * Creates a new {@link MessageDigest} for an algorithm that was validated before
+	 *
+	 * @param algorithm
+	 *            the name of the digest algorithm
+	 * @return the message digest
+	 */
+	private static MessageDigest newMessageDigest(final String algorithm)
+	{
+		try
+		{
+			return MessageDigest.getInstance(algorithm);
+		}
+		catch (NoSuchAlgorithmException exception)
+		{
+			throw new IllegalStateException(exception);
+		}
+	}
+
+	/**
+	 * The adapter that updates a message digest as {@link Checksum}. The digest is read from the
+	 * message digest, so {@link #getValue()} is not supported
+	 */
+	private static final class DigestChecksum implements Checksum
+	{
+
+		/** The message digest to update */
+		private final MessageDigest messageDigest;
+
+		/**
+		 * Instantiates a new {@link DigestChecksum}
+		 *
+		 * @param messageDigest
+		 *            the message digest to update
+		 */
+		DigestChecksum(final MessageDigest messageDigest)
+		{
+			this.messageDigest = messageDigest;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void update(final int b)
+		{
+			messageDigest.update((byte)b);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void update(final byte[] b, final int off, final int len)
+		{
+			messageDigest.update(b, off, len);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public long getValue()
+		{
+			throw new UnsupportedOperationException("The digest is read from the MessageDigest");
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void reset()
+		{
+			messageDigest.reset();
+		}
+
+	}
+
+	/**
+	 * The task that computes the hash of the regions from the first inclusive to the last
+	 * exclusive region
+	 */
+	private static final class TreeHashTask extends RecursiveTask<byte[]>
+	{
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient FileChannel channel;
+
+		private final long size;
+
+		private final String algorithm;
+
+		private final int chunkSize;
+
+		private final long from;
+
+		private final long to;
+
+		TreeHashTask(final FileChannel channel, final long size, final String algorithm,
+			final int chunkSize, final long from, final long to)
+		{
+			this.channel = channel;
+			this.size = size;
+			this.algorithm = algorithm;
+			this.chunkSize = chunkSize;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected byte[] compute()
+		{
+			final long count = to - from;
+			if (count == 1)
+			{
+				return hashRegion();
+			}
+			final long split = from + Long.highestOneBit(count - 1);
+			final TreeHashTask left = new TreeHashTask(channel, size, algorithm, chunkSize, from,
+				split);
+			final TreeHashTask right = new TreeHashTask(channel, size, algorithm, chunkSize,
+				split, to);
+			right.fork();
+			final byte[] leftHash = left.compute();
+			final byte[] rightHash = right.join();
+			final MessageDigest digest = newMessageDigest(algorithm);
+			digest.update(NODE_PREFIX);
+			digest.update(leftHash);
+			digest.update(rightHash);
+			return digest.digest();
+		}
+
+		private byte[] hashRegion()
+		{
+			final MessageDigest digest = newMessageDigest(algorithm);
+			digest.update(LEAF_PREFIX);
+			final long position = from * chunkSize;
+			final long length = Math.min(chunkSize, size - position);
+			if (0 < length)
+			{
+				try
+				{
+					digest.update(channel.map(FileChannel.MapMode.READ_ONLY, position, length));
+				}
+				catch (IOException exception)
+				{
+					throw new UncheckedIOException(exception);
+				}
+			}
+			return digest.digest();
+		}
+
+	}
+
+}
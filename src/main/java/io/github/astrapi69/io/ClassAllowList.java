@@ -0,0 +1,216 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.io.ObjectInputFilter;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The class {@link ClassAllowList} is an {@link ObjectInputFilter} that allows only the classes
+ * that match one of its patterns. A pattern is either a class name, a package name with the suffix
+ * {@code .*} for the classes of the package, a package name with the suffix {@code .**} for the
+ * classes of the package and its sub packages or a prefix with the suffix {@code *} for all class
+ * names with this prefix. Arrays are allowed if their component type is allowed and primitive
+ * types are always allowed.<br>
+ * A {@link ResolvingObjectInputStream} checks the class names with {@link #isAllowed(String)}
+ * before the classes are loaded, so a hostile stream can not trigger the loading of unknown
+ * classes. This class is immutable and thread safe
+ */
+public final class ClassAllowList implements ObjectInputFilter
+{
+
+	/**
+	 * The patterns of the JDK types that are serialized often, including the super classes with
+	 * class descriptors like {@link Number} and {@link Enum}, the component types of the arrays
+	 * that the collections check and the serial forms of the immutable collections and the
+	 * java.time types
+	 */
+	public static final List<String> DEFAULT_PATTERNS = List.of("java.lang.Object",
+		"java.lang.Boolean", "java.lang.Byte", "java.lang.Character", "java.lang.Short",
+		"java.lang.Integer", "java.lang.Long", "java.lang.Float", "java.lang.Double",
+		"java.lang.Number", "java.lang.Enum", "java.lang.String", "java.math.BigInteger",
+		"java.math.BigDecimal", "java.util.ArrayList", "java.util.LinkedList",
+		"java.util.ArrayDeque", "java.util.HashMap", "java.util.LinkedHashMap", "java.util.TreeMap",
+		"java.util.HashSet", "java.util.LinkedHashSet", "java.util.TreeSet", "java.util.EnumMap",
+		"java.util.Map$Entry", "java.util.Date", "java.util.UUID", "java.util.Locale",
+		"java.util.CollSer", "java.util.ImmutableCollections$*", "java.util.Arrays$ArrayList",
+		"java.time.Ser");
+
+	/** The allowed class names */
+	private final Set<String> classNames = new HashSet<>();
+
+	/** The allowed packages without their sub packages, with a trailing dot */
+	private final List<String> packages = new ArrayList<>();
+
+	/** The allowed prefixes of class names */
+	private final List<String> prefixes = new ArrayList<>();
+
+	/**
+	 * Instantiates a new {@link ClassAllowList} with the given patterns
+	 *
+	 * @param patterns
+	 *            the patterns of the allowed classes
+	 */
+	public ClassAllowList(final String... patterns)
+	{
+		this(List.of(patterns));
+	}
+
+	/**
+	 * Instantiates a new {@link ClassAllowList} with the given patterns
+	 *
+	 * @param patterns
+	 *            the patterns of the allowed classes
+	 */
+	public ClassAllowList(final Collection<String> patterns)
+	{
+		for (final String pattern : patterns)
+		{
+			Objects.requireNonNull(pattern, "Pattern must not be null");
+			if (pattern.endsWith(".**"))
+			{
+				prefixes.add(pattern.substring(0, pattern.length() - 2));
+			}
+			else if (pattern.endsWith(".*"))
+			{
+				packages.add(pattern.substring(0, pattern.length() - 1));
+			}
+			else if (pattern.endsWith("*"))
+			{
+				prefixes.add(pattern.substring(0, pattern.length() - 1));
+			}
+			else if (!pattern.isEmpty())
+			{
+				classNames.add(pattern);
+			}
+		}
+	}
+
+	/**
+	 * Creates a new {@link ClassAllowList} with the {@link #DEFAULT_PATTERNS} and the given
+	 * patterns
+	 *
+	 * @param patterns
+	 *            the patterns of the allowed classes of the application
+	 * @return the new allow list
+	 */
+	public static ClassAllowList withDefaults(final String... patterns)
+	{
+		final List<String> allPatterns = new ArrayList<>(DEFAULT_PATTERNS);
+		allPatterns.addAll(List.of(patterns));
+		return new ClassAllowList(allPatterns);
+	}
+
+	/**
+	 * Checks if the class with the given name is allowed. The name of an array class has the
+	 * format of {@link Class#getName()}
+	 *
+	 * @param name
+	 *            the name of the class
+	 * @return true if the class is allowed otherwise false
+	 */
+	public boolean isAllowed(final String name)
+	{
+		int dimensions = 0;
+		while (dimensions < name.length() && name.charAt(dimensions) == '[')
+		{
+			dimensions++;
+		}
+		String className = name;
+		if (0 < dimensions)
+		{
+			if (name.length() == dimensions + 1)
+			{
+				// array of a primitive type
+				return "ZBCSIJFD".indexOf(name.charAt(dimensions)) != -1;
+			}
+			if (name.charAt(dimensions) != 'L' || !name.endsWith(";"))
+			{
+				return false;
+			}
+			className = name.substring(dimensions + 1, name.length() - 1);
+		}
+		if (classNames.contains(className))
+		{
+			return true;
+		}
+		for (final String prefix : prefixes)
+		{
+			if (className.startsWith(prefix))
+			{
+				return true;
+			}
+		}
+		final int lastDot = className.lastIndexOf('.');
+		for (final String packagePrefix : packages)
+		{
+			if (lastDot == packagePrefix.length() - 1 && className.startsWith(packagePrefix))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * A proxy class is allowed if all of its interfaces are allowed
+	 */
+	@Override
+	public Status checkInput(final FilterInfo filterInfo)
+	{
+		Class<?> serialClass = filterInfo.serialClass();
+		if (serialClass == null)
+		{
+			return Status.UNDECIDED;
+		}
+		while (serialClass.isArray())
+		{
+			serialClass = serialClass.getComponentType();
+		}
+		if (Proxy.isProxyClass(serialClass))
+		{
+			for (final Class<?> proxyInterface : serialClass.getInterfaces())
+			{
+				if (!isAllowed(proxyInterface.getName()))
+				{
+					return Status.REJECTED;
+				}
+			}
+			return Status.ALLOWED;
+		}
+		return serialClass.isPrimitive() || isAllowed(serialClass.getName())
+			? Status.ALLOWED
+			: Status.REJECTED;
+	}
+
+}
@@ -0,0 +1,47 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+/**
+ * The functional interface {@link ClassResolver} resolves the classes of the class descriptors
+ * that a {@link ResolvingObjectInputStream} reads
+ */
+@FunctionalInterface
+public interface ClassResolver
+{
+
+	/**
+	 * Resolves the class with the given binary name, the name of an array class has the format of
+	 * {@link Class#getName()}
+	 *
+	 * @param name
+	 *            the binary name of the class
+	 * @return the resolved class
+	 * @throws ClassNotFoundException
+	 *             is thrown when no definition for the class with the specified name could be found
+	 */
+	Class<?> resolve(String name) throws ClassNotFoundException;
+
+}
@@ -0,0 +1,388 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * The class {@link CompressionExtensions} creates decompressing and compressing streams from the
+ * {@link CompressionType} of a file, so compressed files can be streamed without materializing
+ * them. All streams use large internal buffers. The methods {@link #deflate(InputStream,
+ * OutputStream, int)} and {@link #inflate(InputStream, OutputStream)} reuse one {@link Deflater}
+ * and one {@link Inflater} per thread, so the native zlib state is not set up again for every
+ * payload
+ */
+public final class CompressionExtensions
+{
+
+	/** The reusable deflater of the current thread */
+	private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(Deflater::new);
+
+	/** The reusable inflater of the current thread */
+	private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+
+	private CompressionExtensions()
+	{
+	}
+
+	/**
+	 * Opens a decompressing input stream for the given file. A gzip file is decompressed with a
+	 * {@link GZIPInputStream}, a zip file is returned as {@link ZipInputStream} that is positioned
+	 * before the first entry and all other files are returned as buffered stream of the stored
+	 * bytes
+	 *
+	 * @param path
+	 *            the path of the file
+	 * @return the input stream
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static InputStream newInputStream(final Path path) throws IOException
+	{
+		switch (CompressionType.of(path))
+		{
+			case GZIP :
+				return newGzipInputStream(path);
+			case ZIP :
+				return newZipInputStream(path);
+			default :
+				return new BufferedInputStream(Files.newInputStream(path),
+					StreamExtensions.DEFAULT_BUFFER_SIZE);
+		}
+	}
+
+	/**
+	 * Opens a compressing output stream for the given file with the default compression level
+	 *
+	 * @param path
+	 *            the path of the file
+	 * @param options
+	 *            the options specifying how the file is opened
+	 * @return the output stream
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @see #newOutputStream(Path, int, OpenOption...)
+	 */
+	public static OutputStream newOutputStream(final Path path, final OpenOption... options)
+		throws IOException
+	{
+		return newOutputStream(path, Deflater.DEFAULT_COMPRESSION, options);
+	}
+
+	/**
+	 * Opens a compressing output stream for the given file with the given compression level. A
+	 * gzip file is written with a {@link GZIPOutputStream}, a zip file with a
+	 * {@link ZipOutputStream} that expects the entries to be put by the caller and all other
+	 * files are written uncompressed with a buffered stream
+	 *
+	 * @param path
+	 *            the path of the file
+	 * @param level
+	 *            the compression level from {@link Deflater#DEFAULT_COMPRESSION} or 0 to 9
+	 * @param options
+	 *            the options specifying how the file is opened
+	 * @return the output stream
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static OutputStream newOutputStream(final Path path, final int level,
+		final OpenOption... options) throws IOException
+	{
+		switch (CompressionType.of(path))
+		{
+			case GZIP :
+				return newGzipOutputStream(path, level, options);
+			case ZIP :
+				return newZipOutputStream(path, level, options);
+			default :
+				return new BufferedOutputStream(Files.newOutputStream(path, options),
+					StreamExtensions.DEFAULT_BUFFER_SIZE);
+		}
+	}
+
+	/**
+	 * Opens a {@link GZIPInputStream} for the given file with a large inflater buffer
+	 *
+	 * @param path
+	 *            the path of the file
+	 * @return the gzip input stream
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static GZIPInputStream newGzipInputStream(final Path path) throws IOException
+	{
+		final InputStream inputStream = Files.newInputStream(path);
+		try
+		{
+			return new GZIPInputStream(inputStream, StreamExtensions.DEFAULT_BUFFER_SIZE);
+		}
+		catch (IOException | RuntimeException exception)
+		{
+			inputStream.close();
+			throw exception;
+		}
+	}
+
+	/**
+	 * Opens a {@link GZIPOutputStream} for the given file with the given compression level and a
+	 * large deflater buffer
+	 *
+	 * @param path
+	 *            the path of the file
+	 * @param level
+	 *            the compression level from {@link Deflater#DEFAULT_COMPRESSION} or 0 to 9
+	 * @param options
+	 *            the options specifying how the file is opened
+	 * @return the gzip output stream
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static GZIPOutputStream newGzipOutputStream(final Path path, final int level,
+		final OpenOption... options) throws IOException
+	{
+		validateLevel(level);
+		final OutputStream outputStream = Files.newOutputStream(path, options);
+		try
+		{
+			return new LeveledGZIPOutputStream(outputStream, level);
+		}
+		catch (IOException | RuntimeException exception)
+		{
+			outputStream.close();
+			throw exception;
+		}
+	}
+
+	/**
+	 * Opens a {@link ZipInputStream} for the given file that streams the entries one after the
+	 * other with {@link ZipInputStream#getNextEntry()}
+	 *
+	 * @param path
+	 *            the path of the file
+	 * @return the zip input stream
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static ZipInputStream newZipInputStream(final Path path) throws IOException
+	{
+		return new ZipInputStream(new BufferedInputStream(Files.newInputStream(path),
+			StreamExtensions.DEFAULT_BUFFER_SIZE));
+	}
+
+	/**
+	 * Opens a {@link ZipOutputStream} for the given file with the given compression level
+	 *
+	 * @param path
+	 *            the path of the file
+	 * @param level
+	 *            the compression level from {@link Deflater#DEFAULT_COMPRESSION} or 0 to 9
+	 * @param options
+	 *            the options specifying how the file is opened
+	 * @return the zip output stream
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static ZipOutputStream newZipOutputStream(final Path path, final int level,
+		final OpenOption... options) throws IOException
+	{
+		validateLevel(level);
+		final ZipOutputStream zipOutputStream = new ZipOutputStream(new BufferedOutputStream(
+			Files.newOutputStream(path, options), StreamExtensions.DEFAULT_BUFFER_SIZE));
+		zipOutputStream.setLevel(level);
+		return zipOutputStream;
+	}
+
+	/**
+	 * Compresses the given input stream to the given output stream in the zlib format with the
+	 * deflater of the current thread. Neither stream is closed
+	 *
+	 * @param inputStream
+	 *            the input stream with the uncompressed data
+	 * @param outputStream
+	 *            the output stream for the compressed data
+	 * @param level
+	 *            the compression level from {@link Deflater#DEFAULT_COMPRESSION} or 0 to 9
+	 * @return the number of written compressed bytes
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static long deflate(final InputStream inputStream, final OutputStream outputStream,
+		final int level) throws IOException
+	{
+		validateLevel(level);
+		final Deflater deflater = DEFLATER.get();
+		final BufferPool bufferPool = BufferPool.getDefault();
+		final byte[] buffer = bufferPool.acquireHeap(StreamExtensions.DEFAULT_BUFFER_SIZE * 2);
+		final int half = buffer.length / 2;
+		try
+		{
+			deflater.setLevel(level);
+			int read;
+			while ((read = inputStream.read(buffer, 0, half)) != -1)
+			{
+				deflater.setInput(buffer, 0, read);
+				while (!deflater.needsInput())
+				{
+					drain(deflater, buffer, half, outputStream);
+				}
+			}
+			deflater.finish();
+			while (!deflater.finished())
+			{
+				drain(deflater, buffer, half, outputStream);
+			}
+			return deflater.getBytesWritten();
+		}
+		finally
+		{
+			deflater.reset();
+			bufferPool.releaseHeap(buffer);
+		}
+	}
+
+	/**
+	 * Decompresses the given input stream in the zlib format to the given output stream with the
+	 * inflater of the current thread. Neither stream is closed and bytes after the end of the
+	 * compressed data may be consumed from the input stream
+	 *
+	 * @param inputStream
+	 *            the input stream with the compressed data
+	 * @param outputStream
+	 *            the output stream for the uncompressed data
+	 * @return the number of written uncompressed bytes
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws ZipException
+	 *             if the compressed data is corrupt or truncated
+	 */
+	public static long inflate(final InputStream inputStream, final OutputStream outputStream)
+		throws IOException
+	{
+		final Inflater inflater = INFLATER.get();
+		final BufferPool bufferPool = BufferPool.getDefault();
+		final byte[] buffer = bufferPool.acquireHeap(StreamExtensions.DEFAULT_BUFFER_SIZE * 2);
+		final int half = buffer.length / 2;
+		try
+		{
+			while (!inflater.finished())
+			{
+				if (inflater.needsInput())
+				{
+					final int read = inputStream.read(buffer, 0, half);
+					if (read == -1)
+					{
+						throw new ZipException("Unexpected end of compressed data");
+					}
+					inflater.setInput(buffer, 0, read);
+				}
+				final int inflated = inflater.inflate(buffer, half, buffer.length - half);
+				if (inflated == 0 && inflater.needsDictionary())
+				{
+					throw new ZipException("Compressed data needs a preset dictionary");
+				}
+				outputStream.write(buffer, half, inflated);
+			}
+			return inflater.getBytesWritten();
+		}
+		catch (DataFormatException exception)
+		{
+			final ZipException zipException = new ZipException(exception.getMessage());
+			zipException.initCause(exception);
+			throw zipException;
+		}
+		finally
+		{
+			inflater.reset();
+			bufferPool.releaseHeap(buffer);
+		}
+	}
+
+	/**
+	 * Writes the compressed bytes that are available from the given deflater
+	 *
+	 * @param deflater
+	 *            the deflater
+	 * @param buffer
+	 *            the buffer for the compressed bytes
+	 * @param offset
+	 *            the offset of the output part in the buffer
+	 * @param outputStream
+	 *            the output stream for the compressed bytes
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	private static void drain(final Deflater deflater, final byte[] buffer, final int offset,
+		final OutputStream outputStream) throws IOException
+	{
+		final int deflated = deflater.deflate(buffer, offset, buffer.length - offset);
+		outputStream.write(buffer, offset, deflated);
+	}
+
+	/**
+	 * Validates the given compression level
+	 *
+	 * @param level
+	 *            the compression level
+	 */
+	private static void validateLevel(final int level)
+	{
+		if ((level < Deflater.NO_COMPRESSION || Deflater.BEST_COMPRESSION < level)
+			&& level != Deflater.DEFAULT_COMPRESSION)
+		{
+			throw new IllegalArgumentException("Invalid compression level: " + level);
+		}
+	}
+
+	/**
+	 * The {@link GZIPOutputStream} with a configurable compression level
+	 */
+	private static final class LeveledGZIPOutputStream extends GZIPOutputStream
+	{
+
+		LeveledGZIPOutputStream(final OutputStream outputStream, final int level)
+			throws IOException
+		{
+			super(outputStream, StreamExtensions.DEFAULT_BUFFER_SIZE);
+			def.setLevel(level);
+		}
+
+	}
+
+}
@@ -0,0 +1,105 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+import io.github.astrapi69.io.file.FileExtension;
+
+/**
+ * The enum {@link CompressionType} represents the compression formats that can be read and
+ * written with the JDK and the {@link FileExtension} objects of them
+ */
+public enum CompressionType
+{
+
+	/** The gzip format for the file extensions '.gz' and '.tar.gz' */
+	GZIP(FileExtension.GZ, FileExtension.TAR_GZ),
+
+	/** The zip format for the file extensions '.zip', '.jar', '.war' and '.ear' */
+	ZIP(FileExtension.ZIP, FileExtension.JAR, FileExtension.WAR, FileExtension.EAR),
+
+	/** No compression, also for archive formats the JDK can not read like '.7z' or '.bz2' */
+	NONE;
+
+	/** The file extensions of this compression type */
+	private final Set<FileExtension> fileExtensions;
+
+	/**
+	 * Instantiates a new {@link CompressionType}
+	 *
+	 * @param fileExtensions
+	 *            the file extensions of this compression type
+	 */
+	CompressionType(final FileExtension... fileExtensions)
+	{
+		this.fileExtensions = Set.of(fileExtensions);
+	}
+
+	/**
+	 * Gets the file extensions of this compression type
+	 *
+	 * @return the file extensions
+	 */
+	public Set<FileExtension> getFileExtensions()
+	{
+		return fileExtensions;
+	}
+
+	/**
+	 * Resolves the {@link CompressionType} from the file extension of the given path, the case of
+	 * the file name is ignored
+	 *
+	 * @param path
+	 *            the path
+	 * @return the compression type or {@link #NONE} if the file extension is not of a supported
+	 *         compression format
+	 */
+	public static CompressionType of(final Path path)
+	{
+		Objects.requireNonNull(path, "Path must not be null");
+		final Path fileName = path.getFileName();
+		if (fileName == null)
+		{
+			return NONE;
+		}
+		final String name = fileName.toString().toLowerCase(Locale.ROOT);
+		for (final CompressionType compressionType : values())
+		{
+			for (final FileExtension fileExtension : compressionType.fileExtensions)
+			{
+				if (name.endsWith(fileExtension.getExtension()))
+				{
+					return compressionType;
+				}
+			}
+		}
+		return NONE;
+	}
+
+}
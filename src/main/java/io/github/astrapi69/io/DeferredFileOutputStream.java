@@ -0,0 +1,331 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The class {@link DeferredFileOutputStream} keeps the written bytes in a
+ * {@link SegmentedByteArrayOutputStream} up to a threshold. When the threshold is exceeded the
+ * content is spilled to a temporary file and all further bytes are written to the file, so one
+ * oversized payload can not exhaust the heap. The content can be read as {@link InputStream} or
+ * as {@link ByteBuffer} views, in memory on the chunks and on disk as mapped regions of the file,
+ * without a final copy to a byte array. The temporary file is deleted with {@link #delete()}
+ */
+public class DeferredFileOutputStream extends OutputStream
+{
+
+	/** The threshold in bytes above that the content is spilled to a temporary file */
+	private final long threshold;
+
+	/** The directory of the temporary file or null for the default temporary directory */
+	private final Path directory;
+
+	/** The in memory content or null if the content is spilled */
+	private SegmentedByteArrayOutputStream memory;
+
+	/** The temporary file or null if the content is in memory */
+	private Path file;
+
+	/** The output stream to the temporary file */
+	private OutputStream fileOutputStream;
+
+	/** The number of written bytes */
+	private long size;
+
+	/** The flag if this stream is closed */
+	private boolean closed;
+
+	/**
+	 * Instantiates a new {@link DeferredFileOutputStream} that spills to the default temporary
+	 * directory
+	 *
+	 * @param threshold
+	 *            the threshold in bytes above that the content is spilled to a temporary file
+	 */
+	public DeferredFileOutputStream(final long threshold)
+	{
+		this(threshold, null);
+	}
+
+	/**
+	 * Instantiates a new {@link DeferredFileOutputStream}
+	 *
+	 * @param threshold
+	 *            the threshold in bytes above that the content is spilled to a temporary file
+	 * @param directory
+	 *            the directory of the temporary file or null for the default temporary directory
+	 */
+	public DeferredFileOutputStream(final long threshold, final Path directory)
+	{
+		if (threshold < 0)
+		{
+			throw new IllegalArgumentException("Threshold must not be negative: " + threshold);
+		}
+		this.threshold = threshold;
+		this.directory = directory;
+		this.memory = new SegmentedByteArrayOutputStream((int)Math.max(1,
+			Math.min(threshold, SegmentedByteArrayOutputStream.DEFAULT_INITIAL_CHUNK_SIZE)));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(final int b) throws IOException
+	{
+		ensureOpen();
+		if (memory != null && threshold < size + 1)
+		{
+			spill();
+		}
+		if (memory != null)
+		{
+			memory.write(b);
+		}
+		else
+		{
+			fileOutputStream.write(b);
+		}
+		size++;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(final byte[] b, final int off, final int len) throws IOException
+	{
+		Objects.checkFromIndexSize(off, len, b.length);
+		ensureOpen();
+		if (memory != null && threshold < size + len)
+		{
+			spill();
+		}
+		if (memory != null)
+		{
+			memory.write(b, off, len);
+		}
+		else
+		{
+			fileOutputStream.write(b, off, len);
+		}
+		size += len;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void flush() throws IOException
+	{
+		if (fileOutputStream != null && !closed)
+		{
+			fileOutputStream.flush();
+		}
+	}
+
+	/**
+	 * Closes the write side of this stream. The content stays readable until {@link #delete()} is
+	 * called
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		if (!closed)
+		{
+			closed = true;
+			if (fileOutputStream != null)
+			{
+				fileOutputStream.close();
+			}
+		}
+	}
+
+	/**
+	 * Checks if the content is still in memory
+	 *
+	 * @return true if the content is in memory, false if it is spilled to a temporary file
+	 */
+	public boolean isInMemory()
+	{
+		return memory != null;
+	}
+
+	/**
+	 * Gets the threshold
+	 *
+	 * @return the threshold in bytes above that the content is spilled to a temporary file
+	 */
+	public long getThreshold()
+	{
+		return threshold;
+	}
+
+	/**
+	 * Gets the temporary file
+	 *
+	 * @return the temporary file or null if the content is in memory
+	 */
+	public Path getFile()
+	{
+		return file;
+	}
+
+	/**
+	 * Gets the number of written bytes
+	 *
+	 * @return the number of written bytes
+	 */
+	public long size()
+	{
+		return size;
+	}
+
+	/**
+	 * Gets an {@link InputStream} over the content. In memory the stream reads the chunks
+	 * without copying, on disk the temporary file is opened
+	 *
+	 * @return the input stream over the content
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public InputStream toInputStream() throws IOException
+	{
+		if (memory != null)
+		{
+			return memory.toInputStream();
+		}
+		flush();
+		return Files.newInputStream(file);
+	}
+
+	/**
+	 * Gets read only {@link ByteBuffer} views on the content. In memory the buffers are views on
+	 * the chunks, on disk they are read only mapped regions of the temporary file
+	 *
+	 * @return the list of buffers in the order of the content
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public List<ByteBuffer> toByteBuffers() throws IOException
+	{
+		if (memory != null)
+		{
+			return memory.toByteBuffers();
+		}
+		flush();
+		return new ArrayList<>(StreamExtensions.getMappedByteBuffers(file));
+	}
+
+	/**
+	 * Writes the content to the given output stream
+	 *
+	 * @param outputStream
+	 *            the output stream to write to
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public void writeTo(final OutputStream outputStream) throws IOException
+	{
+		if (memory != null)
+		{
+			memory.writeTo(outputStream);
+			return;
+		}
+		flush();
+		Files.copy(file, outputStream);
+	}
+
+	/**
+	 * Closes this stream and deletes the temporary file if the content was spilled
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public void delete() throws IOException
+	{
+		close();
+		if (file != null)
+		{
+			Files.deleteIfExists(file);
+		}
+	}
+
+	/**
+	 * Spills the in memory content to a new temporary file
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	private void spill() throws IOException
+	{
+		final Path temporary = directory == null
+			? Files.createTempFile("deferred", ".tmp")
+			: Files.createTempFile(directory, "deferred", ".tmp");
+		final OutputStream outputStream = new BufferedOutputStream(
+			Files.newOutputStream(temporary), StreamExtensions.DEFAULT_BUFFER_SIZE);
+		try
+		{
+			memory.writeTo(outputStream);
+		}
+		catch (IOException exception)
+		{
+			outputStream.close();
+			Files.deleteIfExists(temporary);
+			throw exception;
+		}
+		file = temporary;
+		fileOutputStream = outputStream;
+		memory = null;
+	}
+
+	/**
+	 * Checks that this stream is not closed
+	 *
+	 * @throws IOException
+	 *             if this stream is closed
+	 */
+	private void ensureOpen() throws IOException
+	{
+		if (closed)
+		{
+			throw new IOException("Stream closed");
+		}
+	}
+
+}
@@ -0,0 +1,313 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The class {@link LineReader} reads lines lazily from a {@link Reader} with constant memory. A
+ * line is terminated by a line feed ('\n'), a carriage return ('\r') or a carriage return
+ * followed immediately by a line feed. The line terminators are not part of the returned lines.
+ * <br>
+ * The method {@link #nextLine()} returns the line as a {@link CharSequence} view on the internal
+ * buffer that is reused for all lines, so no object is allocated per line. The view is only valid
+ * until the next read and have to be copied with {@link CharSequence#toString()} if it is needed
+ * later
+ */
+public final class LineReader implements Closeable
+{
+
+	/** The default size of the char buffer. current value:8192 */
+	public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+	/** The reader to read from */
+	private final Reader reader;
+
+	/** The char buffer, grows only if a line is longer than the buffer */
+	private char[] buffer;
+
+	/** The reusable read only view of the current line */
+	private CharBuffer line;
+
+	/** The index of the first not consumed char in the buffer */
+	private int position;
+
+	/** The index after the last read char in the buffer */
+	private int limit;
+
+	/** The flag that signals if the end of the reader is reached */
+	private boolean endOfStream;
+
+	/**
+	 * Instantiates a new {@link LineReader} with the default buffer size
+	 *
+	 * @param reader
+	 *            the reader to read from
+	 */
+	public LineReader(final Reader reader)
+	{
+		this(reader, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Instantiates a new {@link LineReader}
+	 *
+	 * @param reader
+	 *            the reader to read from
+	 * @param bufferSize
+	 *            the initial size of the char buffer
+	 */
+	public LineReader(final Reader reader, final int bufferSize)
+	{
+		this.reader = Objects.requireNonNull(reader, "Reader must not be null");
+		if (bufferSize <= 0)
+		{
+			throw new IllegalArgumentException("Buffer size must be greater than 0");
+		}
+		this.buffer = new char[bufferSize];
+		this.line = CharBuffer.wrap(buffer).asReadOnlyBuffer();
+	}
+
+	/**
+	 * Reads the next line and returns it as a view on the internal buffer. Note: the returned view
+	 * is only valid until the next call of this method
+	 *
+	 * @return the next line without the line terminator or null if the end of the reader is
+	 *         reached
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public CharSequence nextLine() throws IOException
+	{
+		int scan = position;
+		while (true)
+		{
+			while (scan < limit)
+			{
+				final char character = buffer[scan];
+				if (character == '\n' || character == '\r')
+				{
+					if (character == '\r' && scan + 1 == limit && !endOfStream)
+					{
+						// a following line feed belongs to this line terminator
+						scan -= fill();
+						continue;
+					}
+					int next = scan + 1;
+					if (character == '\r' && next < limit && buffer[next] == '\n')
+					{
+						next++;
+					}
+					return toLine(scan, next);
+				}
+				scan++;
+			}
+			if (endOfStream)
+			{
+				return position < limit ? toLine(limit, limit) : null;
+			}
+			scan -= fill();
+		}
+	}
+
+	/**
+	 * Reads the next line as a {@link String} object
+	 *
+	 * @return the next line without the line terminator or null if the end of the reader is
+	 *         reached
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public String readLine() throws IOException
+	{
+		final CharSequence next = nextLine();
+		return next != null ? next.toString() : null;
+	}
+
+	/**
+	 * Performs the given action for each remaining line. The {@link CharSequence} that is given to
+	 * the action is only valid during the call of the action
+	 *
+	 * @param action
+	 *            the action to perform for each line
+	 * @return the number of lines
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public long forEachLine(final Consumer<? super CharSequence> action) throws IOException
+	{
+		long count = 0;
+		CharSequence next;
+		while ((next = nextLine()) != null)
+		{
+			action.accept(next);
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Returns an {@link Iterator} over the remaining lines. An {@link IOException} is wrapped in
+	 * an {@link UncheckedIOException}
+	 *
+	 * @return the iterator over the remaining lines
+	 */
+	public Iterator<String> iterator()
+	{
+		return new Iterator<>()
+		{
+			private String next;
+
+			@Override
+			public boolean hasNext()
+			{
+				if (next == null)
+				{
+					try
+					{
+						next = readLine();
+					}
+					catch (IOException exception)
+					{
+						throw new UncheckedIOException(exception);
+					}
+				}
+				return next != null;
+			}
+
+			@Override
+			public String next()
+			{
+				if (!hasNext())
+				{
+					throw new NoSuchElementException();
+				}
+				final String current = next;
+				next = null;
+				return current;
+			}
+		};
+	}
+
+	/**
+	 * Returns a lazy populated {@link Stream} over the remaining lines. Closing the stream closes
+	 * this {@link LineReader}
+	 *
+	 * @return the stream over the remaining lines
+	 */
+	public Stream<String> lines()
+	{
+		return StreamSupport
+			.stream(Spliterators.spliteratorUnknownSize(iterator(),
+				Spliterator.ORDERED | Spliterator.NONNULL), false)
+			.onClose(() -> {
+				try
+				{
+					close();
+				}
+				catch (IOException exception)
+				{
+					throw new UncheckedIOException(exception);
+				}
+			});
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		reader.close();
+	}
+
+	/**
+	 * Sets the line view to the chars from the current position to the given end and moves the
+	 * position to the given next index
+	 *
+	 * @param end
+	 *            the index after the last char of the line
+	 * @param next
+	 *            the index of the first char after the line terminator
+	 * @return the line view
+	 */
+	private CharSequence toLine(final int end, final int next)
+	{
+		line.limit(end);
+		line.position(position);
+		position = next;
+		return line;
+	}
+
+	/**
+	 * Moves the not consumed chars to the beginning of the buffer, grows the buffer if it is full
+	 * and reads the next chars from the reader
+	 *
+	 * @return the number of positions the not consumed chars was moved to the left
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	private int fill() throws IOException
+	{
+		final int shift = position;
+		final int remaining = limit - position;
+		if (remaining == buffer.length)
+		{
+			final char[] grown = new char[buffer.length * 2];
+			System.arraycopy(buffer, position, grown, 0, remaining);
+			buffer = grown;
+			line = CharBuffer.wrap(buffer).asReadOnlyBuffer();
+		}
+		else if (0 < shift)
+		{
+			System.arraycopy(buffer, position, buffer, 0, remaining);
+		}
+		position = 0;
+		limit = remaining;
+		final int read = reader.read(buffer, limit, buffer.length - limit);
+		if (read == -1)
+		{
+			endOfStream = true;
+		}
+		else
+		{
+			limit += read;
+		}
+		return shift;
+	}
+
+}
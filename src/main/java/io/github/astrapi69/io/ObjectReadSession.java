@@ -0,0 +1,207 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The class {@link ObjectReadSession} reads the objects that an {@link ObjectWriteSession} has
+ * written from one {@link ObjectInputStream}, one by one or as {@link Iterator} or {@link Stream}.
+ * A stream that ends without the end marker ends the session as well, so the objects of a session
+ * that was not closed can be read until the last complete object.<br>
+ * Note: this class is not thread safe
+ */
+public final class ObjectReadSession implements Closeable
+{
+
+	/** The object input stream */
+	private final ObjectInputStream objectInputStream;
+
+	/** The flag if the marker of the next object is already read */
+	private boolean markerRead;
+
+	/** The flag if the end of the session is reached */
+	private boolean endOfSession;
+
+	/** The number of read objects */
+	private long count;
+
+	/**
+	 * Instantiates a new {@link ObjectReadSession}
+	 *
+	 * @param inputStream
+	 *            the input stream to read from
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public ObjectReadSession(final InputStream inputStream) throws IOException
+	{
+		Objects.requireNonNull(inputStream, "InputStream must not be null");
+		this.objectInputStream = new ObjectInputStream(inputStream);
+	}
+
+	/**
+	 * Checks if there is another object in the session
+	 *
+	 * @return true if there is another object otherwise false
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public boolean hasNext() throws IOException
+	{
+		if (!markerRead && !endOfSession)
+		{
+			try
+			{
+				endOfSession = !objectInputStream.readBoolean();
+			}
+			catch (EOFException exception)
+			{
+				endOfSession = true;
+			}
+			markerRead = !endOfSession;
+		}
+		return markerRead;
+	}
+
+	/**
+	 * Reads the next object
+	 *
+	 * @return the next object, can be null if null was written
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws ClassNotFoundException
+	 *             is thrown when a class of the read object is not found
+	 * @throws NoSuchElementException
+	 *             if there is no other object in the session
+	 */
+	public Object next() throws IOException, ClassNotFoundException
+	{
+		if (!hasNext())
+		{
+			throw new NoSuchElementException();
+		}
+		markerRead = false;
+		final Object object = objectInputStream.readObject();
+		count++;
+		return object;
+	}
+
+	/**
+	 * Gets the number of read objects
+	 *
+	 * @return the number of read objects
+	 */
+	public long getCount()
+	{
+		return count;
+	}
+
+	/**
+	 * Gets an {@link Iterator} over the remaining objects. I/O errors are thrown as
+	 * {@link UncheckedIOException} and a missing class as {@link IllegalStateException}
+	 *
+	 * @return the iterator
+	 */
+	public Iterator<Object> iterator()
+	{
+		return new Iterator<>()
+		{
+			@Override
+			public boolean hasNext()
+			{
+				try
+				{
+					return ObjectReadSession.this.hasNext();
+				}
+				catch (IOException exception)
+				{
+					throw new UncheckedIOException(exception);
+				}
+			}
+
+			@Override
+			public Object next()
+			{
+				try
+				{
+					return ObjectReadSession.this.next();
+				}
+				catch (IOException exception)
+				{
+					throw new UncheckedIOException(exception);
+				}
+				catch (ClassNotFoundException exception)
+				{
+					throw new IllegalStateException(exception);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Gets a sequential {@link Stream} over the remaining objects. Closing the stream closes this
+	 * session
+	 *
+	 * @return the stream
+	 */
+	public Stream<Object> objects()
+	{
+		return StreamSupport
+			.stream(Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED), false)
+			.onClose(() -> {
+				try
+				{
+					close();
+				}
+				catch (IOException exception)
+				{
+					throw new UncheckedIOException(exception);
+				}
+			});
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		objectInputStream.close();
+	}
+
+}
@@ -0,0 +1,214 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ * The class {@link ObjectWriteSession} serializes many objects into one {@link ObjectOutputStream}.
+ * The stream header is written once and every class descriptor only once until the next reset,
+ * later objects of the same class refer to the descriptor with a handle. Each object is preceded
+ * by a marker and the session ends with an end marker on {@link #close()}, so an
+ * {@link ObjectReadSession} can read the objects back until the end.<br>
+ * The stream keeps a reference to every written object until it is reset, so the session resets
+ * the stream every {@link #getResetInterval()} objects. Objects that are written twice between two
+ * resets are written as reference to the first one.<br>
+ * Note: this class is not thread safe
+ */
+public final class ObjectWriteSession implements Closeable, Flushable
+{
+
+	/** The default number of objects after that the stream is reset */
+	public static final int DEFAULT_RESET_INTERVAL = 1024;
+
+	/** The object output stream */
+	private final ObjectOutputStream objectOutputStream;
+
+	/** The number of objects after that the stream is reset or 0 for no automatic reset */
+	private final int resetInterval;
+
+	/** The number of written objects */
+	private long count;
+
+	/** The number of written objects since the last reset */
+	private int countSinceReset;
+
+	/** The flag if this session is closed */
+	private boolean closed;
+
+	/**
+	 * Instantiates a new {@link ObjectWriteSession} with the default reset interval
+	 *
+	 * @param outputStream
+	 *            the output stream to write to
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public ObjectWriteSession(final OutputStream outputStream) throws IOException
+	{
+		this(outputStream, DEFAULT_RESET_INTERVAL);
+	}
+
+	/**
+	 * Instantiates a new {@link ObjectWriteSession}
+	 *
+	 * @param outputStream
+	 *            the output stream to write to
+	 * @param resetInterval
+	 *            the number of objects after that the stream is reset or 0 for no automatic reset
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public ObjectWriteSession(final OutputStream outputStream, final int resetInterval)
+		throws IOException
+	{
+		Objects.requireNonNull(outputStream, "OutputStream must not be null");
+		if (resetInterval < 0)
+		{
+			throw new IllegalArgumentException("Reset interval must not be negative");
+		}
+		this.objectOutputStream = new ObjectOutputStream(outputStream);
+		this.resetInterval = resetInterval;
+	}
+
+	/**
+	 * Writes the given object to the stream
+	 *
+	 * @param object
+	 *            the object to write, can be null
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public void write(final Object object) throws IOException
+	{
+		ensureOpen();
+		objectOutputStream.writeBoolean(true);
+		objectOutputStream.writeObject(object);
+		count++;
+		countSinceReset++;
+		if (resetInterval != 0 && resetInterval <= countSinceReset)
+		{
+			reset();
+		}
+	}
+
+	/**
+	 * Writes all objects of the given {@link Iterable} to the stream
+	 *
+	 * @param objects
+	 *            the objects to write
+	 * @return the number of written objects
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public long writeAll(final Iterable<?> objects) throws IOException
+	{
+		long written = 0;
+		for (final Object object : objects)
+		{
+			write(object);
+			written++;
+		}
+		return written;
+	}
+
+	/**
+	 * Resets the stream, so the written objects are no more referenced and the class descriptors
+	 * are written again for the following objects
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public void reset() throws IOException
+	{
+		ensureOpen();
+		objectOutputStream.reset();
+		countSinceReset = 0;
+	}
+
+	/**
+	 * Gets the number of written objects
+	 *
+	 * @return the number of written objects
+	 */
+	public long getCount()
+	{
+		return count;
+	}
+
+	/**
+	 * Gets the number of objects after that the stream is reset
+	 *
+	 * @return the reset interval or 0 for no automatic reset
+	 */
+	public int getResetInterval()
+	{
+		return resetInterval;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void flush() throws IOException
+	{
+		ensureOpen();
+		objectOutputStream.flush();
+	}
+
+	/**
+	 * Writes the end marker and closes the underlying stream
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		if (closed)
+		{
+			return;
+		}
+		closed = true;
+		try (ObjectOutputStream stream = objectOutputStream)
+		{
+			stream.writeBoolean(false);
+		}
+	}
+
+	private void ensureOpen() throws IOException
+	{
+		if (closed)
+		{
+			throw new IOException("Session is closed");
+		}
+	}
+
+}
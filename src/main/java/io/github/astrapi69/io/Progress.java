@@ -0,0 +1,167 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * The class {@link Progress} is an immutable snapshot of a running or finished transfer with the
+ * number of transferred bytes, the average rate and the estimated remaining time
+ */
+public final class Progress
+{
+
+	/** The number of transferred bytes */
+	private final long transferredBytes;
+
+	/** The total number of bytes or -1 if unknown */
+	private final long totalBytes;
+
+	/** The elapsed time in nanoseconds since the start of the transfer */
+	private final long elapsedNanos;
+
+	/** The flag if the transfer is finished */
+	private final boolean finished;
+
+	/**
+	 * Instantiates a new {@link Progress}
+	 *
+	 * @param transferredBytes
+	 *            the number of transferred bytes
+	 * @param totalBytes
+	 *            the total number of bytes or -1 if unknown
+	 * @param elapsedNanos
+	 *            the elapsed time in nanoseconds since the start of the transfer
+	 * @param finished
+	 *            the flag if the transfer is finished
+	 */
+	Progress(final long transferredBytes, final long totalBytes, final long elapsedNanos,
+		final boolean finished)
+	{
+		this.transferredBytes = transferredBytes;
+		this.totalBytes = totalBytes;
+		this.elapsedNanos = elapsedNanos;
+		this.finished = finished;
+	}
+
+	/**
+	 * Gets the number of transferred bytes
+	 *
+	 * @return the number of transferred bytes
+	 */
+	public long getTransferredBytes()
+	{
+		return transferredBytes;
+	}
+
+	/**
+	 * Gets the total number of bytes
+	 *
+	 * @return the total number of bytes or -1 if unknown
+	 */
+	public long getTotalBytes()
+	{
+		return totalBytes;
+	}
+
+	/**
+	 * Gets the elapsed time since the start of the transfer
+	 *
+	 * @return the elapsed time
+	 */
+	public Duration getElapsed()
+	{
+		return Duration.ofNanos(elapsedNanos);
+	}
+
+	/**
+	 * Checks if the transfer is finished
+	 *
+	 * @return true if the transfer is finished otherwise false
+	 */
+	public boolean isFinished()
+	{
+		return finished;
+	}
+
+	/**
+	 * Gets the average rate since the start of the transfer
+	 *
+	 * @return the average rate in bytes per second
+	 */
+	public double getBytesPerSecond()
+	{
+		return elapsedNanos <= 0 ? 0 : transferredBytes * 1_000_000_000d / elapsedNanos;
+	}
+
+	/**
+	 * Gets the transferred fraction of the total bytes
+	 *
+	 * @return the fraction between 0 and 1 or -1 if the total number of bytes is unknown
+	 */
+	public double getFraction()
+	{
+		if (totalBytes < 0)
+		{
+			return -1;
+		}
+		return totalBytes == 0 ? 1 : Math.min(1d, (double)transferredBytes / totalBytes);
+	}
+
+	/**
+	 * Gets the estimated remaining time from the average rate
+	 *
+	 * @return the estimated remaining time or an empty {@link Optional} if the total number of
+	 *         bytes is unknown or nothing is transferred yet
+	 */
+	public Optional<Duration> getEstimatedRemaining()
+	{
+		if (finished)
+		{
+			return Optional.of(Duration.ZERO);
+		}
+		final double bytesPerSecond = getBytesPerSecond();
+		if (totalBytes < 0 || bytesPerSecond <= 0)
+		{
+			return Optional.empty();
+		}
+		final long remainingBytes = Math.max(0, totalBytes - transferredBytes);
+		return Optional
+			.of(Duration.ofNanos((long)(remainingBytes / bytesPerSecond * 1_000_000_000d)));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "Progress[transferredBytes=" + transferredBytes + ", totalBytes=" + totalBytes
+			+ ", bytesPerSecond=" + (long)getBytesPerSecond() + ", elapsed=" + getElapsed()
+			+ ", finished=" + finished + "]";
+	}
+
+}
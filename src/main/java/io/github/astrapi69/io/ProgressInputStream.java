@@ -0,0 +1,150 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * The class {@link ProgressInputStream} reports the progress of the read bytes to a
+ * {@link ProgressListener}. The listener is notified at most once per sampling interval and a
+ * last time with a finished {@link Progress} when the end of the stream is reached or the stream
+ * is closed
+ */
+public class ProgressInputStream extends FilterInputStream
+{
+
+	/** The progress tracker */
+	private final ProgressTracker tracker;
+
+	/**
+	 * Instantiates a new {@link ProgressInputStream} with an unknown total size and the default
+	 * sampling interval of 500 milliseconds
+	 *
+	 * @param inputStream
+	 *            the input stream to observe
+	 * @param listener
+	 *            the listener to notify
+	 */
+	public ProgressInputStream(final InputStream inputStream, final ProgressListener listener)
+	{
+		this(inputStream, listener, -1, ProgressTracker.DEFAULT_INTERVAL_NANOS);
+	}
+
+	/**
+	 * Instantiates a new {@link ProgressInputStream}
+	 *
+	 * @param inputStream
+	 *            the input stream to observe
+	 * @param listener
+	 *            the listener to notify
+	 * @param totalBytes
+	 *            the total number of bytes or -1 if unknown
+	 * @param intervalNanos
+	 *            the minimum time between two notifications in nanoseconds
+	 */
+	public ProgressInputStream(final InputStream inputStream, final ProgressListener listener,
+		final long totalBytes, final long intervalNanos)
+	{
+		super(Objects.requireNonNull(inputStream, "InputStream must not be null"));
+		this.tracker = new ProgressTracker(listener, totalBytes, intervalNanos);
+	}
+
+	/**
+	 * Gets the number of read bytes
+	 *
+	 * @return the number of read bytes
+	 */
+	public long getTransferredBytes()
+	{
+		return tracker.getTransferredBytes();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int read() throws IOException
+	{
+		final int b = in.read();
+		if (b == -1)
+		{
+			tracker.finish();
+		}
+		else
+		{
+			tracker.add(1);
+		}
+		return b;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int read(final byte[] b, final int off, final int len) throws IOException
+	{
+		final int read = in.read(b, off, len);
+		if (read == -1)
+		{
+			tracker.finish();
+		}
+		else
+		{
+			tracker.add(read);
+		}
+		return read;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long skip(final long n) throws IOException
+	{
+		final long skipped = in.skip(n);
+		tracker.add(skipped);
+		return skipped;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		try
+		{
+			super.close();
+		}
+		finally
+		{
+			tracker.finish();
+		}
+	}
+
+}
@@ -0,0 +1,122 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ * The class {@link ProgressOutputStream} reports the progress of the written bytes to a
+ * {@link ProgressListener}. The listener is notified at most once per sampling interval and a
+ * last time with a finished {@link Progress} when the stream is closed
+ */
+public class ProgressOutputStream extends FilterOutputStream
+{
+
+	/** The progress tracker */
+	private final ProgressTracker tracker;
+
+	/**
+	 * Instantiates a new {@link ProgressOutputStream} with an unknown total size and the default
+	 * sampling interval of 500 milliseconds
+	 *
+	 * @param outputStream
+	 *            the output stream to observe
+	 * @param listener
+	 *            the listener to notify
+	 */
+	public ProgressOutputStream(final OutputStream outputStream, final ProgressListener listener)
+	{
+		this(outputStream, listener, -1, ProgressTracker.DEFAULT_INTERVAL_NANOS);
+	}
+
+	/**
+	 * Instantiates a new {@link ProgressOutputStream}
+	 *
+	 * @param outputStream
+	 *            the output stream to observe
+	 * @param listener
+	 *            the listener to notify
+	 * @param totalBytes
+	 *            the total number of bytes or -1 if unknown
+	 * @param intervalNanos
+	 *            the minimum time between two notifications in nanoseconds
+	 */
+	public ProgressOutputStream(final OutputStream outputStream, final ProgressListener listener,
+		final long totalBytes, final long intervalNanos)
+	{
+		super(Objects.requireNonNull(outputStream, "OutputStream must not be null"));
+		this.tracker = new ProgressTracker(listener, totalBytes, intervalNanos);
+	}
+
+	/**
+	 * Gets the number of written bytes
+	 *
+	 * @return the number of written bytes
+	 */
+	public long getTransferredBytes()
+	{
+		return tracker.getTransferredBytes();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(final int b) throws IOException
+	{
+		out.write(b);
+		tracker.add(1);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(final byte[] b, final int off, final int len) throws IOException
+	{
+		out.write(b, off, len);
+		tracker.add(len);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		try
+		{
+			super.close();
+		}
+		finally
+		{
+			tracker.finish();
+		}
+	}
+
+}
@@ -0,0 +1,113 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The class {@link ProgressTracker} counts the transferred bytes of a progress stream and notifies
+ * the listener. To keep the overhead low the clock is only read after a minimum number of bytes
+ * since the last check
+ */
+final class ProgressTracker
+{
+
+	/** The default sampling interval of 500 milliseconds in nanoseconds */
+	static final long DEFAULT_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+	/** The number of bytes between two checks of the clock */
+	private static final long CHECK_BYTES = 8192;
+
+	/** The listener */
+	private final ProgressListener listener;
+
+	/** The total number of bytes or -1 if unknown */
+	private final long totalBytes;
+
+	/** The minimum time between two notifications in nanoseconds */
+	private final long intervalNanos;
+
+	/** The start time in nanoseconds */
+	private final long start;
+
+	/** The number of transferred bytes */
+	private long transferredBytes;
+
+	/** The number of transferred bytes at the last check of the clock */
+	private long checkedBytes;
+
+	/** The time of the last notification in nanoseconds */
+	private long lastNotification;
+
+	/** The flag if the finish is notified */
+	private boolean finished;
+
+	ProgressTracker(final ProgressListener listener, final long totalBytes,
+		final long intervalNanos)
+	{
+		if (intervalNanos < 0)
+		{
+			throw new IllegalArgumentException("Interval must not be negative: " + intervalNanos);
+		}
+		this.listener = Objects.requireNonNull(listener, "ProgressListener must not be null");
+		this.totalBytes = totalBytes < 0 ? -1 : totalBytes;
+		this.intervalNanos = intervalNanos;
+		this.start = System.nanoTime();
+		this.lastNotification = start;
+	}
+
+	long getTransferredBytes()
+	{
+		return transferredBytes;
+	}
+
+	void add(final long bytes)
+	{
+		transferredBytes += bytes;
+		if (transferredBytes - checkedBytes < CHECK_BYTES)
+		{
+			return;
+		}
+		checkedBytes = transferredBytes;
+		final long now = System.nanoTime();
+		if (intervalNanos <= now - lastNotification)
+		{
+			lastNotification = now;
+			listener.onProgress(new Progress(transferredBytes, totalBytes, now - start, false));
+		}
+	}
+
+	void finish()
+	{
+		if (!finished)
+		{
+			finished = true;
+			listener.onProgress(
+				new Progress(transferredBytes, totalBytes, System.nanoTime() - start, true));
+		}
+	}
+
+}
@@ -0,0 +1,294 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The class {@link RecordFileFormat} contains the constants and the helper methods of the record
+ * file format of {@link RecordFileWriter} and {@link RecordFileReader}. A record file starts with
+ * a header that contains the magic number, the version and the name of the codec of the records.
+ * Every record follows as length of 4 bytes and the serialized bytes. The optional index footer
+ * starts with the length -1, followed by the number of records, the offset of each record, the
+ * offset of the footer and the trailer magic number
+ */
+final class RecordFileFormat
+{
+
+	/** The magic number at the start of a record file */
+	static final int MAGIC = 0x53494F52;
+
+	/** The version of the format */
+	static final byte VERSION = 1;
+
+	/** The length that marks the start of the index footer */
+	static final int INDEX_MARKER = -1;
+
+	/** The magic number at the end of a record file with index footer */
+	static final int TRAILER_MAGIC = 0x53494F49;
+
+	/** The size of the trailer with the offset of the index footer and the trailer magic */
+	static final int TRAILER_SIZE = Long.BYTES + Integer.BYTES;
+
+	/** The maximum number of records, so the index footer fits into one buffer */
+	static final int MAX_RECORDS = (Integer.MAX_VALUE - 64) / Long.BYTES;
+
+	private RecordFileFormat()
+	{
+	}
+
+	/**
+	 * The offsets of the records of a record file
+	 */
+	static final class Index
+	{
+
+		/** The offsets of the records, only the first count entries are used */
+		long[] offsets;
+
+		/** The number of records */
+		int count;
+
+		/** The end of the last complete record */
+		long end;
+
+		/** The flag if the offsets are read from an index footer */
+		boolean footer;
+
+		Index(final long[] offsets, final int count, final long end, final boolean footer)
+		{
+			this.offsets = offsets;
+			this.count = count;
+			this.end = end;
+			this.footer = footer;
+		}
+
+		void add(final long offset)
+		{
+			if (count == offsets.length)
+			{
+				offsets = Arrays.copyOf(offsets, Math.max(16, count + (count >> 1)));
+			}
+			offsets[count++] = offset;
+		}
+
+	}
+
+	/**
+	 * Writes the header at the start of the given channel
+	 *
+	 * @param channel
+	 *            the file channel
+	 * @param codecName
+	 *            the name of the codec of the records
+	 * @return the offset of the first record
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	static long writeHeader(final FileChannel channel, final String codecName) throws IOException
+	{
+		final byte[] name = codecName.getBytes(StandardCharsets.UTF_8);
+		final ByteBuffer header = ByteBuffer.allocate(Integer.BYTES + 1 + Short.BYTES + name.length)
+			.putInt(MAGIC).put(VERSION).putShort((short)name.length).put(name).flip();
+		long position = 0;
+		while (header.hasRemaining())
+		{
+			position += channel.write(header, position);
+		}
+		return position;
+	}
+
+	/**
+	 * Reads and validates the header at the start of the given channel
+	 *
+	 * @param channel
+	 *            the file channel
+	 * @param codecName
+	 *            the name of the expected codec of the records
+	 * @return the offset of the first record
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred or the file is no record file of the
+	 *             given codec
+	 */
+	static long readHeader(final FileChannel channel, final String codecName) throws IOException
+	{
+		final ByteBuffer header = read(channel, 0, Integer.BYTES + 1 + Short.BYTES);
+		if (header.getInt() != MAGIC)
+		{
+			throw new StreamCorruptedException("File is no record file");
+		}
+		final byte version = header.get();
+		if (version != VERSION)
+		{
+			throw new StreamCorruptedException("Unsupported record file version: " + version);
+		}
+		final int nameLength = Short.toUnsignedInt(header.getShort());
+		final ByteBuffer name = read(channel, header.limit(), nameLength);
+		final String writtenCodecName = new String(name.array(), StandardCharsets.UTF_8);
+		if (!writtenCodecName.equals(codecName))
+		{
+			throw new IOException("Record file was written with the codec " + writtenCodecName
+				+ " and can not be read with the codec " + codecName);
+		}
+		return header.limit() + nameLength;
+	}
+
+	/**
+	 * Reads the offsets of the records from the index footer or if the file has no footer from the
+	 * length prefixes of the records. A truncated record at the end of the file is ignored
+	 *
+	 * @param channel
+	 *            the file channel
+	 * @param start
+	 *            the offset of the first record
+	 * @return the index of the records
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	static Index readIndex(final FileChannel channel, final long start) throws IOException
+	{
+		final long size = channel.size();
+		if (start + Integer.BYTES + Integer.BYTES + TRAILER_SIZE <= size)
+		{
+			final ByteBuffer trailer = read(channel, size - TRAILER_SIZE, TRAILER_SIZE);
+			final long footerOffset = trailer.getLong();
+			if (trailer.getInt() == TRAILER_MAGIC && start <= footerOffset
+				&& footerOffset < size - TRAILER_SIZE)
+			{
+				final Index index = readFooter(channel, footerOffset, size);
+				if (index != null)
+				{
+					return index;
+				}
+			}
+		}
+		final Index index = new Index(new long[16], 0, start, false);
+		final ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+		long position = start;
+		while (position + Integer.BYTES <= size)
+		{
+			length.clear();
+			readFully(channel, length, position);
+			final int recordLength = length.flip().getInt();
+			final long next = position + Integer.BYTES + recordLength;
+			if (recordLength < 0 || size < next)
+			{
+				break;
+			}
+			index.add(position);
+			position = next;
+		}
+		index.end = position;
+		return index;
+	}
+
+	private static Index readFooter(final FileChannel channel, final long footerOffset,
+		final long size) throws IOException
+	{
+		final ByteBuffer head = read(channel, footerOffset, Integer.BYTES + Integer.BYTES);
+		final int marker = head.getInt();
+		final int count = head.getInt();
+		if (marker != INDEX_MARKER || count < 0 || MAX_RECORDS < count
+			|| footerOffset + head.limit() + (long)count * Long.BYTES + TRAILER_SIZE != size)
+		{
+			return null;
+		}
+		final ByteBuffer offsets = read(channel, footerOffset + head.limit(), count * Long.BYTES);
+		final long[] index = new long[count];
+		offsets.asLongBuffer().get(index);
+		return new Index(index, count, footerOffset, true);
+	}
+
+	/**
+	 * Writes the index footer with the given offsets at the given position
+	 *
+	 * @param channel
+	 *            the file channel
+	 * @param position
+	 *            the position of the footer
+	 * @param offsets
+	 *            the offsets of the records
+	 * @param count
+	 *            the number of records
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	static void writeFooter(final FileChannel channel, long position, final long[] offsets,
+		final int count) throws IOException
+	{
+		final ByteBuffer footer = ByteBuffer
+			.allocate(Integer.BYTES + Integer.BYTES + count * Long.BYTES + TRAILER_SIZE);
+		footer.putInt(INDEX_MARKER).putInt(count);
+		footer.asLongBuffer().put(offsets, 0, count);
+		footer.position(footer.position() + count * Long.BYTES);
+		footer.putLong(position).putInt(TRAILER_MAGIC).flip();
+		while (footer.hasRemaining())
+		{
+			position += channel.write(footer, position);
+		}
+	}
+
+	/**
+	 * Reads the given number of bytes at the given position
+	 *
+	 * @param channel
+	 *            the file channel
+	 * @param position
+	 *            the position to read from
+	 * @param length
+	 *            the number of bytes to read
+	 * @return the heap buffer with the read bytes that is ready to get
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred or the end of the file is reached
+	 */
+	static ByteBuffer read(final FileChannel channel, final long position, final int length)
+		throws IOException
+	{
+		final ByteBuffer buffer = ByteBuffer.allocate(length);
+		readFully(channel, buffer, position);
+		return buffer.flip();
+	}
+
+	private static void readFully(final FileChannel channel, final ByteBuffer buffer,
+		long position) throws IOException
+	{
+		while (buffer.hasRemaining())
+		{
+			final int read = channel.read(buffer, position);
+			if (read < 0)
+			{
+				throw new EOFException("Unexpected end of record file");
+			}
+			position += read;
+		}
+	}
+
+}
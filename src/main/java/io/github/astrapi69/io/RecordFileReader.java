@@ -0,0 +1,217 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import io.github.astrapi69.io.codec.JavaSerializationCodec;
+import io.github.astrapi69.io.codec.SerializationCodec;
+
+/**
+ * The class {@link RecordFileReader} reads the records of a record file that a
+ * {@link RecordFileWriter} has written. The offsets of the records are taken from the index footer
+ * or if the writer was not closed from a scan of the length prefixes, the records are read only
+ * when they are requested. The records are read with positional reads, so one reader can be used
+ * from several threads and {@link #records()} can be processed in parallel
+ */
+public final class RecordFileReader implements Closeable
+{
+
+	/** The file channel */
+	private final FileChannel channel;
+
+	/** The codec of the records */
+	private final SerializationCodec codec;
+
+	/** The offsets of the records */
+	private final RecordFileFormat.Index index;
+
+	/**
+	 * Instantiates a new {@link RecordFileReader} with the {@link JavaSerializationCodec}
+	 *
+	 * @param path
+	 *            the {@link Path} object of the record file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred or the file is no record file
+	 */
+	public RecordFileReader(final Path path) throws IOException
+	{
+		this(path, new JavaSerializationCodec());
+	}
+
+	/**
+	 * Instantiates a new {@link RecordFileReader}
+	 *
+	 * @param path
+	 *            the {@link Path} object of the record file
+	 * @param codec
+	 *            the codec that has serialized the records
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred or the file is no record file of the
+	 *             given codec
+	 */
+	public RecordFileReader(final Path path, final SerializationCodec codec) throws IOException
+	{
+		this.codec = Objects.requireNonNull(codec, "codec");
+		this.channel = FileChannel.open(path, StandardOpenOption.READ);
+		try
+		{
+			final long start = RecordFileFormat.readHeader(channel, codec.getName());
+			this.index = RecordFileFormat.readIndex(channel, start);
+		}
+		catch (IOException | RuntimeException exception)
+		{
+			channel.close();
+			throw exception;
+		}
+	}
+
+	/**
+	 * Gets the number of records
+	 *
+	 * @return the number of records
+	 */
+	public long size()
+	{
+		return index.count;
+	}
+
+	/**
+	 * Checks if the offsets of the records were read from an index footer
+	 *
+	 * @return true if the file has an index footer otherwise false
+	 */
+	public boolean isIndexed()
+	{
+		return index.footer;
+	}
+
+	/**
+	 * Reads the record with the given index
+	 *
+	 * @param recordIndex
+	 *            the index of the record
+	 * @return the deserialized record
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws ClassNotFoundException
+	 *             is thrown when a class of the read object is not found
+	 * @throws IndexOutOfBoundsException
+	 *             if the index is negative or not less than {@link #size()}
+	 */
+	public Object read(final long recordIndex) throws IOException, ClassNotFoundException
+	{
+		Objects.checkIndex(recordIndex, (long)index.count);
+		final long offset = index.offsets[(int)recordIndex];
+		final int length = RecordFileFormat.read(channel, offset, Integer.BYTES).getInt();
+		if (length < 0)
+		{
+			throw new StreamCorruptedException("Invalid record length: " + length);
+		}
+		final ByteBuffer record = RecordFileFormat.read(channel, offset + Integer.BYTES, length);
+		return codec.read(new ByteArrayInputStream(record.array(), 0, length));
+	}
+
+	/**
+	 * Gets a lazy {@link Iterator} over all records. I/O errors are thrown as
+	 * {@link UncheckedIOException} and a missing class as {@link IllegalStateException}
+	 *
+	 * @return the iterator
+	 */
+	public Iterator<Object> iterator()
+	{
+		return new Iterator<>()
+		{
+			private int next;
+
+			@Override
+			public boolean hasNext()
+			{
+				return next < index.count;
+			}
+
+			@Override
+			public Object next()
+			{
+				if (!hasNext())
+				{
+					throw new NoSuchElementException();
+				}
+				return readUnchecked(next++);
+			}
+		};
+	}
+
+	/**
+	 * Gets a lazy sequential {@link Stream} over all records that can be made parallel with
+	 * {@link Stream#parallel()}. I/O errors are thrown as {@link UncheckedIOException} and a
+	 * missing class as {@link IllegalStateException}
+	 *
+	 * @return the stream
+	 */
+	public Stream<Object> records()
+	{
+		return IntStream.range(0, index.count).mapToObj(this::readUnchecked);
+	}
+
+	private Object readUnchecked(final int recordIndex)
+	{
+		try
+		{
+			return read(recordIndex);
+		}
+		catch (IOException exception)
+		{
+			throw new UncheckedIOException(exception);
+		}
+		catch (ClassNotFoundException exception)
+		{
+			throw new IllegalStateException(exception);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		channel.close();
+	}
+
+}
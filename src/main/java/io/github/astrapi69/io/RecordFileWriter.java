@@ -0,0 +1,240 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+import io.github.astrapi69.io.codec.JavaSerializationCodec;
+import io.github.astrapi69.io.codec.SerializationCodec;
+
+/**
+ * The class {@link RecordFileWriter} appends independently serialized objects as length prefixed
+ * records to a record file, so a {@link RecordFileReader} can read them lazily one by one or by
+ * their index. On close an index footer with the offsets of the records is written that allows
+ * random access without a scan of the file.<br>
+ * If the file exists already the writer continues after the last complete record, an existing
+ * index footer and a record that was not written completely are removed and the footer is written
+ * again on close.<br>
+ * Note: this class is not thread safe
+ */
+public final class RecordFileWriter implements Closeable, Flushable
+{
+
+	/** The buffer size of the output stream */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/** The file channel */
+	private final FileChannel channel;
+
+	/** The buffered output stream on the channel */
+	private final DataOutputStream outputStream;
+
+	/** The codec of the records */
+	private final SerializationCodec codec;
+
+	/** The flag if the index footer is written on close */
+	private final boolean writeIndex;
+
+	/** The reused buffer for the serialized records */
+	private final SegmentedByteArrayOutputStream recordBuffer;
+
+	/** The offsets of the written records */
+	private final RecordFileFormat.Index index;
+
+	/** The offset of the next record */
+	private long position;
+
+	/** The flag if this writer is closed */
+	private boolean closed;
+
+	/**
+	 * Instantiates a new {@link RecordFileWriter} with the {@link JavaSerializationCodec} that
+	 * writes an index footer on close
+	 *
+	 * @param path
+	 *            the {@link Path} object of the record file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public RecordFileWriter(final Path path) throws IOException
+	{
+		this(path, new JavaSerializationCodec(), true);
+	}
+
+	/**
+	 * Instantiates a new {@link RecordFileWriter}
+	 *
+	 * @param path
+	 *            the {@link Path} object of the record file
+	 * @param codec
+	 *            the codec that serializes the records
+	 * @param writeIndex
+	 *            the flag if the index footer is written on close
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred or the existing file is no record
+	 *             file of the given codec
+	 */
+	public RecordFileWriter(final Path path, final SerializationCodec codec,
+		final boolean writeIndex) throws IOException
+	{
+		this.codec = Objects.requireNonNull(codec, "codec");
+		this.writeIndex = writeIndex;
+		this.recordBuffer = new SegmentedByteArrayOutputStream();
+		this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+			StandardOpenOption.WRITE);
+		try
+		{
+			if (channel.size() == 0)
+			{
+				final long start = RecordFileFormat.writeHeader(channel, codec.getName());
+				index = new RecordFileFormat.Index(new long[16], 0, start, false);
+			}
+			else
+			{
+				final long start = RecordFileFormat.readHeader(channel, codec.getName());
+				index = RecordFileFormat.readIndex(channel, start);
+				channel.truncate(index.end);
+			}
+		}
+		catch (IOException | RuntimeException exception)
+		{
+			channel.close();
+			throw exception;
+		}
+		this.position = index.end;
+		channel.position(position);
+		this.outputStream = new DataOutputStream(
+			new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+	}
+
+	/**
+	 * Appends the given object as record
+	 *
+	 * @param object
+	 *            the object to append
+	 * @return the index of the record
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public long append(final Object object) throws IOException
+	{
+		if (closed)
+		{
+			throw new IOException("Writer is closed");
+		}
+		if (index.count == RecordFileFormat.MAX_RECORDS)
+		{
+			throw new IOException("Record file contains the maximum number of records");
+		}
+		recordBuffer.reset();
+		codec.write(object, recordBuffer);
+		final long size = recordBuffer.size();
+		if (Integer.MAX_VALUE < size)
+		{
+			throw new IOException("Record of " + size + " bytes is too large");
+		}
+		outputStream.writeInt((int)size);
+		recordBuffer.writeTo(outputStream);
+		index.add(position);
+		position += Integer.BYTES + size;
+		return index.count - 1;
+	}
+
+	/**
+	 * Appends all objects of the given {@link Iterable} as records
+	 *
+	 * @param objects
+	 *            the objects to append
+	 * @return the number of appended records
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public long appendAll(final Iterable<?> objects) throws IOException
+	{
+		long appended = 0;
+		for (final Object object : objects)
+		{
+			append(object);
+			appended++;
+		}
+		return appended;
+	}
+
+	/**
+	 * Gets the number of records in the file
+	 *
+	 * @return the number of records
+	 */
+	public long size()
+	{
+		return index.count;
+	}
+
+	/**
+	 * Writes the buffered records to the file
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Override
+	public void flush() throws IOException
+	{
+		outputStream.flush();
+	}
+
+	/**
+	 * Writes the buffered records and the index footer if enabled and closes the file
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		if (closed)
+		{
+			return;
+		}
+		closed = true;
+		try (FileChannel fileChannel = channel)
+		{
+			outputStream.flush();
+			if (writeIndex)
+			{
+				RecordFileFormat.writeFooter(fileChannel, position, index.offsets, index.count);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,164 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The class {@link ResolvingObjectInputStream} is an {@link ObjectInputStream} that resolves the
+ * classes of the class descriptors with a {@link ClassResolver}, for instance a
+ * {@link CachingClassResolver}, instead of a lookup of the class loader for every descriptor. With
+ * a {@link ClassAllowList} every class name is checked before the class is resolved and the allow
+ * list is set as {@link java.io.ObjectInputFilter} of the stream. The interfaces of a proxy class
+ * are checked and resolved in the same way
+ */
+public class ResolvingObjectInputStream extends ObjectInputStream
+{
+
+	/** The primitive types that are resolved without class loader */
+	private static final Map<String, Class<?>> PRIMITIVE_TYPES = Map.of("boolean", boolean.class,
+		"byte", byte.class, "char", char.class, "short", short.class, "int", int.class, "long",
+		long.class, "float", float.class, "double", double.class, "void", void.class);
+
+	/** The invocation handler of the proxy instances that are only created for their class */
+	private static final InvocationHandler NO_INVOCATION = (proxy, method, arguments) -> {
+		throw new UnsupportedOperationException();
+	};
+
+	/** The class resolver */
+	private final ClassResolver classResolver;
+
+	/** The allow list or null if all classes are allowed */
+	private final ClassAllowList allowList;
+
+	/**
+	 * Instantiates a new {@link ResolvingObjectInputStream} that allows all classes
+	 *
+	 * @param inputStream
+	 *            the input stream to read from
+	 * @param classResolver
+	 *            the class resolver
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public ResolvingObjectInputStream(final InputStream inputStream,
+		final ClassResolver classResolver) throws IOException
+	{
+		this(inputStream, classResolver, null);
+	}
+
+	/**
+	 * Instantiates a new {@link ResolvingObjectInputStream}
+	 *
+	 * @param inputStream
+	 *            the input stream to read from
+	 * @param classResolver
+	 *            the class resolver
+	 * @param allowList
+	 *            the allow list of the classes or null if all classes are allowed
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public ResolvingObjectInputStream(final InputStream inputStream,
+		final ClassResolver classResolver, final ClassAllowList allowList) throws IOException
+	{
+		super(inputStream);
+		this.classResolver = Objects.requireNonNull(classResolver,
+			"ClassResolver must not be null");
+		this.allowList = allowList;
+		if (allowList != null)
+		{
+			setObjectInputFilter(allowList);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected Class<?> resolveClass(final ObjectStreamClass descriptor)
+		throws IOException, ClassNotFoundException
+	{
+		final String name = descriptor.getName();
+		final Class<?> primitiveType = PRIMITIVE_TYPES.get(name);
+		if (primitiveType != null)
+		{
+			return primitiveType;
+		}
+		if (allowList != null && !allowList.isAllowed(name))
+		{
+			throw new InvalidClassException(name, "Class is not allowed");
+		}
+		return classResolver.resolve(name);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected Class<?> resolveProxyClass(final String[] interfaces)
+		throws IOException, ClassNotFoundException
+	{
+		final Class<?>[] classes = new Class<?>[interfaces.length];
+		ClassLoader classLoader = null;
+		boolean hasNonPublicInterface = false;
+		for (int i = 0; i < interfaces.length; i++)
+		{
+			if (allowList != null && !allowList.isAllowed(interfaces[i]))
+			{
+				throw new InvalidClassException(interfaces[i], "Interface is not allowed");
+			}
+			classes[i] = classResolver.resolve(interfaces[i]);
+			if (!Modifier.isPublic(classes[i].getModifiers()))
+			{
+				// a non public interface can only be implemented in the class loader of it
+				classLoader = classes[i].getClassLoader();
+				hasNonPublicInterface = true;
+			}
+			else if (!hasNonPublicInterface && classLoader == null)
+			{
+				classLoader = classes[i].getClassLoader();
+			}
+		}
+		try
+		{
+			return Proxy.newProxyInstance(classLoader, classes, NO_INVOCATION).getClass();
+		}
+		catch (IllegalArgumentException exception)
+		{
+			throw new ClassNotFoundException(null, exception);
+		}
+	}
+
+}
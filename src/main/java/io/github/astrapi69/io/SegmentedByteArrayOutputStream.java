@@ -0,0 +1,374 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The class {@link SegmentedByteArrayOutputStream} is an unsynchronized replacement of the
+ * {@link java.io.ByteArrayOutputStream} that keeps the written bytes in a list of chunks. On
+ * growth a new chunk is appended, so the written bytes are never copied. The chunks grow with the
+ * size of the content up to a maximum chunk size, and {@link #reset()} keeps the allocated chunks
+ * for the next use. The content can be read as {@link InputStream} or as {@link ByteBuffer} views
+ * on the chunks without copying
+ */
+public class SegmentedByteArrayOutputStream extends OutputStream
+{
+
+	/** The default size of the first chunk */
+	public static final int DEFAULT_INITIAL_CHUNK_SIZE = 1024;
+
+	/** The maximum size of a chunk, 1 MiB */
+	public static final int MAX_CHUNK_SIZE = 1048576;
+
+	/** The size of the buffer for an encoded char that is split over the border of two chunks */
+	private static final int ENCODE_BORDER_SIZE = 16;
+
+	/** The allocated chunks, the chunks after the current chunk are free for reuse */
+	private final List<byte[]> chunks = new ArrayList<>();
+
+	/** The index of the current chunk */
+	private int chunkIndex;
+
+	/** The current chunk */
+	private byte[] current;
+
+	/** The position in the current chunk */
+	private int position;
+
+	/** The number of bytes in the chunks before the current chunk */
+	private long filledBefore;
+
+	/**
+	 * Instantiates a new {@link SegmentedByteArrayOutputStream} with the default initial chunk size
+	 */
+	public SegmentedByteArrayOutputStream()
+	{
+		this(DEFAULT_INITIAL_CHUNK_SIZE);
+	}
+
+	/**
+	 * Instantiates a new {@link SegmentedByteArrayOutputStream}
+	 *
+	 * @param initialChunkSize
+	 *            the size of the first chunk, larger values than {@link #MAX_CHUNK_SIZE} are
+	 *            reduced to it
+	 */
+	public SegmentedByteArrayOutputStream(final int initialChunkSize)
+	{
+		if (initialChunkSize < 1)
+		{
+			throw new IllegalArgumentException(
+				"Initial chunk size must be positive: " + initialChunkSize);
+		}
+		current = new byte[Math.min(initialChunkSize, MAX_CHUNK_SIZE)];
+		chunks.add(current);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(final int b)
+	{
+		if (position == current.length)
+		{
+			nextChunk();
+		}
+		current[position++] = (byte)b;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(final byte[] b, int off, int len)
+	{
+		Objects.checkFromIndexSize(off, len, b.length);
+		while (0 < len)
+		{
+			if (position == current.length)
+			{
+				nextChunk();
+			}
+			final int length = Math.min(len, current.length - position);
+			System.arraycopy(b, off, current, position, length);
+			position += length;
+			off += length;
+			len -= length;
+		}
+	}
+
+	/**
+	 * Encodes the given chars with the given encoder directly into the chunks. The encoder is
+	 * reset before it is used
+	 *
+	 * @param value
+	 *            the chars to encode
+	 * @param encoder
+	 *            the encoder
+	 * @throws CharacterCodingException
+	 *             if the encoder reports a coding error that is not replaced
+	 */
+	public void write(final CharSequence value, final CharsetEncoder encoder)
+		throws CharacterCodingException
+	{
+		final CharBuffer in = CharBuffer.wrap(value);
+		encoder.reset();
+		boolean flushing = false;
+		while (true)
+		{
+			final ByteBuffer out = ByteBuffer.wrap(current, position, current.length - position);
+			CoderResult result = flushing ? encoder.flush(out) : encoder.encode(in, out, true);
+			position = out.position();
+			if (result.isOverflow() && position < current.length)
+			{
+				// the next char does not fit in the rest of the chunk and is split over the border
+				final ByteBuffer border = ByteBuffer.allocate(ENCODE_BORDER_SIZE);
+				result = flushing ? encoder.flush(border) : encoder.encode(in, border, true);
+				write(border.array(), 0, border.position());
+			}
+			else if (result.isOverflow())
+			{
+				nextChunk();
+			}
+			if (result.isUnderflow())
+			{
+				if (flushing)
+				{
+					return;
+				}
+				flushing = true;
+			}
+			else if (result.isError())
+			{
+				result.throwException();
+			}
+		}
+	}
+
+	/**
+	 * Reads all bytes from the given input stream into this stream. The bytes are read directly
+	 * into the chunks without an intermediate buffer
+	 *
+	 * @param inputStream
+	 *            the input stream to read from
+	 * @return the number of read bytes
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public long write(final InputStream inputStream) throws IOException
+	{
+		long count = 0;
+		while (true)
+		{
+			if (position == current.length)
+			{
+				// probe for the end of the stream before a new chunk is allocated
+				final int b = inputStream.read();
+				if (b == -1)
+				{
+					return count;
+				}
+				nextChunk();
+				current[position++] = (byte)b;
+				count++;
+			}
+			final int read = inputStream.read(current, position, current.length - position);
+			if (read == -1)
+			{
+				return count;
+			}
+			position += read;
+			count += read;
+		}
+	}
+
+	/**
+	 * Gets the number of written bytes
+	 *
+	 * @return the number of written bytes
+	 */
+	public long size()
+	{
+		return filledBefore + position;
+	}
+
+	/**
+	 * Discards the written bytes. The allocated chunks are kept and reused
+	 */
+	public void reset()
+	{
+		chunkIndex = 0;
+		current = chunks.get(0);
+		position = 0;
+		filledBefore = 0;
+	}
+
+	/**
+	 * Writes the content of this stream to the given output stream with one write call per chunk
+	 *
+	 * @param outputStream
+	 *            the output stream to write to
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public void writeTo(final OutputStream outputStream) throws IOException
+	{
+		for (int i = 0; i < chunkIndex; i++)
+		{
+			final byte[] chunk = chunks.get(i);
+			outputStream.write(chunk, 0, chunk.length);
+		}
+		outputStream.write(current, 0, position);
+	}
+
+	/**
+	 * Copies the content of this stream to a new byte array
+	 *
+	 * @return the byte array with the content
+	 * @throws IllegalStateException
+	 *             if the content is larger than the maximum size of an array
+	 */
+	public byte[] toByteArray()
+	{
+		final long size = size();
+		if (Integer.MAX_VALUE - 8 < size)
+		{
+			throw new IllegalStateException(
+				"Content of " + size + " bytes does not fit in a byte array");
+		}
+		final byte[] bytes = new byte[(int)size];
+		int offset = 0;
+		for (int i = 0; i < chunkIndex; i++)
+		{
+			final byte[] chunk = chunks.get(i);
+			System.arraycopy(chunk, 0, bytes, offset, chunk.length);
+			offset += chunk.length;
+		}
+		System.arraycopy(current, 0, bytes, offset, position);
+		return bytes;
+	}
+
+	/**
+	 * Decodes the content with the given charset directly from the chunks without joining them
+	 * first. Malformed and unmappable input is replaced like in {@link String#String(byte[],
+	 * Charset)}
+	 *
+	 * @param charset
+	 *            the charset
+	 * @return the decoded content
+	 */
+	public String toString(final Charset charset)
+	{
+		if (chunkIndex == 0)
+		{
+			return new String(current, 0, position, charset);
+		}
+		try
+		{
+			return StreamExtensions.decode(toByteBuffers(), size(), charset);
+		}
+		catch (CharacterCodingException exception)
+		{
+			// the decoder replaces malformed and unmappable input
+			throw new IllegalStateException(exception);
+		}
+	}
+
+	/**
+	 * Gets an {@link InputStream} over the current content without copying it. The returned
+	 * stream sees the content of the time of this call, it must not be used after a call of
+	 * {@link #reset()}
+	 *
+	 * @return the input stream over the content
+	 */
+	public InputStream toInputStream()
+	{
+		if (chunkIndex == 0)
+		{
+			return new ByteArrayInputStream(current, 0, position);
+		}
+		final List<InputStream> inputStreams = new ArrayList<>(chunkIndex + 1);
+		for (int i = 0; i < chunkIndex; i++)
+		{
+			inputStreams.add(new ByteArrayInputStream(chunks.get(i)));
+		}
+		inputStreams.add(new ByteArrayInputStream(current, 0, position));
+		return new SequenceInputStream(Collections.enumeration(inputStreams));
+	}
+
+	/**
+	 * Gets read only {@link ByteBuffer} views on the chunks with the current content without
+	 * copying it. The returned buffers must not be used after a call of {@link #reset()}
+	 *
+	 * @return the list of buffers in the order of the content
+	 */
+	public List<ByteBuffer> toByteBuffers()
+	{
+		final List<ByteBuffer> byteBuffers = new ArrayList<>(chunkIndex + 1);
+		for (int i = 0; i < chunkIndex; i++)
+		{
+			byteBuffers.add(ByteBuffer.wrap(chunks.get(i)).asReadOnlyBuffer());
+		}
+		byteBuffers.add(ByteBuffer.wrap(current, 0, position).slice().asReadOnlyBuffer());
+		return byteBuffers;
+	}
+
+	/**
+	 * Moves to the next chunk, allocates a new one if no free chunk is left
+	 */
+	private void nextChunk()
+	{
+		filledBefore += current.length;
+		chunkIndex++;
+		if (chunkIndex < chunks.size())
+		{
+			current = chunks.get(chunkIndex);
+		}
+		else
+		{
+			final long size = Math.max(filledBefore, current.length);
+			current = new byte[(int)Math.min(size, MAX_CHUNK_SIZE)];
+			chunks.add(current);
+		}
+		position = 0;
+	}
+
+}
@@ -0,0 +1,98 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+/**
+ * The interface {@link SerializationMetrics} is the instrumentation hook of {@link Serializer}.
+ * The default hook {@link #NOOP} measures nothing and the methods of {@link Serializer} skip the
+ * measurement completely while it is set. A recording implementation is the
+ * {@link SerializationMetricsRecorder}
+ */
+public interface SerializationMetrics
+{
+
+	/** The hook that measures and records nothing */
+	SerializationMetrics NOOP = new SerializationMetrics()
+	{
+		@Override
+		public void recordEncode(final Class<?> type, final long size, final long elapsedNanos,
+			final long allocatedBytes)
+		{
+		}
+
+		@Override
+		public void recordDecode(final Class<?> type, final long size, final long elapsedNanos,
+			final long allocatedBytes)
+		{
+		}
+
+		@Override
+		public String toString()
+		{
+			return "SerializationMetrics.NOOP";
+		}
+	};
+
+	/**
+	 * Gets the number of bytes that the current thread has allocated so far. The difference of two
+	 * calls is passed as allocated bytes to the record methods. The default implementation does
+	 * not measure allocations and returns 0
+	 *
+	 * @return the number of allocated bytes of the current thread or 0 if unknown
+	 */
+	default long currentThreadAllocatedBytes()
+	{
+		return 0;
+	}
+
+	/**
+	 * Records the serialization of an object
+	 *
+	 * @param type
+	 *            the class of the serialized object or null for null
+	 * @param size
+	 *            the size of the serialized form in bytes, also for base64 strings
+	 * @param elapsedNanos
+	 *            the elapsed time in nanoseconds
+	 * @param allocatedBytes
+	 *            the number of allocated bytes or 0 if unknown
+	 */
+	void recordEncode(Class<?> type, long size, long elapsedNanos, long allocatedBytes);
+
+	/**
+	 * Records the deserialization of an object
+	 *
+	 * @param type
+	 *            the class of the deserialized object or null for null
+	 * @param size
+	 *            the size of the serialized form in bytes, also for base64 strings
+	 * @param elapsedNanos
+	 *            the elapsed time in nanoseconds
+	 * @param allocatedBytes
+	 *            the number of allocated bytes or 0 if unknown
+	 */
+	void recordDecode(Class<?> type, long size, long elapsedNanos, long allocatedBytes);
+
+}
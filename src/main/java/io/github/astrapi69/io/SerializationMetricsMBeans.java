@@ -0,0 +1,77 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * The class {@link SerializationMetricsMBeans} registers a {@link SerializationMetricsRecorder} as
+ * MXBean at the platform MBean server. Only this class uses the JMX types, so the module
+ * java.management is only needed by applications that register a recorder
+ */
+public final class SerializationMetricsMBeans
+{
+
+	/** The object name of the registered MXBean */
+	public static final String OBJECT_NAME = "io.github.astrapi69.io:type=SerializationMetrics";
+
+	private SerializationMetricsMBeans()
+	{
+	}
+
+	/**
+	 * Registers the given recorder as MXBean with the name {@link #OBJECT_NAME} at the platform
+	 * MBean server
+	 *
+	 * @param recorder
+	 *            the recorder to register
+	 * @return the object name of the registered MXBean
+	 * @throws JMException
+	 *             if the MXBean can not be registered, for instance if another recorder is already
+	 *             registered
+	 */
+	public static ObjectName register(final SerializationMetricsRecorder recorder)
+		throws JMException
+	{
+		final ObjectName objectName = new ObjectName(OBJECT_NAME);
+		ManagementFactory.getPlatformMBeanServer().registerMBean(recorder, objectName);
+		return objectName;
+	}
+
+	/**
+	 * Unregisters the MXBean with the name {@link #OBJECT_NAME} from the platform MBean server
+	 *
+	 * @throws JMException
+	 *             if the MXBean can not be unregistered, for instance if it is not registered
+	 */
+	public static void unregister() throws JMException
+	{
+		ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(OBJECT_NAME));
+	}
+
+}
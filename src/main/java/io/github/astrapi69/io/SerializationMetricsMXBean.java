@@ -0,0 +1,69 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.util.List;
+
+/**
+ * The management interface of the {@link SerializationMetricsRecorder} that is registered with
+ * {@link SerializationMetricsMBeans#register(SerializationMetricsRecorder)}
+ */
+public interface SerializationMetricsMXBean
+{
+
+	/**
+	 * Gets the snapshots of the metrics of all recorded types
+	 *
+	 * @return the snapshots ordered by the type name
+	 */
+	List<TypeMetrics> getTypeMetrics();
+
+	/**
+	 * Gets the number of all recorded encodings
+	 *
+	 * @return the number of encodings
+	 */
+	long getEncodeCount();
+
+	/**
+	 * Gets the number of all recorded decodings
+	 *
+	 * @return the number of decodings
+	 */
+	long getDecodeCount();
+
+	/**
+	 * Checks if the allocated bytes are measured
+	 *
+	 * @return true if the allocated bytes are measured otherwise false
+	 */
+	boolean isAllocationMeasured();
+
+	/**
+	 * Removes all recorded metrics
+	 */
+	void reset();
+
+}
@@ -0,0 +1,241 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The class {@link SerializationMetricsRecorder} records the serialization metrics per type in
+ * histograms of the sizes and of the encode and decode latencies and sums up the allocated bytes
+ * of the current thread if the JVM supports it. The metrics are readable as {@link TypeMetrics}
+ * snapshots or over JMX after the registration with {@link SerializationMetricsMBeans}. Install
+ * the recorder with {@link Serializer#setMetrics(SerializationMetrics)}.<br>
+ * The types are kept by name, so the recorder does not prevent the unloading of classes. This
+ * class is thread safe
+ */
+public final class SerializationMetricsRecorder
+	implements
+		SerializationMetrics,
+		SerializationMetricsMXBean
+{
+
+	/** The type name of null objects */
+	private static final String NULL_TYPE_NAME = "null";
+
+	/** The thread bean that measures the allocated bytes or null if not supported */
+	private final com.sun.management.ThreadMXBean allocationBean;
+
+	/** The metrics of the recorded types */
+	private final Map<String, TypeStats> types = new ConcurrentHashMap<>();
+
+	/** The number of all recorded encodings */
+	private final LongAdder encodeCount = new LongAdder();
+
+	/** The number of all recorded decodings */
+	private final LongAdder decodeCount = new LongAdder();
+
+	/**
+	 * Instantiates a new {@link SerializationMetricsRecorder} that measures the allocated bytes if
+	 * the JVM supports it
+	 */
+	public SerializationMetricsRecorder()
+	{
+		this(true);
+	}
+
+	/**
+	 * Instantiates a new {@link SerializationMetricsRecorder}
+	 *
+	 * @param measureAllocations
+	 *            the flag if the allocated bytes are measured if the JVM supports it
+	 */
+	public SerializationMetricsRecorder(final boolean measureAllocations)
+	{
+		this.allocationBean = measureAllocations ? newAllocationBean() : null;
+	}
+
+	private static com.sun.management.ThreadMXBean newAllocationBean()
+	{
+		try
+		{
+			final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+			if (threadBean instanceof com.sun.management.ThreadMXBean)
+			{
+				final com.sun.management.ThreadMXBean bean;
+				bean = (com.sun.management.ThreadMXBean)threadBean;
+				if (bean.isThreadAllocatedMemorySupported()
+					&& bean.isThreadAllocatedMemoryEnabled())
+				{
+					return bean;
+				}
+			}
+		}
+		catch (LinkageError | UnsupportedOperationException error)
+		{
+			// the module jdk.management is not available
+		}
+		return null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long currentThreadAllocatedBytes()
+	{
+		return allocationBean != null ? allocationBean.getCurrentThreadAllocatedBytes() : 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void recordEncode(final Class<?> type, final long size, final long elapsedNanos,
+		final long allocatedBytes)
+	{
+		final TypeStats stats = stats(type);
+		stats.sizes.record(size);
+		stats.encodeLatencies.record(elapsedNanos);
+		stats.encodeAllocatedBytes.add(allocatedBytes);
+		encodeCount.increment();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void recordDecode(final Class<?> type, final long size, final long elapsedNanos,
+		final long allocatedBytes)
+	{
+		final TypeStats stats = stats(type);
+		stats.sizes.record(size);
+		stats.decodeLatencies.record(elapsedNanos);
+		stats.decodeAllocatedBytes.add(allocatedBytes);
+		decodeCount.increment();
+	}
+
+	private TypeStats stats(final Class<?> type)
+	{
+		final String typeName = type != null ? type.getName() : NULL_TYPE_NAME;
+		final TypeStats stats = types.get(typeName);
+		return stats != null ? stats : types.computeIfAbsent(typeName, name -> new TypeStats());
+	}
+
+	/**
+	 * Gets the snapshot of the metrics of the given type
+	 *
+	 * @param type
+	 *            the type or null for null objects
+	 * @return the snapshot or null if nothing was recorded for the given type
+	 */
+	public TypeMetrics getTypeMetrics(final Class<?> type)
+	{
+		final String typeName = type != null ? type.getName() : NULL_TYPE_NAME;
+		final TypeStats stats = types.get(typeName);
+		return stats != null ? stats.toTypeMetrics(typeName) : null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<TypeMetrics> getTypeMetrics()
+	{
+		final List<TypeMetrics> snapshots = new ArrayList<>(types.size());
+		types.forEach((typeName, stats) -> snapshots.add(stats.toTypeMetrics(typeName)));
+		snapshots.sort(Comparator.comparing(TypeMetrics::getTypeName));
+		return snapshots;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getEncodeCount()
+	{
+		return encodeCount.sum();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getDecodeCount()
+	{
+		return decodeCount.sum();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isAllocationMeasured()
+	{
+		return allocationBean != null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void reset()
+	{
+		types.clear();
+		encodeCount.reset();
+		decodeCount.reset();
+	}
+
+	/**
+	 * The recorded metrics of one type
+	 */
+	private static final class TypeStats
+	{
+
+		final Histogram sizes = new Histogram();
+
+		final Histogram encodeLatencies = new Histogram();
+
+		final Histogram decodeLatencies = new Histogram();
+
+		final LongAdder encodeAllocatedBytes = new LongAdder();
+
+		final LongAdder decodeAllocatedBytes = new LongAdder();
+
+		TypeMetrics toTypeMetrics(final String typeName)
+		{
+			return new TypeMetrics(typeName, sizes, encodeLatencies, decodeLatencies,
+				encodeAllocatedBytes.sum(), decodeAllocatedBytes.sum());
+		}
+
+	}
+
+}
@@ -24,16 +24,32 @@
  */
 package io.github.astrapi69.io;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Reader;
 import java.io.Serializable;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.util.Base64;
+import java.util.Objects;
+
+import io.github.astrapi69.io.annotation.ClassloaderExtensions;
+import io.github.astrapi69.io.codec.JavaSerializationCodec;
+import io.github.astrapi69.io.codec.SerializationCodec;
 
 /**
  * Helper-class for read from and write to serialized objects
@@ -43,10 +59,43 @@ import java.util.Base64;
  */
 public final class SerializedObjectExtensions
 {
+
+	/** The buffer size of the file streams */
+	private static final int SESSION_BUFFER_SIZE = 64 * 1024;
+
+	/** The initial capacity of the builder of a base64 encoded string */
+	private static final int BASE64_INITIAL_CAPACITY = 256;
+
+	/** The codec for the methods without a codec parameter */
+	private static volatile SerializationCodec defaultCodec = new JavaSerializationCodec();
+
 	private SerializedObjectExtensions()
 	{
 	}
 
+	/**
+	 * Gets the codec that is used from the methods without a codec parameter. The initial codec is
+	 * the {@link JavaSerializationCodec}
+	 *
+	 * @return the default codec
+	 */
+	public static SerializationCodec getDefaultCodec()
+	{
+		return defaultCodec;
+	}
+
+	/**
+	 * Sets the codec that is used from the methods without a codec parameter. Data that was written
+	 * with another codec can not be read with the new default codec
+	 *
+	 * @param codec
+	 *            the new default codec
+	 */
+	public static void setDefaultCodec(final SerializationCodec codec)
+	{
+		defaultCodec = Objects.requireNonNull(codec, "codec");
+	}
+
 	/**
 	 * Reads the object from the given file
 	 *
@@ -62,13 +111,11 @@ public final class SerializedObjectExtensions
 	public static Object readSerializedObjectFromFile(final File file)
 		throws IOException, ClassNotFoundException
 	{
-		Object object;
-		try (FileInputStream fis = new FileInputStream(file);
-			ObjectInputStream in = new ObjectInputStream(fis))
+		try (InputStream inputStream = new BufferedInputStream(new FileInputStream(file),
+			SESSION_BUFFER_SIZE); ObjectInputStream in = new ObjectInputStream(inputStream))
 		{
-			object = in.readObject();
+			return in.readObject();
 		}
-		return object;
 	}
 
 	/**
@@ -84,12 +131,24 @@ public final class SerializedObjectExtensions
 	 */
 	public static <T extends Serializable> byte[] toByteArray(final T object) throws IOException
 	{
-		try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(1024);
-			ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream))
-		{
-			objectOutputStream.writeObject(object);
-			return byteArrayOutputStream.toByteArray();
-		}
+		return toByteArray(object, defaultCodec);
+	}
+
+	/**
+	 * Copies(serialize) the given object to a byte array with the given codec
+	 *
+	 * @param object
+	 *            The Object to convert into a byte array
+	 * @param codec
+	 *            the codec that converts the object
+	 * @return The byte array from the Object
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static byte[] toByteArray(final Object object, final SerializationCodec codec)
+		throws IOException
+	{
+		return codec.toByteArray(object);
 	}
 
 	/**
@@ -106,7 +165,32 @@ public final class SerializedObjectExtensions
 	public static <T extends Serializable> String toBase64EncodedString(final T object)
 		throws IOException
 	{
-		return Base64.getEncoder().encodeToString(toByteArray(object));
+		final StringBuilder base64 = new StringBuilder(BASE64_INITIAL_CAPACITY);
+		writeBase64(object, base64);
+		return base64.toString();
+	}
+
+	/**
+	 * Serializes the given object with the default codec as base64 encoded chars to the given
+	 * {@link Appendable}, for instance a {@link java.io.Writer} or a {@link StringBuilder}. The
+	 * object is encoded while it is serialized, so no byte array of the whole serialized object is
+	 * created. The appendable is flushed if it is {@link java.io.Flushable} but not closed
+	 *
+	 * @param object
+	 *            The Object to serialize
+	 * @param appendable
+	 *            the appendable for the base64 encoded chars
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static void writeBase64(final Object object, final Appendable appendable)
+		throws IOException
+	{
+		try (OutputStream outputStream = Base64.getEncoder()
+			.wrap(new AppendableOutputStream(appendable)))
+		{
+			defaultCodec.write(object, outputStream);
+		}
 	}
 
 	/**
@@ -124,7 +208,46 @@ public final class SerializedObjectExtensions
 	public static Object toObject(String base64EncodedString)
 		throws IOException, ClassNotFoundException
 	{
-		return toObject(Base64.getDecoder().decode(base64EncodedString));
+		return readBase64(base64EncodedString);
+	}
+
+	/**
+	 * Deserializes an object with the default codec from the given base64 encoded chars. The chars
+	 * are decoded while the object is deserialized, so no byte array of the whole serialized
+	 * object is created
+	 *
+	 * @param base64
+	 *            the base64 encoded chars
+	 * @return the deserialized object
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred or the chars are no valid base64
+	 * @throws ClassNotFoundException
+	 *             is thrown when a class is not found in the classloader or no definition for the
+	 *             class with the specified name could be found
+	 */
+	public static Object readBase64(final CharSequence base64)
+		throws IOException, ClassNotFoundException
+	{
+		return defaultCodec.read(Base64.getDecoder().wrap(new CharInputStream(base64)));
+	}
+
+	/**
+	 * Deserializes an object with the default codec from the base64 encoded chars of the given
+	 * {@link Reader}. The chars are decoded while the object is deserialized, so no byte array of
+	 * the whole serialized object is created. The reader is not closed
+	 *
+	 * @param reader
+	 *            the reader of the base64 encoded chars
+	 * @return the deserialized object
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred or the chars are no valid base64
+	 * @throws ClassNotFoundException
+	 *             is thrown when a class is not found in the classloader or no definition for the
+	 *             class with the specified name could be found
+	 */
+	public static Object readBase64(final Reader reader) throws IOException, ClassNotFoundException
+	{
+		return defaultCodec.read(Base64.getDecoder().wrap(new CharInputStream(reader)));
 	}
 
 	/**
@@ -141,8 +264,94 @@ public final class SerializedObjectExtensions
 	 */
 	public static Object toObject(final byte[] byteArray) throws IOException, ClassNotFoundException
 	{
-		try (ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(byteArray);
-			ObjectInputStream objectInputStream = new ObjectInputStream(byteArrayInputStream))
+		return toObject(byteArray, defaultCodec);
+	}
+
+	/**
+	 * Converts the given byte array into an Object with the given codec
+	 *
+	 * @param byteArray
+	 *            The byte array to convert into an Object
+	 * @param codec
+	 *            the codec that has written the byte array
+	 * @return The Object the was converted from the byte array
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws ClassNotFoundException
+	 *             is thrown when a class is not found in the classloader or no definition for the
+	 *             class with the specified name could be found
+	 */
+	public static Object toObject(final byte[] byteArray, final SerializationCodec codec)
+		throws IOException, ClassNotFoundException
+	{
+		return codec.toObject(byteArray);
+	}
+
+	/**
+	 * Converts the given byte array into an Object, only the classes of the given allow list are
+	 * loaded. The classes are resolved with the class loader of
+	 * {@link ClassloaderExtensions#getClassLoader()} and not cached over the calls, so no class
+	 * loader is kept alive. For a cache over the calls use
+	 * {@link #toObject(byte[], ClassResolver, ClassAllowList)} with a {@link CachingClassResolver}
+	 * that lives as long as its class loader
+	 *
+	 * @param byteArray
+	 *            The byte array to convert into an Object
+	 * @param allowList
+	 *            the allow list of the classes
+	 * @return The Object the was converted from the byte array
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred or
+	 *             {@link java.io.InvalidClassException} if the byte array contains a class that is
+	 *             not allowed
+	 * @throws ClassNotFoundException
+	 *             is thrown when a class is not found in the classloader or no definition for the
+	 *             class with the specified name could be found
+	 */
+	public static Object toObject(final byte[] byteArray, final ClassAllowList allowList)
+		throws IOException, ClassNotFoundException
+	{
+		return toObject(byteArray, SerializedObjectExtensions::resolveClass, allowList);
+	}
+
+	/**
+	 * Resolves the class with the given name with the class loader of
+	 * {@link ClassloaderExtensions#getClassLoader()}
+	 *
+	 * @param name
+	 *            the binary name of the class
+	 * @return the resolved class
+	 * @throws ClassNotFoundException
+	 *             is thrown when no definition for the class with the specified name could be found
+	 */
+	private static Class<?> resolveClass(final String name) throws ClassNotFoundException
+	{
+		return Class.forName(name, false, ClassloaderExtensions.getClassLoader());
+	}
+
+	/**
+	 * Converts the given byte array into an Object with the given class resolver and allow list
+	 *
+	 * @param byteArray
+	 *            The byte array to convert into an Object
+	 * @param classResolver
+	 *            the class resolver
+	 * @param allowList
+	 *            the allow list of the classes or null if all classes are allowed
+	 * @return The Object the was converted from the byte array
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred or
+	 *             {@link java.io.InvalidClassException} if the byte array contains a class that is
+	 *             not allowed
+	 * @throws ClassNotFoundException
+	 *             is thrown when a class is not found in the classloader or no definition for the
+	 *             class with the specified name could be found
+	 */
+	public static Object toObject(final byte[] byteArray, final ClassResolver classResolver,
+		final ClassAllowList allowList) throws IOException, ClassNotFoundException
+	{
+		try (ObjectInputStream objectInputStream = new ResolvingObjectInputStream(
+			new ByteArrayInputStream(byteArray), classResolver, allowList))
 		{
 			return objectInputStream.readObject();
 		}
@@ -162,16 +371,232 @@ public final class SerializedObjectExtensions
 	public static boolean writeSerializedObjectToFile(final Object obj, final File file)
 		throws IOException
 	{
-		boolean written = false;
-		try (FileOutputStream fos = new FileOutputStream(file);
-			ObjectOutputStream oos = new ObjectOutputStream(fos))
+		try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(file),
+			SESSION_BUFFER_SIZE); ObjectOutputStream oos = new ObjectOutputStream(outputStream))
 		{
 			oos.writeObject(obj);
-			oos.flush();
-			oos.close();
-			written = true;
 		}
-		return written;
+		return true;
+	}
+
+	/**
+	 * Creates a new {@link ObjectWriteSession} that serializes many objects into the given output
+	 * stream with shared class descriptors
+	 *
+	 * @param outputStream
+	 *            the output stream to write to
+	 * @return the new write session
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static ObjectWriteSession newWriteSession(final OutputStream outputStream)
+		throws IOException
+	{
+		return new ObjectWriteSession(outputStream);
+	}
+
+	/**
+	 * Creates a new {@link ObjectWriteSession} that serializes many objects into the given file
+	 * with shared class descriptors. If no options are given the file will be created if it does
+	 * not exist or truncated if it exists
+	 *
+	 * @param path
+	 *            the {@link Path} object of the file
+	 * @param options
+	 *            the options how the file is opened
+	 * @return the new write session
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static ObjectWriteSession newWriteSession(final Path path, final OpenOption... options)
+		throws IOException
+	{
+		final OutputStream outputStream = StreamExtensions.getOutputStream(path,
+			SESSION_BUFFER_SIZE, options);
+		try
+		{
+			return new ObjectWriteSession(outputStream);
+		}
+		catch (IOException exception)
+		{
+			outputStream.close();
+			throw exception;
+		}
+	}
+
+	/**
+	 * Creates a new {@link ObjectReadSession} that reads the objects of an
+	 * {@link ObjectWriteSession} from the given input stream
+	 *
+	 * @param inputStream
+	 *            the input stream to read from
+	 * @return the new read session
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static ObjectReadSession newReadSession(final InputStream inputStream)
+		throws IOException
+	{
+		return new ObjectReadSession(inputStream);
+	}
+
+	/**
+	 * Creates a new {@link ObjectReadSession} that reads the objects of an
+	 * {@link ObjectWriteSession} from the given file
+	 *
+	 * @param path
+	 *            the {@link Path} object of the file
+	 * @return the new read session
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static ObjectReadSession newReadSession(final Path path) throws IOException
+	{
+		final InputStream inputStream = new BufferedInputStream(Files.newInputStream(path),
+			SESSION_BUFFER_SIZE);
+		try
+		{
+			return new ObjectReadSession(inputStream);
+		}
+		catch (IOException exception)
+		{
+			inputStream.close();
+			throw exception;
+		}
+	}
+
+	/**
+	 * Appends the given objects as independently serialized records to the given record file, that
+	 * is created if it does not exist. The records can be read lazily or by index with a
+	 * {@link RecordFileReader}
+	 *
+	 * @param path
+	 *            the {@link Path} object of the record file
+	 * @param objects
+	 *            the objects to append
+	 * @return the number of records in the file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred or the existing file is no record
+	 *             file
+	 */
+	public static long appendToRecordFile(final Path path, final Iterable<?> objects)
+		throws IOException
+	{
+		try (RecordFileWriter writer = new RecordFileWriter(path))
+		{
+			writer.appendAll(objects);
+			return writer.size();
+		}
+	}
+
+	/**
+	 * Writes the given object as snapshot to the given file through a large buffer. The file is
+	 * created if it does not exist or truncated if it exists
+	 *
+	 * @param object
+	 *            the object to write
+	 * @param path
+	 *            the {@link Path} object of the file
+	 * @param force
+	 *            the flag if the content is forced to the storage device before this method
+	 *            returns
+	 * @return the result with the written bytes, the number of serialized objects and the elapsed
+	 *         time
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static SnapshotResult writeSnapshot(final Object object, final Path path,
+		final boolean force) throws IOException
+	{
+		final long start = System.nanoTime();
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+			StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+		{
+			final CountingObjectOutputStream objectOutputStream = new CountingObjectOutputStream(
+				new BufferedOutputStream(Channels.newOutputStream(channel), SESSION_BUFFER_SIZE));
+			objectOutputStream.writeObject(object);
+			objectOutputStream.flush();
+			if (force)
+			{
+				channel.force(true);
+			}
+			return new SnapshotResult(object, channel.size(), objectOutputStream.count,
+				Duration.ofNanos(System.nanoTime() - start));
+		}
+	}
+
+	/**
+	 * Reads the snapshot object from the given file. The file is mapped into memory, so the many
+	 * small reads of the deserialization cost no system calls
+	 *
+	 * @param path
+	 *            the {@link Path} object of the file
+	 * @return the result with the read object, the read bytes, the number of deserialized objects
+	 *         and the elapsed time
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws ClassNotFoundException
+	 *             is thrown when a class is not found in the classloader or no definition for the
+	 *             class with the specified name could be found
+	 */
+	public static SnapshotResult readSnapshot(final Path path)
+		throws IOException, ClassNotFoundException
+	{
+		final long start = System.nanoTime();
+		final ByteBufferInputStream inputStream = new ByteBufferInputStream(
+			StreamExtensions.getMappedByteBuffers(path));
+		final long bytes = inputStream.remaining();
+		final CountingObjectInputStream objectInputStream = new CountingObjectInputStream(
+			inputStream);
+		final Object object = objectInputStream.readObject();
+		return new SnapshotResult(object, bytes - inputStream.remaining(),
+			objectInputStream.count, Duration.ofNanos(System.nanoTime() - start));
+	}
+
+	/**
+	 * The object output stream that counts the serialized objects
+	 */
+	private static final class CountingObjectOutputStream extends ObjectOutputStream
+	{
+
+		private long count;
+
+		CountingObjectOutputStream(final OutputStream outputStream) throws IOException
+		{
+			super(outputStream);
+			enableReplaceObject(true);
+		}
+
+		@Override
+		protected Object replaceObject(final Object object)
+		{
+			count++;
+			return object;
+		}
+
+	}
+
+	/**
+	 * The object input stream that counts the deserialized objects
+	 */
+	private static final class CountingObjectInputStream extends ObjectInputStream
+	{
+
+		private long count;
+
+		CountingObjectInputStream(final InputStream inputStream) throws IOException
+		{
+			super(inputStream);
+			enableResolveObject(true);
+		}
+
+		@Override
+		protected Object resolveObject(final Object object)
+		{
+			count++;
+			return object;
+		}
+
 	}
 
 }
@@ -25,7 +25,20 @@
 package io.github.astrapi69.io;
 
 import java.io.File;
+import java.io.FilterReader;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Reader;
 import java.io.Serializable;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+import io.github.astrapi69.io.codec.SerializationCodec;
 
 /**
  * Utility class for read from and write to serialized objects without checked exceptions
@@ -35,6 +48,33 @@ import java.io.Serializable;
  */
 public final class Serializer
 {
+
+	/** The instrumentation hook of the conversion methods */
+	private static volatile SerializationMetrics metrics = SerializationMetrics.NOOP;
+
+	/**
+	 * Gets the instrumentation hook of the conversion methods
+	 *
+	 * @return the current hook, initial {@link SerializationMetrics#NOOP}
+	 */
+	public static SerializationMetrics getMetrics()
+	{
+		return metrics;
+	}
+
+	/**
+	 * Sets the instrumentation hook of the conversion methods, for instance a
+	 * {@link SerializationMetricsRecorder}. With {@link SerializationMetrics#NOOP} nothing is
+	 * measured
+	 *
+	 * @param metrics
+	 *            the new hook
+	 */
+	public static void setMetrics(final SerializationMetrics metrics)
+	{
+		Serializer.metrics = Objects.requireNonNull(metrics, "metrics");
+	}
+
 	/**
 	 * Reads the object from the given file
 	 *
@@ -65,14 +105,23 @@ public final class Serializer
 	 */
 	public static <T extends Serializable> byte[] toByteArray(final T object)
 	{
-		try
-		{
-			return SerializedObjectExtensions.toByteArray(object);
-		}
-		catch (Exception exception)
-		{
-			throw new RuntimeException(exception);
-		}
+		return encode(object, () -> SerializedObjectExtensions.toByteArray(object),
+			bytes -> bytes.length);
+	}
+
+	/**
+	 * Copies(serialize) the given object to a byte array with the given codec
+	 *
+	 * @param object
+	 *            The Object to convert into a byte array
+	 * @param codec
+	 *            the codec that converts the object
+	 * @return The byte array from the Object
+	 */
+	public static byte[] toByteArray(final Object object, final SerializationCodec codec)
+	{
+		return encode(object, () -> SerializedObjectExtensions.toByteArray(object, codec),
+			bytes -> bytes.length);
 	}
 
 	/**
@@ -84,14 +133,38 @@ public final class Serializer
 	 */
 	public static Object toObject(final byte[] byteArray)
 	{
-		try
-		{
-			return SerializedObjectExtensions.toObject(byteArray);
-		}
-		catch (Exception exception)
-		{
-			throw new RuntimeException(exception);
-		}
+		return decode(() -> SerializedObjectExtensions.toObject(byteArray), () -> byteArray.length);
+	}
+
+	/**
+	 * Converts the given byte array into an Object with the given codec
+	 *
+	 * @param byteArray
+	 *            The byte array to convert into an Object
+	 * @param codec
+	 *            the codec that has written the byte array
+	 * @return The Object the was converted from the byte array
+	 */
+	public static Object toObject(final byte[] byteArray, final SerializationCodec codec)
+	{
+		return decode(() -> SerializedObjectExtensions.toObject(byteArray, codec),
+			() -> byteArray.length);
+	}
+
+	/**
+	 * Converts the given byte array into an Object, only the classes of the given allow list are
+	 * loaded
+	 *
+	 * @param byteArray
+	 *            The byte array to convert into an Object
+	 * @param allowList
+	 *            the allow list of the classes
+	 * @return The Object the was converted from the byte array
+	 */
+	public static Object toObject(final byte[] byteArray, final ClassAllowList allowList)
+	{
+		return decode(() -> SerializedObjectExtensions.toObject(byteArray, allowList),
+			() -> byteArray.length);
 	}
 
 	/**
@@ -127,14 +200,8 @@ public final class Serializer
 	 */
 	public static <T extends Serializable> String toBase64EncodedString(final T object)
 	{
-		try
-		{
-			return SerializedObjectExtensions.toBase64EncodedString(object);
-		}
-		catch (Exception exception)
-		{
-			throw new RuntimeException(exception);
-		}
+		return encode(object, () -> SerializedObjectExtensions.toBase64EncodedString(object),
+			Serializer::decodedBase64Length);
 	}
 
 	/**
@@ -145,14 +212,367 @@ public final class Serializer
 	 * @return The object the was converted from the Base64 encoded {@link String} object
 	 */
 	public static Object toObject(String base64EncodedString)
+	{
+		return decode(() -> SerializedObjectExtensions.toObject(base64EncodedString),
+			() -> decodedBase64Length(base64EncodedString));
+	}
+
+	/**
+	 * Serializes the given object as base64 encoded chars to the given {@link Appendable} without
+	 * a byte array of the whole serialized object
+	 *
+	 * @param object
+	 *            The Object to serialize
+	 * @param appendable
+	 *            the appendable for the base64 encoded chars, for instance a {@link java.io.Writer}
+	 */
+	public static void writeBase64(final Object object, final Appendable appendable)
+	{
+		final Base64CountingWriter counting = new Base64CountingWriter(appendable);
+		encode(object, () -> {
+			SerializedObjectExtensions.writeBase64(object, counting);
+			return counting;
+		}, Base64CountingWriter::getDecodedLength);
+	}
+
+	/**
+	 * Deserializes an object from the given base64 encoded chars without a byte array of the whole
+	 * serialized object
+	 *
+	 * @param base64
+	 *            the base64 encoded chars
+	 * @return the deserialized object
+	 */
+	public static Object readBase64(final CharSequence base64)
+	{
+		return decode(() -> SerializedObjectExtensions.readBase64(base64),
+			() -> decodedBase64Length(base64));
+	}
+
+	/**
+	 * Deserializes an object from the base64 encoded chars of the given {@link Reader} without a
+	 * byte array of the whole serialized object
+	 *
+	 * @param reader
+	 *            the reader of the base64 encoded chars
+	 * @return the deserialized object
+	 */
+	public static Object readBase64(final Reader reader)
+	{
+		final Base64CountingReader counting = new Base64CountingReader(reader);
+		return decode(() -> SerializedObjectExtensions.readBase64(counting),
+			counting::getDecodedLength);
+	}
+
+	/**
+	 * Gets the number of bytes that the given base64 encoded chars decode to, so the metrics record
+	 * the size of the serialized form in bytes like for byte arrays
+	 *
+	 * @param base64
+	 *            the base64 encoded chars
+	 * @return the number of decoded bytes
+	 */
+	private static long decodedBase64Length(final CharSequence base64)
+	{
+		int length = base64.length();
+		int padding = 0;
+		while (0 < length && padding < 2 && base64.charAt(length - 1) == '=')
+		{
+			length--;
+			padding++;
+		}
+		return decodedBase64Length(length + padding, padding);
+	}
+
+	/**
+	 * Gets the number of bytes that the given number of base64 encoded chars decode to
+	 *
+	 * @param length
+	 *            the number of base64 encoded chars with the padding chars
+	 * @param padding
+	 *            the number of padding chars
+	 * @return the number of decoded bytes
+	 */
+	private static long decodedBase64Length(final long length, final long padding)
+	{
+		return (length - padding) * 3 / 4;
+	}
+
+	/**
+	 * Runs the given serialization and records it with the current hook
+	 *
+	 * @param <R>
+	 *            the generic type of the serialized form
+	 * @param object
+	 *            the object to serialize
+	 * @param conversion
+	 *            the serialization of the object
+	 * @param size
+	 *            the function that gets the size of the serialized form in bytes
+	 * @return the serialized form
+	 */
+	private static <R> R encode(final Object object, final Callable<R> conversion,
+		final ToLongFunction<R> size)
+	{
+		return convert(conversion, SerializationMetrics::recordEncode, result -> typeOf(object),
+			size);
+	}
+
+	/**
+	 * Runs the given deserialization and records it with the current hook
+	 *
+	 * @param conversion
+	 *            the deserialization of the object
+	 * @param size
+	 *            the supplier of the size of the serialized form in bytes, that is called after
+	 *            the deserialization
+	 * @return the deserialized object
+	 */
+	private static Object decode(final Callable<Object> conversion, final LongSupplier size)
+	{
+		return convert(conversion, SerializationMetrics::recordDecode, Serializer::typeOf,
+			result -> size.getAsLong());
+	}
+
+	/**
+	 * Runs the given conversion and wraps a checked exception in a {@link RuntimeException}. If a
+	 * hook is set the size, the elapsed time and the allocated bytes of the conversion are
+	 * recorded with it
+	 *
+	 * @param <R>
+	 *            the generic type of the result of the conversion
+	 * @param conversion
+	 *            the conversion
+	 * @param recording
+	 *            the method of the hook that records the conversion
+	 * @param type
+	 *            the function that gets the type of the converted object from the result
+	 * @param size
+	 *            the function that gets the size of the serialized form in bytes from the result
+	 * @return the result of the conversion
+	 */
+	private static <R> R convert(final Callable<R> conversion, final Recording recording,
+		final Function<R, Class<?>> type, final ToLongFunction<R> size)
 	{
 		try
 		{
-			return SerializedObjectExtensions.toObject(base64EncodedString);
+			final SerializationMetrics current = metrics;
+			if (current == SerializationMetrics.NOOP)
+			{
+				return conversion.call();
+			}
+			final long allocatedBytes = current.currentThreadAllocatedBytes();
+			final long start = System.nanoTime();
+			final R result = conversion.call();
+			final long elapsedNanos = System.nanoTime() - start;
+			recording.record(current, type.apply(result), size.applyAsLong(result), elapsedNanos,
+				current.currentThreadAllocatedBytes() - allocatedBytes);
+			return result;
 		}
 		catch (Exception exception)
 		{
 			throw new RuntimeException(exception);
 		}
 	}
+
+	/**
+	 * Gets the class of the given object
+	 *
+	 * @param object
+	 *            the object
+	 * @return the class of the given object or null if the object is null
+	 */
+	private static Class<?> typeOf(final Object object)
+	{
+		return object != null ? object.getClass() : null;
+	}
+
+	/**
+	 * The method of a {@link SerializationMetrics} that records a conversion
+	 */
+	@FunctionalInterface
+	private interface Recording
+	{
+
+		/**
+		 * Records a conversion with the given hook
+		 *
+		 * @param metrics
+		 *            the hook
+		 * @param type
+		 *            the class of the converted object or null for null
+		 * @param size
+		 *            the size of the serialized form in bytes
+		 * @param elapsedNanos
+		 *            the elapsed time in nanoseconds
+		 * @param allocatedBytes
+		 *            the number of allocated bytes or 0 if unknown
+		 */
+		void record(SerializationMetrics metrics, Class<?> type, long size, long elapsedNanos,
+			long allocatedBytes);
+	}
+
+	/**
+	 * The {@link Writer} that counts the base64 encoded chars that are appended to the decorated
+	 * {@link Appendable}. Closing this writer flushes the appendable but does not close it
+	 */
+	private static final class Base64CountingWriter extends Writer
+	{
+
+		/** The decorated appendable */
+		private final Appendable appendable;
+
+		/** The number of appended chars */
+		private long length;
+
+		/** The number of appended padding chars */
+		private long padding;
+
+		/**
+		 * Instantiates a new {@link Base64CountingWriter}
+		 *
+		 * @param appendable
+		 *            the decorated appendable
+		 */
+		Base64CountingWriter(final Appendable appendable)
+		{
+			this.appendable = Objects.requireNonNull(appendable, "Appendable must not be null");
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void write(final char[] buffer, final int offset, final int count)
+			throws IOException
+		{
+			if (appendable instanceof Writer)
+			{
+				((Writer)appendable).write(buffer, offset, count);
+			}
+			else
+			{
+				appendable.append(CharBuffer.wrap(buffer, offset, count));
+			}
+			length += count;
+			for (int i = offset + count - 1; offset <= i && buffer[i] == '='; i--)
+			{
+				padding++;
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void flush() throws IOException
+		{
+			if (appendable instanceof Flushable)
+			{
+				((Flushable)appendable).flush();
+			}
+		}
+
+		/**
+		 * Flushes the appendable but does not close it
+		 *
+		 * @throws IOException
+		 *             Signals that an I/O exception has occurred
+		 */
+		@Override
+		public void close() throws IOException
+		{
+			flush();
+		}
+
+		/**
+		 * Gets the number of bytes that the appended chars decode to
+		 *
+		 * @return the number of decoded bytes
+		 */
+		long getDecodedLength()
+		{
+			return decodedBase64Length(length, padding);
+		}
+	}
+
+	/**
+	 * The {@link Reader} that counts the base64 encoded chars that are read from the decorated
+	 * {@link Reader}
+	 */
+	private static final class Base64CountingReader extends FilterReader
+	{
+
+		/** The number of read chars */
+		private long length;
+
+		/** The number of read padding chars */
+		private long padding;
+
+		/**
+		 * Instantiates a new {@link Base64CountingReader}
+		 *
+		 * @param reader
+		 *            the decorated reader
+		 */
+		Base64CountingReader(final Reader reader)
+		{
+			super(reader);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int read() throws IOException
+		{
+			final int c = super.read();
+			if (c != -1)
+			{
+				count((char)c);
+			}
+			return c;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int read(final char[] buffer, final int offset, final int maximum)
+			throws IOException
+		{
+			final int read = super.read(buffer, offset, maximum);
+			for (int i = 0; i < read; i++)
+			{
+				count(buffer[offset + i]);
+			}
+			return read;
+		}
+
+		/**
+		 * Gets the number of bytes that the read chars decode to
+		 *
+		 * @return the number of decoded bytes
+		 */
+		long getDecodedLength()
+		{
+			return decodedBase64Length(length, padding);
+		}
+
+		/**
+		 * Counts the given read char
+		 *
+		 * @param c
+		 *            the read char
+		 */
+		private void count(final char c)
+		{
+			length++;
+			if (c == '=')
+			{
+				padding++;
+			}
+		}
+	}
+
 }
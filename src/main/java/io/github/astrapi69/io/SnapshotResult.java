@@ -0,0 +1,133 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * The class {@link SnapshotResult} holds the object of a written or read snapshot file and the
+ * cost of the snapshot, the number of bytes, the number of serialized objects in the object graph
+ * and the elapsed time
+ */
+public final class SnapshotResult
+{
+
+	/** The written or read object */
+	private final Object object;
+
+	/** The number of written or read bytes */
+	private final long bytes;
+
+	/** The number of serialized objects in the object graph */
+	private final long objectCount;
+
+	/** The elapsed time */
+	private final Duration elapsed;
+
+	/**
+	 * Instantiates a new {@link SnapshotResult}
+	 *
+	 * @param object
+	 *            the written or read object
+	 * @param bytes
+	 *            the number of written or read bytes
+	 * @param objectCount
+	 *            the number of serialized objects in the object graph
+	 * @param elapsed
+	 *            the elapsed time
+	 */
+	public SnapshotResult(final Object object, final long bytes, final long objectCount,
+		final Duration elapsed)
+	{
+		this.object = object;
+		this.bytes = bytes;
+		this.objectCount = objectCount;
+		this.elapsed = Objects.requireNonNull(elapsed, "Elapsed must not be null");
+	}
+
+	/**
+	 * Gets the written or read object
+	 *
+	 * @return the written or read object
+	 */
+	public Object getObject()
+	{
+		return object;
+	}
+
+	/**
+	 * Gets the number of written or read bytes
+	 *
+	 * @return the number of bytes
+	 */
+	public long getBytes()
+	{
+		return bytes;
+	}
+
+	/**
+	 * Gets the number of serialized objects in the object graph. Objects that are referenced more
+	 * than once are counted once
+	 *
+	 * @return the number of serialized objects
+	 */
+	public long getObjectCount()
+	{
+		return objectCount;
+	}
+
+	/**
+	 * Gets the elapsed time
+	 *
+	 * @return the elapsed time
+	 */
+	public Duration getElapsed()
+	{
+		return elapsed;
+	}
+
+	/**
+	 * Gets the average throughput
+	 *
+	 * @return the bytes per second or 0 if no time has elapsed
+	 */
+	public double getBytesPerSecond()
+	{
+		final long nanos = elapsed.toNanos();
+		return nanos > 0 ? bytes * 1_000_000_000.0 / nanos : 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "SnapshotResult{bytes=" + bytes + ", objectCount=" + objectCount + ", elapsed="
+			+ elapsed + "}";
+	}
+
+}
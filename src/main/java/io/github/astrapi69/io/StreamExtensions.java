@@ -25,7 +25,9 @@
 package io.github.astrapi69.io;
 
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
@@ -37,13 +39,35 @@ import java.io.InputStreamReader;
 import java.io.ObjectStreamClass;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
-import java.io.PrintWriter;
 import java.io.Reader;
 import java.io.Serializable;
+import java.io.UnsupportedEncodingException;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.IllegalBlockingModeException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Utility class for input/output operations
@@ -53,6 +77,26 @@ import java.nio.file.Paths;
  */
 public final class StreamExtensions
 {
+	/**
+	 * Constant for the default size of the buffers used by the copy methods. current value:65536
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 65536;
+
+	/** The size of the reusable char buffers. current value:8192 */
+	private static final int CHAR_BUFFER_SIZE = 8192;
+
+	/** The per thread char buffer that is reused by the char copy methods */
+	private static final ThreadLocal<char[]> CHAR_BUFFER = new ThreadLocal<>();
+
+	/** The per thread charset encoder that is reused by the encode methods */
+	private static final ThreadLocal<CharsetEncoder> ENCODER = new ThreadLocal<>();
+
+	/** The per thread charset decoder that is reused by the decode methods */
+	private static final ThreadLocal<CharsetDecoder> DECODER = new ThreadLocal<>();
+
+	/** The size of the buffer for a char sequence that is split over two decoded buffers */
+	private static final int DECODE_CARRY_SIZE = 64;
+
 	private StreamExtensions()
 	{
 	}
@@ -68,11 +112,130 @@ public final class StreamExtensions
 	 */
 	public static byte[] getByteArray(final File file) throws IOException
 	{
-		return getByteArray(getInputStream(file));
+		if (!file.exists())
+		{
+			throw new FileNotFoundException("File " + file.getName() + " does not exist.");
+		}
+		return getByteArray(file.toPath());
+	}
+
+	/**
+	 * Returns the content of the given file as a byte array. The byte array is allocated once with
+	 * the length of the file
+	 *
+	 * @param path
+	 *            the {@link Path} object of the file
+	 * @return Returns the given file as a byte array
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static byte[] getByteArray(final Path path) throws IOException
+	{
+		return Files.readAllBytes(path);
+	}
+
+	/**
+	 * Maps the whole given file read only into memory
+	 *
+	 * @param file
+	 *            the file
+	 * @return the read only {@link MappedByteBuffer} of the given file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws IllegalArgumentException
+	 *             if the file is greater than {@link Integer#MAX_VALUE} bytes, in this case use
+	 *             {@link #getMappedByteBuffers(Path)}
+	 */
+	public static MappedByteBuffer getMappedByteBuffer(final File file) throws IOException
+	{
+		return getMappedByteBuffer(file.toPath());
+	}
+
+	/**
+	 * Maps the whole given file read only into memory. The content of the file is not copied on
+	 * the heap and the mapping stays valid after this method returns
+	 *
+	 * @param path
+	 *            the {@link Path} object of the file
+	 * @return the read only {@link MappedByteBuffer} of the given file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws IllegalArgumentException
+	 *             if the file is greater than {@link Integer#MAX_VALUE} bytes, in this case use
+	 *             {@link #getMappedByteBuffers(Path)}
+	 */
+	public static MappedByteBuffer getMappedByteBuffer(final Path path) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			final long size = channel.size();
+			if (Integer.MAX_VALUE < size)
+			{
+				throw new IllegalArgumentException("File " + path.getFileName() + " with " + size
+					+ " bytes is too large for a single mapped buffer.");
+			}
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		}
+	}
+
+	/**
+	 * Maps the whole given file read only into memory as a sequence of {@link MappedByteBuffer}
+	 * objects, so files greater than 2 GB can be mapped too
+	 *
+	 * @param path
+	 *            the {@link Path} object of the file
+	 * @return the list with the read only {@link MappedByteBuffer} objects in the order of the
+	 *         file content
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static List<MappedByteBuffer> getMappedByteBuffers(final Path path) throws IOException
+	{
+		return getMappedByteBuffers(path, Integer.MAX_VALUE);
 	}
 
 	/**
-	 * Returns the given InputStream as a byte array
+	 * Maps the whole given file read only into memory as a sequence of {@link MappedByteBuffer}
+	 * objects with the given maximum region size
+	 *
+	 * @param path
+	 *            the {@link Path} object of the file
+	 * @param regionSize
+	 *            the maximum size of a mapped region in bytes
+	 * @return the list with the read only {@link MappedByteBuffer} objects in the order of the
+	 *         file content
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static List<MappedByteBuffer> getMappedByteBuffers(final Path path,
+		final int regionSize) throws IOException
+	{
+		if (regionSize <= 0)
+		{
+			throw new IllegalArgumentException("Region size must be greater than 0");
+		}
+		final List<MappedByteBuffer> mappedByteBuffers = new ArrayList<>();
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			final long size = channel.size();
+			long position = 0;
+			do
+			{
+				final long length = Math.min(regionSize, size - position);
+				mappedByteBuffers.add(channel.map(FileChannel.MapMode.READ_ONLY, position, length));
+				position += length;
+			}
+			while (position < size);
+		}
+		return mappedByteBuffers;
+	}
+
+	/**
+	 * Returns the given InputStream as a byte array. The content is read into the chunks of a
+	 * {@link SegmentedByteArrayOutputStream} that is sized from {@link InputStream#available()},
+	 * so it is copied only once into the resulting array. Streams that report less available bytes
+	 * than the default chunk size, like sockets or decompressors that report 0, start with the
+	 * default chunk size
 	 *
 	 * @param in
 	 *            The InputStream
@@ -82,7 +245,10 @@ public final class StreamExtensions
 	 */
 	public static byte[] getByteArray(final InputStream in) throws IOException
 	{
-		return getByteArray(in, new ByteArrayOutputStream(in.available()));
+		final SegmentedByteArrayOutputStream outputStream = new SegmentedByteArrayOutputStream(
+			Math.max(SegmentedByteArrayOutputStream.DEFAULT_INITIAL_CHUNK_SIZE, in.available()));
+		outputStream.write(in);
+		return outputStream.toByteArray();
 	}
 
 	/**
@@ -99,12 +265,291 @@ public final class StreamExtensions
 	public static byte[] getByteArray(final InputStream in, final ByteArrayOutputStream os)
 		throws IOException
 	{
-		int byt;
-		while ((byt = in.read()) != -1)
+		copy(in, os);
+		return os.toByteArray();
+	}
+
+	/**
+	 * Copies all bytes from the given {@link InputStream} to the given {@link OutputStream}. If
+	 * both streams are plain file streams over a file with a known size the bytes are transferred
+	 * with {@link FileChannel#transferTo(long, long, WritableByteChannel)}. The remaining bytes
+	 * and the bytes of all other streams, like a pipe or a device, are copied with a chunked
+	 * buffer from the default {@link BufferPool}. Note: the given streams will not be closed
+	 *
+	 * @param inputStream
+	 *            the opened input stream to read from
+	 * @param outputStream
+	 *            the opened output stream to write to
+	 * @return the number of transferred bytes
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static long copy(final InputStream inputStream, final OutputStream outputStream)
+		throws IOException
+	{
+		long transferred = 0;
+		if (inputStream.getClass() == FileInputStream.class
+			&& outputStream.getClass() == FileOutputStream.class)
 		{
-			os.write(byt);
+			final FileChannel source = ((FileInputStream)inputStream).getChannel();
+			// a pipe, a fifo or a device reports the size 0 and is copied with the buffer
+			if (0 < source.size())
+			{
+				transferred = transferTo(source, ((FileOutputStream)outputStream).getChannel());
+			}
+		}
+		else if (inputStream.getClass() == ByteArrayInputStream.class)
+		{
+			// a ByteArrayInputStream writes its remaining content with one single write call
+			return inputStream.transferTo(outputStream);
+		}
+		final BufferPool bufferPool = BufferPool.getDefault();
+		final byte[] buffer = bufferPool.acquireHeap(DEFAULT_BUFFER_SIZE);
+		try
+		{
+			return transferred + copy(inputStream, outputStream, buffer);
+		}
+		finally
+		{
+			bufferPool.releaseHeap(buffer);
+		}
+	}
+
+	/**
+	 * Copies all bytes from the given {@link InputStream} to the given {@link OutputStream} with
+	 * the given buffer. Note: the given streams will not be closed
+	 *
+	 * @param inputStream
+	 *            the opened input stream to read from
+	 * @param outputStream
+	 *            the opened output stream to write to
+	 * @param buffer
+	 *            the buffer that is used for the transfer
+	 * @return the number of transferred bytes
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static long copy(final InputStream inputStream, final OutputStream outputStream,
+		final byte[] buffer) throws IOException
+	{
+		long transferred = 0;
+		int read;
+		while ((read = inputStream.read(buffer, 0, buffer.length)) != -1)
+		{
+			outputStream.write(buffer, 0, read);
+			transferred += read;
+		}
+		return transferred;
+	}
+
+	/**
+	 * Transfers the remaining bytes of the given source {@link FileChannel} beginning from its
+	 * current position to the given target channel and moves the position of the source channel
+	 * to its end
+	 *
+	 * @param source
+	 *            the source file channel
+	 * @param target
+	 *            the target channel
+	 * @return the number of transferred bytes
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	private static long transferTo(final FileChannel source, final WritableByteChannel target)
+		throws IOException
+	{
+		final long start = source.position();
+		final long size = source.size();
+		long position = start;
+		while (position < size)
+		{
+			final long transferred = source.transferTo(position, size - position, target);
+			if (transferred <= 0)
+			{
+				break;
+			}
+			position += transferred;
+		}
+		source.position(position);
+		return position - start;
+	}
+
+	/**
+	 * Transfers the content of the given source file to the given target file. If the target file
+	 * does not exist it will be created otherwise it will be truncated
+	 *
+	 * @param source
+	 *            the source file
+	 * @param target
+	 *            the target file
+	 * @return the {@link TransferResult} with the number of transferred bytes and the used
+	 *         {@link TransferMode}
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static TransferResult transfer(final Path source, final Path target) throws IOException
+	{
+		try (FileChannel targetChannel = FileChannel.open(target, StandardOpenOption.CREATE,
+			StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))
+		{
+			return transfer(source, targetChannel);
+		}
+	}
+
+	/**
+	 * Transfers the content of the given source file to the given target channel, for instance a
+	 * {@link java.nio.channels.SocketChannel} in blocking mode. Note: the given target channel will
+	 * not be closed
+	 *
+	 * @param source
+	 *            the source file
+	 * @param target
+	 *            the opened target channel
+	 * @return the {@link TransferResult} with the number of transferred bytes and the used
+	 *         {@link TransferMode}
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws IllegalBlockingModeException
+	 *             if the target channel is a {@link SelectableChannel} in non blocking mode
+	 */
+	public static TransferResult transfer(final Path source, final WritableByteChannel target)
+		throws IOException
+	{
+		try (FileChannel sourceChannel = FileChannel.open(source, StandardOpenOption.READ))
+		{
+			return transfer(sourceChannel, target);
+		}
+	}
+
+	/**
+	 * Transfers the remaining bytes of the given source {@link FileChannel} beginning from its
+	 * current position to the given target channel. If the target channel is a
+	 * {@link FileChannel} or a {@link SelectableChannel} like a socket the transfer is delegated to
+	 * {@link FileChannel#transferTo(long, long, WritableByteChannel)} that uses on linux
+	 * sendfile, otherwise the bytes are copied through a pooled direct {@link ByteBuffer}. A
+	 * {@link SelectableChannel} must be in blocking mode, because a non blocking channel accepts
+	 * only a part of the bytes if its buffer is full. Note: the given channels will not be closed
+	 *
+	 * @param source
+	 *            the opened source file channel
+	 * @param target
+	 *            the opened target channel
+	 * @return the {@link TransferResult} with the number of transferred bytes and the used
+	 *         {@link TransferMode}
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws IllegalBlockingModeException
+	 *             if the target channel is a {@link SelectableChannel} in non blocking mode
+	 */
+	public static TransferResult transfer(final FileChannel source,
+		final WritableByteChannel target) throws IOException
+	{
+		if (target instanceof SelectableChannel && !((SelectableChannel)target).isBlocking())
+		{
+			throw new IllegalBlockingModeException();
+		}
+		if (target instanceof FileChannel || target instanceof SelectableChannel)
+		{
+			return new TransferResult(transferTo(source, target), TransferMode.ZERO_COPY);
+		}
+		return new TransferResult(copy(source, target), TransferMode.BUFFERED);
+	}
+
+	/**
+	 * Transfers all bytes from the given source channel to the given target {@link FileChannel}
+	 * beginning from its current position. If the source channel is a {@link FileChannel} the
+	 * transfer is delegated to the operating system, otherwise the bytes are copied through a
+	 * pooled direct {@link ByteBuffer}. Note: the given channels will not be closed
+	 *
+	 * @param source
+	 *            the opened source channel
+	 * @param target
+	 *            the opened target file channel
+	 * @return the {@link TransferResult} with the number of transferred bytes and the used
+	 *         {@link TransferMode}
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static TransferResult transfer(final ReadableByteChannel source,
+		final FileChannel target) throws IOException
+	{
+		if (source instanceof FileChannel)
+		{
+			return transfer((FileChannel)source, target);
+		}
+		return new TransferResult(copy(source, target), TransferMode.BUFFERED);
+	}
+
+	/**
+	 * Transfers the remaining bytes of the given source {@link FileChannel} beginning from its
+	 * current position to the given target {@link FileChannel} beginning from its current
+	 * position. The transfer is delegated to the operating system that uses on linux
+	 * copy_file_range or sendfile. Note: the given channels will not be closed
+	 *
+	 * @param source
+	 *            the opened source file channel
+	 * @param target
+	 *            the opened target file channel
+	 * @return the {@link TransferResult} with the number of transferred bytes and the used
+	 *         {@link TransferMode}
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static TransferResult transfer(final FileChannel source, final FileChannel target)
+		throws IOException
+	{
+		final long position = target.position();
+		final long count = source.size() - source.position();
+		long transferred = 0;
+		while (transferred < count)
+		{
+			final long current = target.transferFrom(source, position + transferred,
+				count - transferred);
+			if (current <= 0)
+			{
+				break;
+			}
+			transferred += current;
+		}
+		target.position(position + transferred);
+		return new TransferResult(transferred, TransferMode.ZERO_COPY);
+	}
+
+	/**
+	 * Copies all bytes from the given source channel to the given target channel through a direct
+	 * buffer from the default {@link BufferPool}
+	 *
+	 * @param source
+	 *            the source channel
+	 * @param target
+	 *            the target channel
+	 * @return the number of transferred bytes
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	private static long copy(final ReadableByteChannel source, final WritableByteChannel target)
+		throws IOException
+	{
+		final BufferPool bufferPool = BufferPool.getDefault();
+		final ByteBuffer buffer = bufferPool.acquireDirect(DEFAULT_BUFFER_SIZE);
+		try
+		{
+			long transferred = 0;
+			while (source.read(buffer) != -1)
+			{
+				buffer.flip();
+				while (buffer.hasRemaining())
+				{
+					transferred += target.write(buffer);
+				}
+				buffer.clear();
+			}
+			return transferred;
+		}
+		finally
+		{
+			bufferPool.releaseDirect(buffer);
 		}
-		return os.toByteArray();
 	}
 
 	/**
@@ -226,7 +671,8 @@ public final class StreamExtensions
 	}
 
 	/**
-	 * Gets a {@link BufferedOutputStream} from the given {@link File} object.
+	 * Gets a {@link BufferedOutputStream} from the given {@link File} object. The file is opened
+	 * with one single system call and truncated if it exists
 	 *
 	 * @param file
 	 *            the file
@@ -239,26 +685,49 @@ public final class StreamExtensions
 	public static OutputStream getOutputStream(final File file, final boolean createFile)
 		throws IOException
 	{
-		OutputStream os = null;
-		BufferedOutputStream bos = null;
-		if (file.exists())
-		{
-			os = new FileOutputStream(file);
-		}
-		else
-		{
-			if (createFile)
-			{
-				file.createNewFile();
-				os = new FileOutputStream(file);
-			}
-			else
-			{
-				throw new FileNotFoundException("File " + file.getName() + " does not exist.");
-			}
-		}
-		bos = new BufferedOutputStream(os);
-		return bos;
+		return new BufferedOutputStream(openOutputStream(file, createFile));
+	}
+
+	/**
+	 * Gets a {@link BufferedOutputStream} with the given buffer size for the given file that is
+	 * opened with the given options. If no options are given the file will be created if it does
+	 * not exist or truncated if it exists
+	 *
+	 * @param path
+	 *            the {@link Path} object of the file
+	 * @param bufferSize
+	 *            the buffer size in bytes
+	 * @param options
+	 *            the options how the file is opened, for instance
+	 *            {@link StandardOpenOption#APPEND} or {@link StandardOpenOption#DSYNC}
+	 * @return the output stream
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static OutputStream getOutputStream(final Path path, final int bufferSize,
+		final OpenOption... options) throws IOException
+	{
+		return new BufferedOutputStream(Files.newOutputStream(path, options), bufferSize);
+	}
+
+	/**
+	 * Gets an {@link AtomicFileOutputStream} for the given file. The content is written to a
+	 * temporary file in the same directory that replaces the given file atomically on
+	 * {@link AtomicFileOutputStream#commit()}, so readers never see a partial written file. A close
+	 * without a commit discards the content
+	 *
+	 * @param path
+	 *            the {@link Path} object of the target file
+	 * @param force
+	 *            the flag if the content is forced to the storage device before the rename
+	 * @return the atomic output stream
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static AtomicFileOutputStream getAtomicOutputStream(final Path path,
+		final boolean force) throws IOException
+	{
+		return new AtomicFileOutputStream(path, force);
 	}
 
 	/**
@@ -351,7 +820,8 @@ public final class StreamExtensions
 	}
 
 	/**
-	 * Gets a Writer from the given file object.
+	 * Gets a Writer from the given file object. The file is opened with one single system call and
+	 * truncated if it exists
 	 *
 	 * @param file
 	 *            the file
@@ -366,60 +836,112 @@ public final class StreamExtensions
 	public static Writer getWriter(final File file, final String encoding, final boolean createFile)
 		throws IOException
 	{
-		PrintWriter printWriter;
-		BufferedOutputStream bos;
-		FileOutputStream fos;
-		OutputStreamWriter osw;
-		if (file.exists())
+		final Charset charset;
+		try
 		{
-			fos = new FileOutputStream(file);
+			charset = null == encoding ? Charset.defaultCharset() : Charset.forName(encoding);
 		}
-		else
+		catch (IllegalArgumentException exception)
 		{
-			if (createFile)
-			{
-				file.createNewFile();
-				fos = new FileOutputStream(file);
-			}
-			else
-			{
-				throw new FileNotFoundException("File " + file.getName() + "does not exist.");
-			}
+			throw new UnsupportedEncodingException(encoding);
 		}
-		bos = new BufferedOutputStream(fos);
-		if (null == encoding)
+		return new BufferedWriter(
+			new OutputStreamWriter(openOutputStream(file, createFile), charset));
+	}
+
+	/**
+	 * Gets a buffered Writer for the given file that is opened with the given options. If no
+	 * options are given the file will be created if it does not exist or truncated if it exists
+	 *
+	 * @param path
+	 *            the {@link Path} object of the file
+	 * @param charset
+	 *            the charset for encode the chars
+	 * @param options
+	 *            the options how the file is opened, for instance
+	 *            {@link StandardOpenOption#APPEND} or {@link StandardOpenOption#DSYNC}
+	 * @return the Writer
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static Writer getWriter(final Path path, final Charset charset,
+		final OpenOption... options) throws IOException
+	{
+		return Files.newBufferedWriter(path, charset, options);
+	}
+
+	/**
+	 * Gets a buffered Writer with the given buffer size for the given file that is opened with the
+	 * given options. If no options are given the file will be created if it does not exist or
+	 * truncated if it exists
+	 *
+	 * @param path
+	 *            the {@link Path} object of the file
+	 * @param charset
+	 *            the charset for encode the chars
+	 * @param bufferSize
+	 *            the buffer size in chars
+	 * @param options
+	 *            the options how the file is opened, for instance
+	 *            {@link StandardOpenOption#APPEND} or {@link StandardOpenOption#DSYNC}
+	 * @return the Writer
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static Writer getWriter(final Path path, final Charset charset, final int bufferSize,
+		final OpenOption... options) throws IOException
+	{
+		return new BufferedWriter(
+			new OutputStreamWriter(Files.newOutputStream(path, options), charset.newEncoder()),
+			bufferSize);
+	}
+
+	/**
+	 * Opens an unbuffered output stream for the given file with one single system call. The file
+	 * is truncated if it exists
+	 *
+	 * @param file
+	 *            the file
+	 * @param createFile
+	 *            If true and the file does not exist it will be create a new file
+	 * @return the output stream
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	private static OutputStream openOutputStream(final File file, final boolean createFile)
+		throws IOException
+	{
+		try
 		{
-			osw = new OutputStreamWriter(bos);
+			return createFile
+				? Files.newOutputStream(file.toPath(), StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)
+				: Files.newOutputStream(file.toPath(), StandardOpenOption.TRUNCATE_EXISTING,
+					StandardOpenOption.WRITE);
 		}
-		else
+		catch (NoSuchFileException exception)
 		{
-			osw = new OutputStreamWriter(bos, encoding);
+			throw new FileNotFoundException("File " + file.getName() + " does not exist.");
 		}
-		printWriter = new PrintWriter(osw);
-
-		return printWriter;
-
 	}
 
 	/**
-	 * The Method writeInputStreamToOutputStream(InputStream, OutputStream, boolean) writes to the
-	 * given OutputStream from an opened InputStream.
+	 * The Method writeInputStreamToOutputStream(InputStream, OutputStream) writes to the given
+	 * OutputStream from an opened InputStream.
 	 *
 	 * @param inputStream
 	 *            The opened InputStream.
 	 * @param outputStream
 	 *            The opened OutputStream.
+	 * @return the number of transferred bytes
 	 * @throws IOException
 	 *             Signals that an I/O exception has occurred.
+	 * @see #copy(InputStream, OutputStream)
 	 */
-	public static void writeInputStreamToOutputStream(final InputStream inputStream,
+	public static long writeInputStreamToOutputStream(final InputStream inputStream,
 		final OutputStream outputStream) throws IOException
 	{
-		int nextByte;
-		while ((nextByte = inputStream.read()) != -1)
-		{
-			outputStream.write(nextByte);
-		}
+		return copy(inputStream, outputStream);
 	}
 
 	/**
@@ -430,21 +952,222 @@ public final class StreamExtensions
 	 *            The opened Reader
 	 * @param writer
 	 *            The opened Writer
+	 * @return the number of transferred chars
 	 * @throws IOException
 	 *             Signals that an I/O exception has occurred
 	 */
-	public static void writeReaderToWriter(final Reader reader, final Writer writer)
+	public static long writeReaderToWriter(final Reader reader, final Writer writer)
 		throws IOException
 	{
-		int character;
-		while ((character = reader.read()) != -1)
+		char[] buffer = CHAR_BUFFER.get();
+		if (buffer == null)
+		{
+			buffer = new char[CHAR_BUFFER_SIZE];
+		}
+		else
+		{
+			CHAR_BUFFER.remove();
+		}
+		try
+		{
+			long transferred = 0;
+			int read;
+			while ((read = reader.read(buffer, 0, buffer.length)) != -1)
+			{
+				writer.write(buffer, 0, read);
+				transferred += read;
+			}
+			return transferred;
+		}
+		finally
+		{
+			CHAR_BUFFER.set(buffer);
+		}
+	}
+
+	/**
+	 * Reads the bytes from the given {@link InputStream} in the given source charset and writes
+	 * them to the given {@link OutputStream} in the given target charset without building a
+	 * string. The bytes are decoded and encoded chunk by chunk with a reusable
+	 * {@link CharsetDecoder} and {@link CharsetEncoder} and a buffer from the default
+	 * {@link BufferPool}. Malformed input and unmappable chars are replaced. Note: the given
+	 * streams will not be closed
+	 *
+	 * @param inputStream
+	 *            the opened input stream to read from
+	 * @param sourceCharset
+	 *            the charset of the input stream
+	 * @param outputStream
+	 *            the opened output stream to write to
+	 * @param targetCharset
+	 *            the charset of the output stream
+	 * @return the number of transcoded chars
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static long transcode(final InputStream inputStream, final Charset sourceCharset,
+		final OutputStream outputStream, final Charset targetCharset) throws IOException
+	{
+		final CharsetDecoder decoder = getDecoder(sourceCharset);
+		final CharsetEncoder encoder = getEncoder(targetCharset);
+		final BufferPool bufferPool = BufferPool.getDefault();
+		final byte[] buffer = bufferPool.acquireHeap(DEFAULT_BUFFER_SIZE);
+		char[] charBuffer = CHAR_BUFFER.get();
+		if (charBuffer == null)
+		{
+			charBuffer = new char[CHAR_BUFFER_SIZE];
+		}
+		else
+		{
+			CHAR_BUFFER.remove();
+		}
+		try
+		{
+			// the copy buffer is split into the input and the output half
+			final int half = buffer.length / 2;
+			final ByteBuffer in = ByteBuffer.wrap(buffer, 0, half).slice();
+			final ByteBuffer out = ByteBuffer.wrap(buffer, half, buffer.length - half).slice();
+			final CharBuffer chars = CharBuffer.wrap(charBuffer);
+			long transcoded = 0;
+			boolean endOfInput = false;
+			in.flip();
+			while (!endOfInput)
+			{
+				in.compact();
+				final int read = inputStream.read(in.array(), in.arrayOffset() + in.position(),
+					in.remaining());
+				if (read == -1)
+				{
+					endOfInput = true;
+				}
+				else
+				{
+					in.position(in.position() + read);
+				}
+				in.flip();
+				CoderResult result;
+				do
+				{
+					result = decoder.decode(in, chars, endOfInput);
+					if (result.isError())
+					{
+						result.throwException();
+					}
+					transcoded += encode(chars, encoder, out, outputStream, false);
+				}
+				while (result.isOverflow());
+			}
+			CoderResult result;
+			do
+			{
+				result = decoder.flush(chars);
+				transcoded += encode(chars, encoder, out, outputStream, false);
+			}
+			while (result.isOverflow());
+			transcoded += encode(chars, encoder, out, outputStream, true);
+			return transcoded;
+		}
+		finally
+		{
+			bufferPool.releaseHeap(buffer);
+			CHAR_BUFFER.set(charBuffer);
+		}
+	}
+
+	/**
+	 * Encodes the chars of the given char buffer that is in write mode and writes the encoded
+	 * bytes to the given output stream. Chars that can not be encoded yet, like a single high
+	 * surrogate, are kept in the char buffer
+	 *
+	 * @param chars
+	 *            the char buffer in write mode
+	 * @param encoder
+	 *            the encoder
+	 * @param out
+	 *            the empty byte buffer for the encoded bytes
+	 * @param outputStream
+	 *            the output stream to write to
+	 * @param endOfInput
+	 *            the flag if no more chars will follow
+	 * @return the number of encoded chars
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	private static int encode(final CharBuffer chars, final CharsetEncoder encoder,
+		final ByteBuffer out, final OutputStream outputStream, final boolean endOfInput)
+		throws IOException
+	{
+		chars.flip();
+		final int available = chars.remaining();
+		CoderResult result;
+		do
+		{
+			result = encoder.encode(chars, out, endOfInput);
+			if (result.isError())
+			{
+				result.throwException();
+			}
+			outputStream.write(out.array(), out.arrayOffset(), out.position());
+			out.clear();
+		}
+		while (result.isOverflow());
+		if (endOfInput)
 		{
-			writer.write(character);
+			// a flushing encoder accepts no further encode call, so only the flush is repeated
+			do
+			{
+				result = encoder.flush(out);
+				outputStream.write(out.array(), out.arrayOffset(), out.position());
+				out.clear();
+			}
+			while (result.isOverflow());
 		}
+		final int encoded = available - chars.remaining();
+		chars.compact();
+		return encoded;
+	}
+
+	/**
+	 * Returns a lazy populated {@link Stream} over the lines of the given {@link InputStream}. The
+	 * lines are read with a {@link LineReader} and closing the returned stream closes the given
+	 * input stream
+	 *
+	 * @param inputStream
+	 *            the input stream to read from
+	 * @param charset
+	 *            the charset for decode the bytes
+	 * @return the stream over the lines without the line terminators
+	 */
+	public static Stream<String> lines(final InputStream inputStream, final Charset charset)
+	{
+		return new LineReader(new InputStreamReader(inputStream, charset)).lines();
+	}
+
+	/**
+	 * Performs the given action for each line of the given {@link InputStream}. All lines are
+	 * given as views on one reusable char buffer, so the {@link CharSequence} that is given to the
+	 * action is only valid during the call of the action. Note: the given input stream will not be
+	 * closed
+	 *
+	 * @param inputStream
+	 *            the input stream to read from
+	 * @param charset
+	 *            the charset for decode the bytes
+	 * @param action
+	 *            the action to perform for each line
+	 * @return the number of lines
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static long forEachLine(final InputStream inputStream, final Charset charset,
+		final Consumer<? super CharSequence> action) throws IOException
+	{
+		return new LineReader(new InputStreamReader(inputStream, charset)).forEachLine(action);
 	}
 
 	/**
-	 * Converts the given InputStream to a string.
+	 * Converts the given InputStream to a string. Every line of the given InputStream is
+	 * terminated with a line feed ('\n') in the returned string
 	 *
 	 * @param is
 	 *            the is
@@ -454,21 +1177,224 @@ public final class StreamExtensions
 	 */
 	public static String toString(final InputStream is) throws IOException
 	{
+		if (is == null)
+		{
+			return "";
+		}
+		final StringBuilder sb = new StringBuilder(Math.max(16, is.available()));
+		forEachLine(is, StandardCharsets.UTF_8, line -> sb.append(line).append('\n'));
+		return sb.toString();
+	}
+
+	/**
+	 * Converts the given {@link InputStream} to a string with the given charset. In difference to
+	 * {@link #toString(InputStream)} the content is not split into lines, so the line terminators
+	 * are kept as they are. The bytes are read in bulk and decoded with a reusable
+	 * {@link CharsetDecoder} into a pre sized char buffer. If the charset is ISO-8859-1 or if the
+	 * charset is US-ASCII or UTF-8 and the content is pure ASCII the decoder is skipped. Malformed
+	 * input is replaced like in {@link String#String(byte[], Charset)}. Note: the given input
+	 * stream will not be closed
+	 *
+	 * @param inputStream
+	 *            the input stream to read from
+	 * @param charset
+	 *            the charset for decode the bytes
+	 * @return the string
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public static String toString(final InputStream inputStream, final Charset charset)
+		throws IOException
+	{
+		if (inputStream == null)
+		{
+			return "";
+		}
+		final byte[] bytes = inputStream.readAllBytes();
+		if (StandardCharsets.ISO_8859_1.equals(charset)
+			|| ((StandardCharsets.US_ASCII.equals(charset) || StandardCharsets.UTF_8.equals(charset))
+				&& isAscii(bytes)))
+		{
+			// every byte is exactly one char
+			return new String(bytes, StandardCharsets.ISO_8859_1);
+		}
+		return decode(bytes, charset);
+	}
 
-		if (is != null)
+	/**
+	 * Checks if the given bytes contains only ASCII chars
+	 *
+	 * @param bytes
+	 *            the bytes to check
+	 * @return true if all bytes are ASCII chars otherwise false
+	 */
+	private static boolean isAscii(final byte[] bytes)
+	{
+		for (final byte value : bytes)
 		{
-			final StringBuilder sb = new StringBuilder();
-			final BufferedReader br = new BufferedReader(new InputStreamReader(is, "UTF-8"));
-			String line;
-			while ((line = br.readLine()) != null)
+			if (value < 0)
 			{
-				sb.append(line).append("\n");
+				return false;
 			}
-			return sb.toString();
 		}
-		else
+		return true;
+	}
+
+	/**
+	 * Decodes the given bytes with the reusable decoder of the current thread for the given
+	 * charset into a char buffer that is pre sized for the maximum number of chars
+	 *
+	 * @param bytes
+	 *            the bytes to decode
+	 * @param charset
+	 *            the charset
+	 * @return the decoded string
+	 * @throws CharacterCodingException
+	 *             if the decoder reports an unexpected coding error
+	 */
+	private static String decode(final byte[] bytes, final Charset charset)
+		throws CharacterCodingException
+	{
+		return decode(List.of(ByteBuffer.wrap(bytes)), bytes.length, charset);
+	}
+
+	/**
+	 * Decodes the given buffers as one continuous content with the reusable decoder of the current
+	 * thread for the given charset. A char sequence that is split over the border of two buffers
+	 * is completed from the next buffer, so the buffers are decoded in place without joining them
+	 *
+	 * @param byteBuffers
+	 *            the buffers to decode in the order of the content
+	 * @param size
+	 *            the number of bytes in all buffers
+	 * @param charset
+	 *            the charset
+	 * @return the decoded string
+	 * @throws CharacterCodingException
+	 *             if the decoder reports an unexpected coding error
+	 */
+	static String decode(final List<ByteBuffer> byteBuffers, final long size,
+		final Charset charset) throws CharacterCodingException
+	{
+		final CharsetDecoder decoder = getDecoder(charset);
+		CharBuffer out = CharBuffer.allocate((int)Math.min(Integer.MAX_VALUE - 8,
+			(long)Math.ceil(size * (double)decoder.maxCharsPerByte())));
+		final ByteBuffer carry = ByteBuffer.allocate(DECODE_CARRY_SIZE);
+		for (final ByteBuffer in : byteBuffers)
 		{
-			return "";
+			// complete a split char sequence from the previous buffer byte by byte
+			while (0 < carry.position() && in.hasRemaining())
+			{
+				carry.put(in.get());
+				carry.flip();
+				out = decode(decoder, carry, out, false);
+				carry.compact();
+			}
+			out = decode(decoder, in, out, false);
+			carry.put(in);
+		}
+		carry.flip();
+		out = decode(decoder, carry, out, true);
+		CoderResult result;
+		while ((result = decoder.flush(out)).isOverflow())
+		{
+			out = grow(out);
+		}
+		if (result.isError())
+		{
+			result.throwException();
+		}
+		out.flip();
+		return out.toString();
+	}
+
+	/**
+	 * Decodes the given input into the given char buffer, that is replaced with a larger one if
+	 * it overflows
+	 *
+	 * @param decoder
+	 *            the decoder
+	 * @param in
+	 *            the bytes to decode
+	 * @param out
+	 *            the char buffer
+	 * @param endOfInput
+	 *            the flag if no further input follows
+	 * @return the char buffer with the decoded chars
+	 * @throws CharacterCodingException
+	 *             if the decoder reports an unexpected coding error
+	 */
+	private static CharBuffer decode(final CharsetDecoder decoder, final ByteBuffer in,
+		CharBuffer out, final boolean endOfInput) throws CharacterCodingException
+	{
+		while (true)
+		{
+			final CoderResult result = decoder.decode(in, out, endOfInput);
+			if (result.isUnderflow())
+			{
+				return out;
+			}
+			if (result.isOverflow())
+			{
+				out = grow(out);
+			}
+			else
+			{
+				result.throwException();
+			}
+		}
+	}
+
+	/**
+	 * Copies the given char buffer into a new buffer of the double capacity
+	 *
+	 * @param out
+	 *            the char buffer in write mode
+	 * @return the new char buffer in write mode
+	 */
+	private static CharBuffer grow(final CharBuffer out)
+	{
+		final CharBuffer grown = CharBuffer.allocate(out.capacity() * 2 + 16);
+		out.flip();
+		grown.put(out);
+		return grown;
+	}
+
+	/**
+	 * Gets the reusable decoder of the current thread for the given charset in its initial state
+	 *
+	 * @param charset
+	 *            the charset
+	 * @return the decoder
+	 */
+	private static CharsetDecoder getDecoder(final Charset charset)
+	{
+		CharsetDecoder decoder = DECODER.get();
+		if (decoder == null || !decoder.charset().equals(charset))
+		{
+			decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+			DECODER.set(decoder);
+		}
+		return decoder.reset();
+	}
+
+	/**
+	 * Gets the reusable encoder of the current thread for the given charset in its initial state
+	 *
+	 * @param charset
+	 *            the charset
+	 * @return the encoder
+	 */
+	private static CharsetEncoder getEncoder(final Charset charset)
+	{
+		CharsetEncoder encoder = ENCODER.get();
+		if (encoder == null || !encoder.charset().equals(charset))
+		{
+			encoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+			ENCODER.set(encoder);
 		}
+		return encoder.reset();
 	}
 }
@@ -24,15 +24,20 @@
  */
 package io.github.astrapi69.io;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Serializable;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 
 /**
- * The class {@link StringOutputStream}
+ * The class {@link StringOutputStream} collects the written bytes and decodes them with
+ * {@link #toString()}. The bytes are kept in a {@link SegmentedByteArrayOutputStream}, so growth
+ * never copies the written bytes and {@link #toString()} decodes directly from the chunks. With
+ * {@link #reset()} an instance can be reused without reallocating its chunks. The methods that
+ * access the written bytes are synchronized
  */
 public class StringOutputStream extends OutputStream implements Serializable
 {
@@ -43,11 +48,34 @@ public class StringOutputStream extends OutputStream implements Serializable
 	private static final long serialVersionUID = 1L;
 
 	/** The buffer. */
-	private final ByteArrayOutputStream byteBuffer = new ByteArrayOutputStream();
+	private final SegmentedByteArrayOutputStream byteBuffer;
 
 	/** The charset. */
 	private Charset charset;
 
+	/** The reusable encoder for the charset. */
+	private transient CharsetEncoder encoder;
+
+	/**
+	 * Instantiates a new {@link StringOutputStream} with the default initial chunk size of the
+	 * buffer
+	 */
+	public StringOutputStream()
+	{
+		this(SegmentedByteArrayOutputStream.DEFAULT_INITIAL_CHUNK_SIZE);
+	}
+
+	/**
+	 * Instantiates a new {@link StringOutputStream} with the given initial chunk size of the buffer
+	 *
+	 * @param initialChunkSize
+	 *            the size of the first chunk of the buffer
+	 */
+	StringOutputStream(final int initialChunkSize)
+	{
+		this.byteBuffer = new SegmentedByteArrayOutputStream(initialChunkSize);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -88,25 +116,57 @@ public class StringOutputStream extends OutputStream implements Serializable
 	 * {@inheritDoc}
 	 */
 	@Override
-	public String toString()
+	public synchronized String toString()
+	{
+		return byteBuffer.toString(getCharset());
+	}
+
+	/**
+	 * Gets the number of written bytes
+	 *
+	 * @return the number of written bytes
+	 */
+	public synchronized long size()
+	{
+		return byteBuffer.size();
+	}
+
+	/**
+	 * Discards the written bytes, so this {@link StringOutputStream} object can be reused. The
+	 * allocated memory is kept for the next use
+	 */
+	public synchronized void reset()
+	{
+		byteBuffer.reset();
+	}
+
+	/**
+	 * Writes the written bytes to the given output stream
+	 *
+	 * @param outputStream
+	 *            the output stream to write to
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public synchronized void writeTo(final OutputStream outputStream) throws IOException
 	{
-		return new String(byteBuffer.toByteArray(), getCharset());
+		byteBuffer.writeTo(outputStream);
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public void write(final byte[] b) throws IOException
+	public synchronized void write(final byte[] b) throws IOException
 	{
-		byteBuffer.write(b);
+		byteBuffer.write(b, 0, b.length);
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public void write(final byte[] b, final int off, final int len)
+	public synchronized void write(final byte[] b, final int off, final int len)
 	{
 		byteBuffer.write(b, off, len);
 	}
@@ -115,13 +175,14 @@ public class StringOutputStream extends OutputStream implements Serializable
 	 * {@inheritDoc}
 	 */
 	@Override
-	public void write(final int b)
+	public synchronized void write(final int b)
 	{
 		byteBuffer.write(b);
 	}
 
 	/**
-	 * Write the given {@link String} object to this {@link StringOutputStream} object.
+	 * Write the given {@link String} object to this {@link StringOutputStream} object encoded
+	 * with the charset of this {@link StringOutputStream} object.
 	 *
 	 * @param value
 	 *            the value
@@ -130,7 +191,48 @@ public class StringOutputStream extends OutputStream implements Serializable
 	 */
 	public void write(final String value) throws IOException
 	{
-		write(value.getBytes());
+		write((CharSequence)value);
+	}
+
+	/**
+	 * Write the given {@link CharSequence} object to this {@link StringOutputStream} object. The
+	 * chars are encoded with a reusable encoder for the charset of this {@link StringOutputStream}
+	 * object directly into the buffer, malformed and unmappable chars are replaced.
+	 *
+	 * @param value
+	 *            the value
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public synchronized void write(final CharSequence value) throws IOException
+	{
+		byteBuffer.write(value, getEncoder());
+	}
+
+	/**
+	 * Gets the buffer with the written bytes
+	 *
+	 * @return the buffer
+	 */
+	SegmentedByteArrayOutputStream getByteBuffer()
+	{
+		return byteBuffer;
+	}
+
+	/**
+	 * Gets the reusable encoder for the charset of this {@link StringOutputStream} object
+	 *
+	 * @return the encoder
+	 */
+	CharsetEncoder getEncoder()
+	{
+		final Charset currentCharset = getCharset();
+		if (encoder == null || !encoder.charset().equals(currentCharset))
+		{
+			encoder = currentCharset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		}
+		return encoder;
 	}
 
 }
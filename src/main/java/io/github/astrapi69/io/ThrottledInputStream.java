@@ -0,0 +1,106 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * The class {@link ThrottledInputStream} limits the rate of the read bytes with a
+ * {@link TokenBucket}. The tokens are acquired after every read for the number of bytes actually
+ * read, a bucket can be shared by several streams to limit their rate in sum
+ */
+public class ThrottledInputStream extends FilterInputStream
+{
+
+	/** The token bucket */
+	private final TokenBucket tokenBucket;
+
+	/**
+	 * Instantiates a new {@link ThrottledInputStream}
+	 *
+	 * @param inputStream
+	 *            the input stream to throttle
+	 * @param tokenBucket
+	 *            the token bucket that limits the rate
+	 */
+	public ThrottledInputStream(final InputStream inputStream, final TokenBucket tokenBucket)
+	{
+		super(Objects.requireNonNull(inputStream, "InputStream must not be null"));
+		this.tokenBucket = Objects.requireNonNull(tokenBucket, "TokenBucket must not be null");
+	}
+
+	/**
+	 * Gets the token bucket
+	 *
+	 * @return the token bucket
+	 */
+	public TokenBucket getTokenBucket()
+	{
+		return tokenBucket;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int read() throws IOException
+	{
+		final int b = in.read();
+		if (b != -1)
+		{
+			tokenBucket.acquire(1);
+		}
+		return b;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int read(final byte[] b, final int off, final int len) throws IOException
+	{
+		final int read = in.read(b, off, len);
+		if (0 < read)
+		{
+			tokenBucket.acquire(read);
+		}
+		return read;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long skip(final long n) throws IOException
+	{
+		final long skipped = in.skip(n);
+		tokenBucket.acquire(skipped);
+		return skipped;
+	}
+
+}
@@ -0,0 +1,88 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ * The class {@link ThrottledOutputStream} limits the rate of the written bytes with a
+ * {@link TokenBucket}. The tokens are acquired before every write, a bucket can be shared by
+ * several streams to limit their rate in sum
+ */
+public class ThrottledOutputStream extends FilterOutputStream
+{
+
+	/** The token bucket */
+	private final TokenBucket tokenBucket;
+
+	/**
+	 * Instantiates a new {@link ThrottledOutputStream}
+	 *
+	 * @param outputStream
+	 *            the output stream to throttle
+	 * @param tokenBucket
+	 *            the token bucket that limits the rate
+	 */
+	public ThrottledOutputStream(final OutputStream outputStream, final TokenBucket tokenBucket)
+	{
+		super(Objects.requireNonNull(outputStream, "OutputStream must not be null"));
+		this.tokenBucket = Objects.requireNonNull(tokenBucket, "TokenBucket must not be null");
+	}
+
+	/**
+	 * Gets the token bucket
+	 *
+	 * @return the token bucket
+	 */
+	public TokenBucket getTokenBucket()
+	{
+		return tokenBucket;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(final int b) throws IOException
+	{
+		tokenBucket.acquire(1);
+		out.write(b);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(final byte[] b, final int off, final int len) throws IOException
+	{
+		Objects.checkFromIndexSize(off, len, b.length);
+		tokenBucket.acquire(len);
+		out.write(b, off, len);
+	}
+
+}
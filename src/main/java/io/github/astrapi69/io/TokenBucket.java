@@ -0,0 +1,245 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * The class {@link TokenBucket} limits the rate of transferred bytes. The bucket is refilled
+ * continuously with the configured rate up to its capacity, so bursts up to the capacity pass
+ * without delay. A request for more tokens than available is granted and puts the bucket in debt,
+ * the requesting thread sleeps until the debt is paid back. This way also requests that are larger
+ * than the capacity are paced correctly. An unlimited bucket returns immediately without
+ * synchronization
+ */
+public final class TokenBucket
+{
+
+	/** The number of nanoseconds per second */
+	private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+	/** The shared unlimited bucket */
+	private static final TokenBucket UNLIMITED = new TokenBucket(Long.MAX_VALUE, Long.MAX_VALUE);
+
+	/** The rate in bytes per second */
+	private final long bytesPerSecond;
+
+	/** The maximum number of tokens */
+	private final long capacity;
+
+	/** The clock in nanoseconds */
+	private final LongSupplier clock;
+
+	/** The flag if this bucket does not limit at all */
+	private final boolean unlimited;
+
+	/** The available tokens, negative if the bucket is in debt */
+	private double tokens;
+
+	/** The time of the last refill in nanoseconds */
+	private long lastRefill;
+
+	/**
+	 * Instantiates a new {@link TokenBucket} with a capacity of one second
+	 *
+	 * @param bytesPerSecond
+	 *            the rate in bytes per second
+	 */
+	public TokenBucket(final long bytesPerSecond)
+	{
+		this(bytesPerSecond, bytesPerSecond);
+	}
+
+	/**
+	 * Instantiates a new {@link TokenBucket} that is full
+	 *
+	 * @param bytesPerSecond
+	 *            the rate in bytes per second
+	 * @param capacity
+	 *            the maximum number of tokens that can be used in a burst
+	 */
+	public TokenBucket(final long bytesPerSecond, final long capacity)
+	{
+		this(bytesPerSecond, capacity, System::nanoTime);
+	}
+
+	/**
+	 * Instantiates a new {@link TokenBucket} that is full and reads the time from the given clock
+	 *
+	 * @param bytesPerSecond
+	 *            the rate in bytes per second
+	 * @param capacity
+	 *            the maximum number of tokens that can be used in a burst
+	 * @param clock
+	 *            the clock in nanoseconds like {@link System#nanoTime()}
+	 */
+	TokenBucket(final long bytesPerSecond, final long capacity, final LongSupplier clock)
+	{
+		if (bytesPerSecond < 1)
+		{
+			throw new IllegalArgumentException("Rate must be positive: " + bytesPerSecond);
+		}
+		if (capacity < 1)
+		{
+			throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+		}
+		this.bytesPerSecond = bytesPerSecond;
+		this.capacity = capacity;
+		this.unlimited = bytesPerSecond == Long.MAX_VALUE;
+		this.clock = clock;
+		this.tokens = capacity;
+		this.lastRefill = clock.getAsLong();
+	}
+
+	/**
+	 * Gets the shared {@link TokenBucket} that does not limit the rate
+	 *
+	 * @return the unlimited token bucket
+	 */
+	public static TokenBucket unlimited()
+	{
+		return UNLIMITED;
+	}
+
+	/**
+	 * Gets the rate in bytes per second
+	 *
+	 * @return the rate in bytes per second
+	 */
+	public long getBytesPerSecond()
+	{
+		return bytesPerSecond;
+	}
+
+	/**
+	 * Gets the capacity
+	 *
+	 * @return the maximum number of tokens that can be used in a burst
+	 */
+	public long getCapacity()
+	{
+		return capacity;
+	}
+
+	/**
+	 * Checks if this bucket does not limit the rate
+	 *
+	 * @return true if this bucket does not limit the rate otherwise false
+	 */
+	public boolean isUnlimited()
+	{
+		return unlimited;
+	}
+
+	/**
+	 * Acquires the given number of tokens and blocks until the rate allows it
+	 *
+	 * @param permits
+	 *            the number of tokens
+	 * @throws InterruptedIOException
+	 *             if the current thread is interrupted while waiting, the interrupt flag is kept
+	 */
+	public void acquire(final long permits) throws InterruptedIOException
+	{
+		if (unlimited || permits <= 0)
+		{
+			return;
+		}
+		final long waitNanos;
+		synchronized (this)
+		{
+			refill();
+			tokens -= permits;
+			waitNanos = tokens < 0 ? (long)Math.ceil(-tokens * NANOS_PER_SECOND / bytesPerSecond)
+				: 0;
+		}
+		if (0 < waitNanos)
+		{
+			try
+			{
+				TimeUnit.NANOSECONDS.sleep(waitNanos);
+			}
+			catch (InterruptedException exception)
+			{
+				Thread.currentThread().interrupt();
+				final InterruptedIOException interruptedIOException = new InterruptedIOException(
+					"Interrupted while waiting for " + permits + " tokens");
+				interruptedIOException.initCause(exception);
+				throw interruptedIOException;
+			}
+		}
+	}
+
+	/**
+	 * Acquires the given number of tokens if they are available without waiting
+	 *
+	 * @param permits
+	 *            the number of tokens
+	 * @return true if the tokens are acquired otherwise false
+	 */
+	public boolean tryAcquire(final long permits)
+	{
+		if (unlimited || permits <= 0)
+		{
+			return true;
+		}
+		synchronized (this)
+		{
+			refill();
+			if (permits <= tokens)
+			{
+				tokens -= permits;
+				return true;
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Adds the tokens for the time since the last refill. The tokens are computed as double, because
+	 * the product of a long idle time and a high rate overflows a long
+	 */
+	private void refill()
+	{
+		final long now = clock.getAsLong();
+		final double refilled = (double)(now - lastRefill) * bytesPerSecond / NANOS_PER_SECOND;
+		tokens = Math.min(capacity, tokens + refilled);
+		lastRefill = now;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return unlimited
+			? "TokenBucket[unlimited]"
+			: "TokenBucket[bytesPerSecond=" + bytesPerSecond + ", capacity=" + capacity + "]";
+	}
+
+}
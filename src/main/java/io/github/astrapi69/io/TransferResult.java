@@ -0,0 +1,87 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.util.Objects;
+
+/**
+ * The class {@link TransferResult} holds the number of transferred bytes and the
+ * {@link TransferMode} that was used for the transfer
+ */
+public final class TransferResult
+{
+
+	/** The number of transferred bytes */
+	private final long transferredBytes;
+
+	/** The transfer mode */
+	private final TransferMode transferMode;
+
+	/**
+	 * Instantiates a new {@link TransferResult}
+	 *
+	 * @param transferredBytes
+	 *            the number of transferred bytes
+	 * @param transferMode
+	 *            the transfer mode that was used
+	 */
+	public TransferResult(final long transferredBytes, final TransferMode transferMode)
+	{
+		this.transferredBytes = transferredBytes;
+		this.transferMode = Objects.requireNonNull(transferMode,
+			"TransferMode must not be null");
+	}
+
+	/**
+	 * Gets the number of transferred bytes
+	 *
+	 * @return the number of transferred bytes
+	 */
+	public long getTransferredBytes()
+	{
+		return transferredBytes;
+	}
+
+	/**
+	 * Gets the transfer mode that was used
+	 *
+	 * @return the transfer mode that was used
+	 */
+	public TransferMode getTransferMode()
+	{
+		return transferMode;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "TransferResult{transferredBytes=" + transferredBytes + ", transferMode="
+			+ transferMode + "}";
+	}
+
+}
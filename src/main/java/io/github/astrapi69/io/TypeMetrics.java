@@ -0,0 +1,280 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+/**
+ * The class {@link TypeMetrics} is an immutable snapshot of the serialization metrics of one type
+ * that a {@link SerializationMetricsRecorder} has recorded. The sizes are the sizes of the
+ * serialized form in bytes, also for base64 strings, the latencies are in nanoseconds and the
+ * percentiles have a relative error of at most 12.5 percent
+ */
+public final class TypeMetrics
+{
+
+	/** The name of the type */
+	private final String typeName;
+
+	/** The number of encodings */
+	private final long encodeCount;
+
+	/** The number of decodings */
+	private final long decodeCount;
+
+	/** The sum of the sizes */
+	private final long totalSize;
+
+	/** The median of the sizes */
+	private final long sizeMedian;
+
+	/** The 99th percentile of the sizes */
+	private final long size99thPercentile;
+
+	/** The maximum size */
+	private final long sizeMax;
+
+	/** The median of the encode latencies */
+	private final long encodeLatencyMedian;
+
+	/** The 99th percentile of the encode latencies */
+	private final long encodeLatency99thPercentile;
+
+	/** The maximum encode latency */
+	private final long encodeLatencyMax;
+
+	/** The median of the decode latencies */
+	private final long decodeLatencyMedian;
+
+	/** The 99th percentile of the decode latencies */
+	private final long decodeLatency99thPercentile;
+
+	/** The maximum decode latency */
+	private final long decodeLatencyMax;
+
+	/** The sum of the allocated bytes of the encodings */
+	private final long encodeAllocatedBytes;
+
+	/** The sum of the allocated bytes of the decodings */
+	private final long decodeAllocatedBytes;
+
+	/**
+	 * Instantiates a new {@link TypeMetrics} from the current state of the given histograms
+	 *
+	 * @param typeName
+	 *            the name of the type
+	 * @param sizes
+	 *            the histogram of the sizes
+	 * @param encodeLatencies
+	 *            the histogram of the encode latencies
+	 * @param decodeLatencies
+	 *            the histogram of the decode latencies
+	 * @param encodeAllocatedBytes
+	 *            the sum of the allocated bytes of the encodings
+	 * @param decodeAllocatedBytes
+	 *            the sum of the allocated bytes of the decodings
+	 */
+	TypeMetrics(final String typeName, final Histogram sizes, final Histogram encodeLatencies,
+		final Histogram decodeLatencies, final long encodeAllocatedBytes,
+		final long decodeAllocatedBytes)
+	{
+		this.typeName = typeName;
+		this.encodeCount = encodeLatencies.getCount();
+		this.decodeCount = decodeLatencies.getCount();
+		this.totalSize = sizes.getSum();
+		this.sizeMedian = sizes.getPercentile(0.5);
+		this.size99thPercentile = sizes.getPercentile(0.99);
+		this.sizeMax = sizes.getMax();
+		this.encodeLatencyMedian = encodeLatencies.getPercentile(0.5);
+		this.encodeLatency99thPercentile = encodeLatencies.getPercentile(0.99);
+		this.encodeLatencyMax = encodeLatencies.getMax();
+		this.decodeLatencyMedian = decodeLatencies.getPercentile(0.5);
+		this.decodeLatency99thPercentile = decodeLatencies.getPercentile(0.99);
+		this.decodeLatencyMax = decodeLatencies.getMax();
+		this.encodeAllocatedBytes = encodeAllocatedBytes;
+		this.decodeAllocatedBytes = decodeAllocatedBytes;
+	}
+
+	/**
+	 * Gets the name of the type
+	 *
+	 * @return the name of the type or "null" for null objects
+	 */
+	public String getTypeName()
+	{
+		return typeName;
+	}
+
+	/**
+	 * Gets the number of encodings
+	 *
+	 * @return the number of encodings
+	 */
+	public long getEncodeCount()
+	{
+		return encodeCount;
+	}
+
+	/**
+	 * Gets the number of decodings
+	 *
+	 * @return the number of decodings
+	 */
+	public long getDecodeCount()
+	{
+		return decodeCount;
+	}
+
+	/**
+	 * Gets the sum of the sizes of all encodings and decodings
+	 *
+	 * @return the total size
+	 */
+	public long getTotalSize()
+	{
+		return totalSize;
+	}
+
+	/**
+	 * Gets the median of the sizes
+	 *
+	 * @return the median of the sizes
+	 */
+	public long getSizeMedian()
+	{
+		return sizeMedian;
+	}
+
+	/**
+	 * Gets the 99th percentile of the sizes
+	 *
+	 * @return the 99th percentile of the sizes
+	 */
+	public long getSize99thPercentile()
+	{
+		return size99thPercentile;
+	}
+
+	/**
+	 * Gets the maximum size
+	 *
+	 * @return the maximum size
+	 */
+	public long getSizeMax()
+	{
+		return sizeMax;
+	}
+
+	/**
+	 * Gets the median of the encode latencies
+	 *
+	 * @return the median in nanoseconds
+	 */
+	public long getEncodeLatencyMedian()
+	{
+		return encodeLatencyMedian;
+	}
+
+	/**
+	 * Gets the 99th percentile of the encode latencies
+	 *
+	 * @return the 99th percentile in nanoseconds
+	 */
+	public long getEncodeLatency99thPercentile()
+	{
+		return encodeLatency99thPercentile;
+	}
+
+	/**
+	 * Gets the maximum encode latency
+	 *
+	 * @return the maximum in nanoseconds
+	 */
+	public long getEncodeLatencyMax()
+	{
+		return encodeLatencyMax;
+	}
+
+	/**
+	 * Gets the median of the decode latencies
+	 *
+	 * @return the median in nanoseconds
+	 */
+	public long getDecodeLatencyMedian()
+	{
+		return decodeLatencyMedian;
+	}
+
+	/**
+	 * Gets the 99th percentile of the decode latencies
+	 *
+	 * @return the 99th percentile in nanoseconds
+	 */
+	public long getDecodeLatency99thPercentile()
+	{
+		return decodeLatency99thPercentile;
+	}
+
+	/**
+	 * Gets the maximum decode latency
+	 *
+	 * @return the maximum in nanoseconds
+	 */
+	public long getDecodeLatencyMax()
+	{
+		return decodeLatencyMax;
+	}
+
+	/**
+	 * Gets the sum of the allocated bytes of all encodings
+	 *
+	 * @return the allocated bytes or 0 if allocations are not measured
+	 */
+	public long getEncodeAllocatedBytes()
+	{
+		return encodeAllocatedBytes;
+	}
+
+	/**
+	 * Gets the sum of the allocated bytes of all decodings
+	 *
+	 * @return the allocated bytes or 0 if allocations are not measured
+	 */
+	public long getDecodeAllocatedBytes()
+	{
+		return decodeAllocatedBytes;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "TypeMetrics{typeName=" + typeName + ", encodeCount=" + encodeCount
+			+ ", decodeCount=" + decodeCount + ", sizeMedian=" + sizeMedian + ", sizeMax="
+			+ sizeMax + ", encodeLatencyMedian=" + encodeLatencyMedian
+			+ ", decodeLatencyMedian=" + decodeLatencyMedian + "}";
+	}
+
+}
@@ -0,0 +1,123 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * The class {@link UnsynchronizedStringOutputStream} is a {@link StringOutputStream} without
+ * synchronization for the capture of output from one single thread. An instance must not be
+ * shared between threads without external synchronization
+ */
+public class UnsynchronizedStringOutputStream extends StringOutputStream
+{
+
+	/**
+	 * The serialVersionUID.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Instantiates a new {@link UnsynchronizedStringOutputStream} with the charset UTF-8
+	 */
+	public UnsynchronizedStringOutputStream()
+	{
+		super();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return getByteBuffer().toString(getCharset());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long size()
+	{
+		return getByteBuffer().size();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void reset()
+	{
+		getByteBuffer().reset();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void writeTo(final OutputStream outputStream) throws IOException
+	{
+		getByteBuffer().writeTo(outputStream);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(final byte[] b) throws IOException
+	{
+		getByteBuffer().write(b, 0, b.length);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(final byte[] b, final int off, final int len)
+	{
+		getByteBuffer().write(b, off, len);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(final int b)
+	{
+		getByteBuffer().write(b);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(final CharSequence value) throws IOException
+	{
+		getByteBuffer().write(value, getEncoder());
+	}
+
+}
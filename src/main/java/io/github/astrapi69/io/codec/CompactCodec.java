@@ -0,0 +1,902 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io.codec;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.NotSerializableException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.io.StreamCorruptedException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import io.github.astrapi69.io.annotation.ClassloaderExtensions;
+
+/**
+ * The class {@link CompactCodec} converts records, enums and common JDK types into a compact
+ * binary format without class descriptors. Numbers are written as variable length integers,
+ * strings as UTF-8 and the name of a record or enum class only once per written object.
+ * Supported are the boxed primitives, {@link String}, primitive arrays of byte, int, long and
+ * double, object arrays, {@link BigInteger}, {@link BigDecimal}, {@link UUID}, {@link Date},
+ * {@link Instant}, {@link LocalDate}, {@link LocalTime}, {@link LocalDateTime}, {@link Duration},
+ * the collections {@link ArrayList}, {@link LinkedList}, {@link HashSet}, {@link LinkedHashSet},
+ * {@link HashMap}, {@link LinkedHashMap} and the immutable collections of {@link List#of()},
+ * {@link Set#of()} and {@link Map#of()}, enums and records with components of these types. Any
+ * other {@link Serializable} object is embedded with the java serialization.<br>
+ * The object graph is written as tree, shared references are written as copies and cycles are
+ * not supported
+ */
+public final class CompactCodec implements SerializationCodec
+{
+
+	/** The name of this codec */
+	public static final String NAME = "compact";
+
+	/** The version of the format that is written as first byte */
+	private static final int FORMAT_VERSION = 1;
+
+	/** The maximum nesting depth of the object graph */
+	private static final int MAX_DEPTH = 512;
+
+	/**
+	 * The maximum capacity that is allocated for a collection or an array before its elements are
+	 * read, so a corrupt length can not force a huge allocation
+	 */
+	private static final int MAX_INITIAL_CAPACITY = 4096;
+
+	private static final int NULL = 0;
+	private static final int TRUE = 1;
+	private static final int FALSE = 2;
+	private static final int BYTE = 3;
+	private static final int SHORT = 4;
+	private static final int CHARACTER = 5;
+	private static final int INTEGER = 6;
+	private static final int LONG = 7;
+	private static final int FLOAT = 8;
+	private static final int DOUBLE = 9;
+	private static final int STRING = 10;
+	private static final int BYTE_ARRAY = 11;
+	private static final int INT_ARRAY = 12;
+	private static final int LONG_ARRAY = 13;
+	private static final int DOUBLE_ARRAY = 14;
+	private static final int BIG_INTEGER = 15;
+	private static final int BIG_DECIMAL = 16;
+	private static final int UUID_VALUE = 17;
+	private static final int DATE = 18;
+	private static final int INSTANT = 19;
+	private static final int LOCAL_DATE = 20;
+	private static final int LOCAL_TIME = 21;
+	private static final int LOCAL_DATE_TIME = 22;
+	private static final int DURATION = 23;
+	private static final int ARRAY_LIST = 24;
+	private static final int LINKED_LIST = 25;
+	private static final int HASH_SET = 26;
+	private static final int LINKED_HASH_SET = 27;
+	private static final int HASH_MAP = 28;
+	private static final int LINKED_HASH_MAP = 29;
+	private static final int IMMUTABLE_LIST = 30;
+	private static final int IMMUTABLE_SET = 31;
+	private static final int IMMUTABLE_MAP = 32;
+	private static final int OBJECT_ARRAY = 33;
+	private static final int ENUM = 34;
+	private static final int RECORD = 35;
+	private static final int SERIALIZED = 36;
+
+	/** The tags of the types with a fixed class */
+	private static final Map<Class<?>, Integer> TAGS = newTags();
+
+	/** The cached accessors and constructors of the record classes */
+	private static final ClassValue<RecordInfo> RECORD_INFOS = new ClassValue<>()
+	{
+		@Override
+		protected RecordInfo computeValue(final Class<?> type)
+		{
+			return new RecordInfo(type);
+		}
+	};
+
+	/** The codec for the embedded serializable objects */
+	private static final JavaSerializationCodec JAVA_SERIALIZATION = new JavaSerializationCodec();
+
+	/** The class loader for the read classes or null for the current class loader */
+	private final ClassLoader classLoader;
+
+	/**
+	 * Instantiates a new {@link CompactCodec} that resolves the classes with the current class
+	 * loader
+	 */
+	public CompactCodec()
+	{
+		this(null);
+	}
+
+	/**
+	 * Instantiates a new {@link CompactCodec}
+	 *
+	 * @param classLoader
+	 *            the class loader for the read classes or null for the current class loader
+	 */
+	public CompactCodec(final ClassLoader classLoader)
+	{
+		this.classLoader = classLoader;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getName()
+	{
+		return NAME;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @throws NotSerializableException
+	 *             if the object graph contains an object of a type that is not supported
+	 */
+	@Override
+	public void write(final Object object, final OutputStream outputStream) throws IOException
+	{
+		final DataOutputStream out = new DataOutputStream(outputStream);
+		out.writeByte(FORMAT_VERSION);
+		new Encoder(out).writeValue(object, 0);
+		out.flush();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object read(final InputStream inputStream) throws IOException, ClassNotFoundException
+	{
+		final DataInputStream in = new DataInputStream(inputStream);
+		final int version = in.readUnsignedByte();
+		if (version != FORMAT_VERSION)
+		{
+			throw new StreamCorruptedException("Unsupported compact format version: " + version);
+		}
+		final ClassLoader loader = classLoader != null
+			? classLoader
+			: ClassloaderExtensions.getClassLoader();
+		return new Decoder(in, loader).readValue(0);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "CompactCodec";
+	}
+
+	private static Map<Class<?>, Integer> newTags()
+	{
+		final Map<Class<?>, Integer> tags = new IdentityHashMap<>();
+		tags.put(Boolean.class, TRUE);
+		tags.put(Byte.class, BYTE);
+		tags.put(Short.class, SHORT);
+		tags.put(Character.class, CHARACTER);
+		tags.put(Integer.class, INTEGER);
+		tags.put(Long.class, LONG);
+		tags.put(Float.class, FLOAT);
+		tags.put(Double.class, DOUBLE);
+		tags.put(String.class, STRING);
+		tags.put(byte[].class, BYTE_ARRAY);
+		tags.put(int[].class, INT_ARRAY);
+		tags.put(long[].class, LONG_ARRAY);
+		tags.put(double[].class, DOUBLE_ARRAY);
+		tags.put(BigInteger.class, BIG_INTEGER);
+		tags.put(BigDecimal.class, BIG_DECIMAL);
+		tags.put(UUID.class, UUID_VALUE);
+		tags.put(Date.class, DATE);
+		tags.put(Instant.class, INSTANT);
+		tags.put(LocalDate.class, LOCAL_DATE);
+		tags.put(LocalTime.class, LOCAL_TIME);
+		tags.put(LocalDateTime.class, LOCAL_DATE_TIME);
+		tags.put(Duration.class, DURATION);
+		tags.put(ArrayList.class, ARRAY_LIST);
+		tags.put(LinkedList.class, LINKED_LIST);
+		tags.put(HashSet.class, HASH_SET);
+		tags.put(LinkedHashSet.class, LINKED_HASH_SET);
+		tags.put(HashMap.class, HASH_MAP);
+		tags.put(LinkedHashMap.class, LINKED_HASH_MAP);
+		// the immutable collections have one class for small and one for other sizes
+		tags.put(List.of().getClass(), IMMUTABLE_LIST);
+		tags.put(List.of(0).getClass(), IMMUTABLE_LIST);
+		tags.put(Set.of().getClass(), IMMUTABLE_SET);
+		tags.put(Set.of(0).getClass(), IMMUTABLE_SET);
+		tags.put(Map.of().getClass(), IMMUTABLE_MAP);
+		tags.put(Map.of(0, 0).getClass(), IMMUTABLE_MAP);
+		return tags;
+	}
+
+	/**
+	 * The cached accessors and the canonical constructor of a record class
+	 */
+	private static final class RecordInfo
+	{
+
+		private final Method[] accessors;
+
+		private final Constructor<?> constructor;
+
+		RecordInfo(final Class<?> type)
+		{
+			final RecordComponent[] components = type.getRecordComponents();
+			accessors = new Method[components.length];
+			final Class<?>[] parameterTypes = new Class<?>[components.length];
+			for (int i = 0; i < components.length; i++)
+			{
+				accessors[i] = components[i].getAccessor();
+				accessors[i].trySetAccessible();
+				parameterTypes[i] = components[i].getType();
+			}
+			try
+			{
+				constructor = type.getDeclaredConstructor(parameterTypes);
+			}
+			catch (NoSuchMethodException exception)
+			{
+				throw new IllegalStateException(
+					"Record " + type.getName() + " has no canonical constructor", exception);
+			}
+			constructor.trySetAccessible();
+		}
+
+	}
+
+	/**
+	 * The encoder for one written object graph
+	 */
+	private static final class Encoder
+	{
+
+		private final DataOutputStream out;
+
+		/** The indexes of the already written classes */
+		private final Map<Class<?>, Integer> classes = new HashMap<>();
+
+		Encoder(final DataOutputStream out)
+		{
+			this.out = out;
+		}
+
+		void writeValue(final Object value, final int depth) throws IOException
+		{
+			if (MAX_DEPTH < depth)
+			{
+				throw new NotSerializableException(
+					"Object graph is nested deeper than " + MAX_DEPTH + " levels");
+			}
+			if (value == null)
+			{
+				out.writeByte(NULL);
+				return;
+			}
+			final Class<?> type = value.getClass();
+			final Integer tag = TAGS.get(type);
+			if (tag != null)
+			{
+				writeTagged(tag, value, depth);
+			}
+			else if (value instanceof Enum)
+			{
+				out.writeByte(ENUM);
+				writeClass(((Enum<?>)value).getDeclaringClass());
+				writeString(((Enum<?>)value).name());
+			}
+			else if (type.isRecord())
+			{
+				writeRecord(type, value, depth);
+			}
+			else if (value instanceof Object[])
+			{
+				final Object[] array = (Object[])value;
+				out.writeByte(OBJECT_ARRAY);
+				writeClass(type.getComponentType());
+				writeLength(array.length);
+				for (final Object element : array)
+				{
+					writeValue(element, depth + 1);
+				}
+			}
+			else if (value instanceof Serializable)
+			{
+				final byte[] bytes = JAVA_SERIALIZATION.toByteArray(value);
+				out.writeByte(SERIALIZED);
+				writeLength(bytes.length);
+				out.write(bytes);
+			}
+			else
+			{
+				throw new NotSerializableException(type.getName());
+			}
+		}
+
+		private void writeTagged(final int tag, final Object value, final int depth)
+			throws IOException
+		{
+			switch (tag)
+			{
+				case TRUE :
+					out.writeByte((Boolean)value ? TRUE : FALSE);
+					return;
+				case BYTE :
+					out.writeByte(tag);
+					out.writeByte((Byte)value);
+					return;
+				case SHORT :
+					out.writeByte(tag);
+					out.writeShort((Short)value);
+					return;
+				case CHARACTER :
+					out.writeByte(tag);
+					out.writeChar((Character)value);
+					return;
+				case FLOAT :
+					out.writeByte(tag);
+					out.writeFloat((Float)value);
+					return;
+				case DOUBLE :
+					out.writeByte(tag);
+					out.writeDouble((Double)value);
+					return;
+				default :
+					break;
+			}
+			out.writeByte(tag);
+			switch (tag)
+			{
+				case INTEGER :
+					writeSignedVarLong((Integer)value);
+					break;
+				case LONG :
+					writeSignedVarLong((Long)value);
+					break;
+				case STRING :
+					writeString((String)value);
+					break;
+				case BYTE_ARRAY :
+					writeBytes((byte[])value);
+					break;
+				case INT_ARRAY :
+					final int[] ints = (int[])value;
+					writeLength(ints.length);
+					for (final int element : ints)
+					{
+						writeSignedVarLong(element);
+					}
+					break;
+				case LONG_ARRAY :
+					final long[] longs = (long[])value;
+					writeLength(longs.length);
+					for (final long element : longs)
+					{
+						writeSignedVarLong(element);
+					}
+					break;
+				case DOUBLE_ARRAY :
+					final double[] doubles = (double[])value;
+					writeLength(doubles.length);
+					for (final double element : doubles)
+					{
+						out.writeDouble(element);
+					}
+					break;
+				case BIG_INTEGER :
+					writeBytes(((BigInteger)value).toByteArray());
+					break;
+				case BIG_DECIMAL :
+					final BigDecimal bigDecimal = (BigDecimal)value;
+					writeSignedVarLong(bigDecimal.scale());
+					writeBytes(bigDecimal.unscaledValue().toByteArray());
+					break;
+				case UUID_VALUE :
+					out.writeLong(((UUID)value).getMostSignificantBits());
+					out.writeLong(((UUID)value).getLeastSignificantBits());
+					break;
+				case DATE :
+					writeSignedVarLong(((Date)value).getTime());
+					break;
+				case INSTANT :
+					writeSignedVarLong(((Instant)value).getEpochSecond());
+					writeVarLong(((Instant)value).getNano());
+					break;
+				case LOCAL_DATE :
+					writeSignedVarLong(((LocalDate)value).toEpochDay());
+					break;
+				case LOCAL_TIME :
+					writeVarLong(((LocalTime)value).toNanoOfDay());
+					break;
+				case LOCAL_DATE_TIME :
+					writeSignedVarLong(((LocalDateTime)value).toLocalDate().toEpochDay());
+					writeVarLong(((LocalDateTime)value).toLocalTime().toNanoOfDay());
+					break;
+				case DURATION :
+					writeSignedVarLong(((Duration)value).getSeconds());
+					writeVarLong(((Duration)value).getNano());
+					break;
+				case ARRAY_LIST :
+				case LINKED_LIST :
+				case HASH_SET :
+				case LINKED_HASH_SET :
+				case IMMUTABLE_LIST :
+				case IMMUTABLE_SET :
+					final Collection<?> collection = (Collection<?>)value;
+					writeLength(collection.size());
+					for (final Object element : collection)
+					{
+						writeValue(element, depth + 1);
+					}
+					break;
+				default :
+					final Map<?, ?> map = (Map<?, ?>)value;
+					writeLength(map.size());
+					for (final Map.Entry<?, ?> entry : map.entrySet())
+					{
+						writeValue(entry.getKey(), depth + 1);
+						writeValue(entry.getValue(), depth + 1);
+					}
+					break;
+			}
+		}
+
+		private void writeRecord(final Class<?> type, final Object value, final int depth)
+			throws IOException
+		{
+			final RecordInfo recordInfo = RECORD_INFOS.get(type);
+			out.writeByte(RECORD);
+			writeClass(type);
+			for (final Method accessor : recordInfo.accessors)
+			{
+				final Object component;
+				try
+				{
+					component = accessor.invoke(value);
+				}
+				catch (IllegalAccessException | InvocationTargetException exception)
+				{
+					throw new IOException("Can not read component " + accessor.getName()
+						+ " of record " + type.getName(), exception);
+				}
+				writeValue(component, depth + 1);
+			}
+		}
+
+		private void writeClass(final Class<?> type) throws IOException
+		{
+			final Integer index = classes.get(type);
+			if (index != null)
+			{
+				writeVarLong(index);
+				return;
+			}
+			classes.put(type, classes.size() + 1);
+			writeVarLong(0);
+			writeString(type.getName());
+		}
+
+		private void writeString(final String value) throws IOException
+		{
+			writeBytes(value.getBytes(StandardCharsets.UTF_8));
+		}
+
+		private void writeBytes(final byte[] bytes) throws IOException
+		{
+			writeLength(bytes.length);
+			out.write(bytes);
+		}
+
+		private void writeLength(final int length) throws IOException
+		{
+			writeVarLong(length);
+		}
+
+		private void writeSignedVarLong(final long value) throws IOException
+		{
+			writeVarLong((value << 1) ^ (value >> 63));
+		}
+
+		private void writeVarLong(long value) throws IOException
+		{
+			while ((value & ~0x7FL) != 0)
+			{
+				out.writeByte((int)((value & 0x7F) | 0x80));
+				value >>>= 7;
+			}
+			out.writeByte((int)value);
+		}
+
+	}
+
+	/**
+	 * The decoder for one read object graph
+	 */
+	private static final class Decoder
+	{
+
+		private final DataInputStream in;
+
+		private final ClassLoader classLoader;
+
+		/** The already read classes in the order of their indexes */
+		private final List<Class<?>> classes = new ArrayList<>();
+
+		Decoder(final DataInputStream in, final ClassLoader classLoader)
+		{
+			this.in = in;
+			this.classLoader = classLoader;
+		}
+
+		Object readValue(final int depth) throws IOException, ClassNotFoundException
+		{
+			if (MAX_DEPTH < depth)
+			{
+				throw new StreamCorruptedException(
+					"Object graph is nested deeper than " + MAX_DEPTH + " levels");
+			}
+			final int tag = in.readUnsignedByte();
+			switch (tag)
+			{
+				case NULL :
+					return null;
+				case TRUE :
+					return Boolean.TRUE;
+				case FALSE :
+					return Boolean.FALSE;
+				case BYTE :
+					return in.readByte();
+				case SHORT :
+					return in.readShort();
+				case CHARACTER :
+					return in.readChar();
+				case INTEGER :
+					return (int)readSignedVarLong();
+				case LONG :
+					return readSignedVarLong();
+				case FLOAT :
+					return in.readFloat();
+				case DOUBLE :
+					return in.readDouble();
+				case STRING :
+					return readString();
+				case BYTE_ARRAY :
+					return readBytes();
+				case INT_ARRAY :
+					return readIntArray();
+				case LONG_ARRAY :
+					return readLongArray();
+				case DOUBLE_ARRAY :
+					return readDoubleArray();
+				case BIG_INTEGER :
+					return new BigInteger(readBytes());
+				case BIG_DECIMAL :
+					final int scale = (int)readSignedVarLong();
+					return new BigDecimal(new BigInteger(readBytes()), scale);
+				case UUID_VALUE :
+					return new UUID(in.readLong(), in.readLong());
+				case DATE :
+					return new Date(readSignedVarLong());
+				case INSTANT :
+					return Instant.ofEpochSecond(readSignedVarLong(), readVarLong());
+				case LOCAL_DATE :
+					return LocalDate.ofEpochDay(readSignedVarLong());
+				case LOCAL_TIME :
+					return LocalTime.ofNanoOfDay(readVarLong());
+				case LOCAL_DATE_TIME :
+					final LocalDate date = LocalDate.ofEpochDay(readSignedVarLong());
+					return LocalDateTime.of(date, LocalTime.ofNanoOfDay(readVarLong()));
+				case DURATION :
+					return Duration.ofSeconds(readSignedVarLong(), readVarLong());
+				case ARRAY_LIST :
+				case LINKED_LIST :
+				case HASH_SET :
+				case LINKED_HASH_SET :
+				case IMMUTABLE_LIST :
+				case IMMUTABLE_SET :
+					return readCollection(tag, depth);
+				case HASH_MAP :
+				case LINKED_HASH_MAP :
+				case IMMUTABLE_MAP :
+					return readMap(tag, depth);
+				case OBJECT_ARRAY :
+					return readObjectArray(depth);
+				case ENUM :
+					return readEnum();
+				case RECORD :
+					return readRecord(depth);
+				case SERIALIZED :
+					return JAVA_SERIALIZATION.toObject(readBytes());
+				default :
+					throw new StreamCorruptedException("Unknown type tag: " + tag);
+			}
+		}
+
+		private Collection<Object> readCollection(final int tag, final int depth)
+			throws IOException, ClassNotFoundException
+		{
+			final int size = readLength();
+			final int capacity = Math.min(size, MAX_INITIAL_CAPACITY);
+			final Collection<Object> collection = switch (tag)
+			{
+				case LINKED_LIST -> new LinkedList<>();
+				case HASH_SET -> new HashSet<>(capacity);
+				case LINKED_HASH_SET -> new LinkedHashSet<>(capacity);
+				default -> new ArrayList<>(capacity);
+			};
+			for (int i = 0; i < size; i++)
+			{
+				collection.add(readValue(depth + 1));
+			}
+			switch (tag)
+			{
+				case IMMUTABLE_LIST :
+					// Stream.toList() creates immutable lists that contain null elements
+					return collection.contains(null)
+						? Collections.unmodifiableList((List<Object>)collection)
+						: List.copyOf(collection);
+				case IMMUTABLE_SET :
+					return Set.copyOf(collection);
+				default :
+					return collection;
+			}
+		}
+
+		private Map<Object, Object> readMap(final int tag, final int depth)
+			throws IOException, ClassNotFoundException
+		{
+			final int size = readLength();
+			final int capacity = Math.min(size, MAX_INITIAL_CAPACITY);
+			final Map<Object, Object> map = tag == LINKED_HASH_MAP
+				? new LinkedHashMap<>(capacity)
+				: new HashMap<>(capacity);
+			for (int i = 0; i < size; i++)
+			{
+				final Object key = readValue(depth + 1);
+				map.put(key, readValue(depth + 1));
+			}
+			return tag == IMMUTABLE_MAP ? Map.copyOf(map) : map;
+		}
+
+		private int[] readIntArray() throws IOException
+		{
+			final int length = readLength();
+			int[] ints = new int[Math.min(length, MAX_INITIAL_CAPACITY)];
+			for (int i = 0; i < length; i++)
+			{
+				if (i == ints.length)
+				{
+					ints = Arrays.copyOf(ints, grownCapacity(ints.length, length));
+				}
+				ints[i] = (int)readSignedVarLong();
+			}
+			return ints;
+		}
+
+		private long[] readLongArray() throws IOException
+		{
+			final int length = readLength();
+			long[] longs = new long[Math.min(length, MAX_INITIAL_CAPACITY)];
+			for (int i = 0; i < length; i++)
+			{
+				if (i == longs.length)
+				{
+					longs = Arrays.copyOf(longs, grownCapacity(longs.length, length));
+				}
+				longs[i] = readSignedVarLong();
+			}
+			return longs;
+		}
+
+		private double[] readDoubleArray() throws IOException
+		{
+			final int length = readLength();
+			double[] doubles = new double[Math.min(length, MAX_INITIAL_CAPACITY)];
+			for (int i = 0; i < length; i++)
+			{
+				if (i == doubles.length)
+				{
+					doubles = Arrays.copyOf(doubles, grownCapacity(doubles.length, length));
+				}
+				doubles[i] = in.readDouble();
+			}
+			return doubles;
+		}
+
+		private Object readObjectArray(final int depth) throws IOException, ClassNotFoundException
+		{
+			final Class<?> componentType = readClass();
+			final int length = readLength();
+			Object[] array = (Object[])Array.newInstance(componentType,
+				Math.min(length, MAX_INITIAL_CAPACITY));
+			try
+			{
+				for (int i = 0; i < length; i++)
+				{
+					if (i == array.length)
+					{
+						array = Arrays.copyOf(array, grownCapacity(array.length, length));
+					}
+					array[i] = readValue(depth + 1);
+				}
+			}
+			catch (ArrayStoreException exception)
+			{
+				throw new StreamCorruptedException(
+					"Element does not match the array type " + componentType.getName());
+			}
+			return array;
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private Object readEnum() throws IOException, ClassNotFoundException
+		{
+			final Class<?> type = readClass();
+			final String name = readString();
+			if (!type.isEnum())
+			{
+				throw new StreamCorruptedException(type.getName() + " is not an enum");
+			}
+			try
+			{
+				return Enum.valueOf((Class)type, name);
+			}
+			catch (IllegalArgumentException exception)
+			{
+				throw new StreamCorruptedException(
+					"Enum " + type.getName() + " has no constant " + name);
+			}
+		}
+
+		private Object readRecord(final int depth) throws IOException, ClassNotFoundException
+		{
+			final Class<?> type = readClass();
+			if (!type.isRecord())
+			{
+				throw new StreamCorruptedException(type.getName() + " is not a record");
+			}
+			final RecordInfo recordInfo = RECORD_INFOS.get(type);
+			final Object[] components = new Object[recordInfo.accessors.length];
+			for (int i = 0; i < components.length; i++)
+			{
+				components[i] = readValue(depth + 1);
+			}
+			try
+			{
+				return recordInfo.constructor.newInstance(components);
+			}
+			catch (ReflectiveOperationException | IllegalArgumentException exception)
+			{
+				throw new IOException("Can not create record " + type.getName(), exception);
+			}
+		}
+
+		private Class<?> readClass() throws IOException, ClassNotFoundException
+		{
+			final long index = readVarLong();
+			if (index == 0)
+			{
+				final Class<?> type = Class.forName(readString(), false, classLoader);
+				classes.add(type);
+				return type;
+			}
+			if (classes.size() < index)
+			{
+				throw new StreamCorruptedException("Unknown class index: " + index);
+			}
+			return classes.get((int)index - 1);
+		}
+
+		private String readString() throws IOException
+		{
+			return new String(readBytes(), StandardCharsets.UTF_8);
+		}
+
+		private byte[] readBytes() throws IOException
+		{
+			final int length = readLength();
+			final byte[] bytes = in.readNBytes(length);
+			if (bytes.length != length)
+			{
+				throw new StreamCorruptedException("Unexpected end of data");
+			}
+			return bytes;
+		}
+
+		/**
+		 * Gets the capacity of an array that is grown while its elements are read, the capacity is
+		 * doubled but does not exceed the given length
+		 */
+		private static int grownCapacity(final int capacity, final int length)
+		{
+			return (int)Math.min(length, capacity * 2L);
+		}
+
+		private int readLength() throws IOException
+		{
+			final long length = readVarLong();
+			if (Integer.MAX_VALUE - 8 < length || length < 0)
+			{
+				throw new StreamCorruptedException("Invalid length: " + length);
+			}
+			return (int)length;
+		}
+
+		private long readSignedVarLong() throws IOException
+		{
+			final long value = readVarLong();
+			return (value >>> 1) ^ -(value & 1);
+		}
+
+		private long readVarLong() throws IOException
+		{
+			long value = 0;
+			for (int shift = 0; shift < 64; shift += 7)
+			{
+				final int b = in.readUnsignedByte();
+				value |= (long)(b & 0x7F) << shift;
+				if ((b & 0x80) == 0)
+				{
+					return value;
+				}
+			}
+			throw new StreamCorruptedException("Malformed variable length integer");
+		}
+
+	}
+
+}
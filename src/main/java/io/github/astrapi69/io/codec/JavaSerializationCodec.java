@@ -0,0 +1,91 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io.codec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+
+/**
+ * The class {@link JavaSerializationCodec} converts objects with the java serialization of
+ * {@link ObjectOutputStream} and {@link ObjectInputStream}. It supports every
+ * {@link java.io.Serializable} object graph and is the default codec for compatibility with data
+ * that was written before
+ */
+public final class JavaSerializationCodec implements SerializationCodec
+{
+
+	/** The name of this codec */
+	public static final String NAME = "java";
+
+	/**
+	 * Instantiates a new {@link JavaSerializationCodec}
+	 */
+	public JavaSerializationCodec()
+	{
+		super();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getName()
+	{
+		return NAME;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(final Object object, final OutputStream outputStream) throws IOException
+	{
+		final ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream);
+		objectOutputStream.writeObject(object);
+		objectOutputStream.flush();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object read(final InputStream inputStream) throws IOException, ClassNotFoundException
+	{
+		return new ObjectInputStream(inputStream).readObject();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "JavaSerializationCodec";
+	}
+
+}
@@ -0,0 +1,106 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import io.github.astrapi69.io.SegmentedByteArrayOutputStream;
+
+/**
+ * The interface {@link SerializationCodec} converts objects to bytes and back. Implementations
+ * must be thread safe, so one instance can be shared
+ */
+public interface SerializationCodec
+{
+
+	/**
+	 * Gets the name of this codec
+	 *
+	 * @return the name of this codec
+	 */
+	String getName();
+
+	/**
+	 * Writes the given object to the given output stream. The output stream is flushed but not
+	 * closed
+	 *
+	 * @param object
+	 *            the object to write
+	 * @param outputStream
+	 *            the output stream
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	void write(Object object, OutputStream outputStream) throws IOException;
+
+	/**
+	 * Reads one object from the given input stream. The input stream is not closed
+	 *
+	 * @param inputStream
+	 *            the input stream
+	 * @return the read object
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws ClassNotFoundException
+	 *             is thrown when a class of the read object is not found
+	 */
+	Object read(InputStream inputStream) throws IOException, ClassNotFoundException;
+
+	/**
+	 * Converts the given object to a byte array
+	 *
+	 * @param object
+	 *            the object to convert
+	 * @return the byte array
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	default byte[] toByteArray(final Object object) throws IOException
+	{
+		final SegmentedByteArrayOutputStream outputStream = new SegmentedByteArrayOutputStream();
+		write(object, outputStream);
+		return outputStream.toByteArray();
+	}
+
+	/**
+	 * Converts the given byte array to an object
+	 *
+	 * @param byteArray
+	 *            the byte array to convert
+	 * @return the object
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws ClassNotFoundException
+	 *             is thrown when a class of the read object is not found
+	 */
+	default Object toObject(final byte[] byteArray) throws IOException, ClassNotFoundException
+	{
+		return read(new ByteArrayInputStream(byteArray));
+	}
+
+}
@@ -114,10 +114,11 @@ public final class CommandLineExecutor
 
 		Process process = processBuilder.start();
 
-		// Use TeeOutputStream to duplicate the output stream
+		// Use TeeOutputStream to duplicate the output stream, the output is collected in the
+		// StringBuilder so the original stream discards the bytes instead of buffering them again
 		StringBuilder output = new StringBuilder();
 		try (InputStream processOutput = process.getInputStream();
-			TeeOutputStream teeOutputStream = new TeeOutputStream(new ByteArrayOutputStream(),
+			TeeOutputStream teeOutputStream = new TeeOutputStream(OutputStream.nullOutputStream(),
 				additionalOutput);
 			BufferedReader reader = new BufferedReader(new InputStreamReader(processOutput)))
 		{
@@ -20,8 +20,12 @@
  */
 module io.github.astrapisixtynine.silly.io
 {
+	requires static transitive java.management;
+	requires static jdk.management;
+
 	exports io.github.astrapi69.io;
 	exports io.github.astrapi69.io.annotation;
+	exports io.github.astrapi69.io.codec;
 	exports io.github.astrapi69.io.file;
 	exports io.github.astrapi69.io.file.filter;
 	exports io.github.astrapi69.io.file.namefilter;
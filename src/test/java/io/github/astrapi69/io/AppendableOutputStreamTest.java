@@ -0,0 +1,103 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.StringWriter;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link AppendableOutputStream}
+ */
+public class AppendableOutputStreamTest
+{
+
+	/**
+	 * Test method for {@link AppendableOutputStream#write(byte[], int, int)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testWrite() throws IOException
+	{
+		final byte[] bytes = new byte[3000];
+		for (int i = 0; i < bytes.length; i++)
+		{
+			bytes[i] = (byte)('a' + i % 26);
+		}
+		final String expected = new String(bytes, 1, 2998, "ISO-8859-1");
+
+		final StringBuilder builder = new StringBuilder();
+		final StringWriter writer = new StringWriter();
+		final CharBuffer charBuffer = CharBuffer.allocate(3000);
+		for (final Appendable appendable : List.<Appendable> of(builder, writer, charBuffer))
+		{
+			try (AppendableOutputStream outputStream = new AppendableOutputStream(appendable))
+			{
+				outputStream.write(bytes, 1, 2998);
+				outputStream.write(0xE9);
+			}
+		}
+		assertEquals(expected + "é", builder.toString());
+		assertEquals(expected + "é", writer.toString());
+		assertEquals(expected + "é", charBuffer.flip().toString());
+	}
+
+	/**
+	 * Test method for {@link SerializedObjectExtensions#writeBase64(Object, Appendable)} and
+	 * {@link SerializedObjectExtensions#toBase64EncodedString(Serializable)} that must be equal to
+	 * the base64 encoding of the serialized byte array
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testWriteBase64() throws IOException
+	{
+		final ArrayList<String> object = new ArrayList<>();
+		for (int i = 0; i < 20_000; i++)
+		{
+			object.add("value" + i);
+		}
+		final String expected = Base64.getEncoder()
+			.encodeToString(SerializedObjectExtensions.toByteArray(object));
+		assertEquals(expected, SerializedObjectExtensions.toBase64EncodedString(object));
+		final StringWriter writer = new StringWriter();
+		SerializedObjectExtensions.writeBase64(object, writer);
+		assertEquals(expected, writer.toString());
+		assertEquals(Base64.getEncoder().encodeToString(SerializedObjectExtensions.toByteArray(1)),
+			SerializedObjectExtensions.toBase64EncodedString(1));
+	}
+
+}
@@ -0,0 +1,133 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link AsyncFileExtensions}
+ */
+public class AsyncFileExtensionsTest
+{
+
+	/**
+	 * Test method for {@link AsyncFileExtensions#readAllBytesAsync(Path)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testReadAllBytesAsync() throws IOException
+	{
+		final byte[] expected = new byte[150_000];
+		new Random(21).nextBytes(expected);
+		final Path path = new File(".", "testReadAllBytesAsync.dat").toPath();
+		Files.write(path, expected);
+
+		assertArrayEquals(expected, AsyncFileExtensions.readAllBytesAsync(path).join());
+		FileUtils.deleteQuietly(path.toFile());
+	}
+
+	/**
+	 * Test method for {@link AsyncFileExtensions#readAllBytesAsync(Path)} with a file that does
+	 * not exist
+	 */
+	@Test
+	public void testReadAllBytesAsyncFileNotExists()
+	{
+		final Path path = new File(".", "testReadAllBytesAsyncFileNotExists.dat").toPath();
+		final CompletionException exception = assertThrows(CompletionException.class,
+			() -> AsyncFileExtensions.readAllBytesAsync(path).join());
+		assertTrue(exception.getCause() instanceof NoSuchFileException);
+	}
+
+	/**
+	 * Test method for {@link AsyncFileExtensions#writeAsync(Path, ByteBuffer, ExecutorService)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testWriteAsync() throws IOException
+	{
+		final byte[] expected = new byte[70_000];
+		new Random(23).nextBytes(expected);
+		final Path path = new File(".", "testWriteAsync.dat").toPath();
+		Files.write(path, new byte[100_000]);
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try
+		{
+			final long written = AsyncFileExtensions
+				.writeAsync(path, ByteBuffer.wrap(expected), executor).join();
+			assertEquals(expected.length, written);
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+		assertArrayEquals(expected, Files.readAllBytes(path));
+		FileUtils.deleteQuietly(path.toFile());
+	}
+
+	/**
+	 * Test method for {@link AsyncFileExtensions#copyAsync(Path, Path)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testCopyAsync() throws IOException
+	{
+		final byte[] expected = new byte[StreamExtensions.DEFAULT_BUFFER_SIZE * 3 + 99];
+		new Random(25).nextBytes(expected);
+		final Path source = new File(".", "testCopyAsync.in").toPath();
+		final Path target = new File(".", "testCopyAsync.out").toPath();
+		Files.write(source, expected);
+
+		final long copied = AsyncFileExtensions.copyAsync(source, target).join();
+		assertEquals(expected.length, copied);
+		assertArrayEquals(expected, Files.readAllBytes(target));
+		FileUtils.deleteQuietly(source.toFile());
+		FileUtils.deleteQuietly(target.toFile());
+	}
+
+}
@@ -0,0 +1,213 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link AtomicFileOutputStream}
+ */
+public class AtomicFileOutputStreamTest
+{
+
+	/**
+	 * Test method for {@link AtomicFileOutputStream#commit()}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testClose() throws IOException
+	{
+		final Path directory = Files.createDirectories(new File(".", "testAtomicClose").toPath());
+		final Path target = directory.resolve("atomic.txt");
+		Files.write(target, "old".getBytes(StandardCharsets.UTF_8));
+		try (AtomicFileOutputStream out = new AtomicFileOutputStream(target))
+		{
+			out.write("new content".getBytes(StandardCharsets.UTF_8));
+			out.flush();
+			assertEquals("old", Files.readString(target));
+			out.commit();
+		}
+		assertEquals("new content", Files.readString(target));
+		assertEquals(1, countFiles(directory));
+		FileUtils.deleteQuietly(directory.toFile());
+	}
+
+	/**
+	 * Test method for {@link StreamExtensions#getAtomicOutputStream(Path, boolean)} with the
+	 * force flag set and a target file that does not exist
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testCloseWithForce() throws IOException
+	{
+		final Path directory = Files.createDirectories(new File(".", "testAtomicForce").toPath());
+		final Path target = directory.resolve("forced.bin");
+		final byte[] expected = new byte[StreamExtensions.DEFAULT_BUFFER_SIZE * 2 + 17];
+		for (int i = 0; i < expected.length; i++)
+		{
+			expected[i] = (byte)i;
+		}
+		try (AtomicFileOutputStream out = StreamExtensions.getAtomicOutputStream(target, true))
+		{
+			out.write(expected);
+			assertFalse(Files.exists(target));
+			out.commit();
+		}
+		assertArrayEquals(expected, Files.readAllBytes(target));
+		assertEquals(1, countFiles(directory));
+		FileUtils.deleteQuietly(directory.toFile());
+	}
+
+	/**
+	 * Test method for {@link AtomicFileOutputStream#commit()} that keeps the POSIX file permissions
+	 * of the replaced target file
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testCloseKeepsPermissions() throws IOException
+	{
+		final Path directory = Files
+			.createDirectories(new File(".", "testAtomicPermissions").toPath());
+		final Path target = directory.resolve("permissions.txt");
+		Files.write(target, "old".getBytes(StandardCharsets.UTF_8));
+		if (Files.getFileAttributeView(target, PosixFileAttributeView.class) == null)
+		{
+			// no POSIX file permissions on this platform
+			FileUtils.deleteQuietly(directory.toFile());
+			return;
+		}
+		final Set<PosixFilePermission> expected = PosixFilePermissions.fromString("rw-r-----");
+		Files.setPosixFilePermissions(target, expected);
+		try (AtomicFileOutputStream out = StreamExtensions.getAtomicOutputStream(target, true))
+		{
+			out.write("new".getBytes(StandardCharsets.UTF_8));
+			out.commit();
+		}
+		assertEquals("new", Files.readString(target));
+		assertEquals(expected, Files.getPosixFilePermissions(target));
+		FileUtils.deleteQuietly(directory.toFile());
+	}
+
+	/**
+	 * Test method for {@link AtomicFileOutputStream#close()} without a commit after an exception
+	 * in the try-with-resources block
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testCloseWithoutCommit() throws IOException
+	{
+		final Path directory = Files
+			.createDirectories(new File(".", "testAtomicCloseWithoutCommit").toPath());
+		final Path target = directory.resolve("unchanged.txt");
+		Files.write(target, "old".getBytes(StandardCharsets.UTF_8));
+		assertThrows(IllegalStateException.class, () -> {
+			try (AtomicFileOutputStream out = new AtomicFileOutputStream(target))
+			{
+				out.write("partial".getBytes(StandardCharsets.UTF_8));
+				throw new IllegalStateException("failure while writing");
+			}
+		});
+		assertEquals("old", Files.readString(target));
+		assertEquals(1, countFiles(directory));
+		FileUtils.deleteQuietly(directory.toFile());
+	}
+
+	/**
+	 * Test method for {@link AtomicFileOutputStream#abort()}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testAbort() throws IOException
+	{
+		final Path directory = Files.createDirectories(new File(".", "testAtomicAbort").toPath());
+		final Path target = directory.resolve("aborted.txt");
+		Files.write(target, "old".getBytes(StandardCharsets.UTF_8));
+		final AtomicFileOutputStream out = new AtomicFileOutputStream(target);
+		out.write("discarded".getBytes(StandardCharsets.UTF_8));
+		out.abort();
+		out.close();
+		assertEquals("old", Files.readString(target));
+		assertEquals(1, countFiles(directory));
+		assertThrows(IOException.class, () -> out.write(1));
+		FileUtils.deleteQuietly(directory.toFile());
+	}
+
+	/**
+	 * Test method for {@link AtomicFileOutputStream#getTarget()}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testGetTarget() throws IOException
+	{
+		final Path target = new File(".", "testAtomicGetTarget.txt").toPath();
+		try (AtomicFileOutputStream out = new AtomicFileOutputStream(target))
+		{
+			assertEquals(target.toAbsolutePath(), out.getTarget());
+			out.commit();
+		}
+		assertTrue(Files.exists(target));
+		assertEquals(0, Files.size(target));
+		FileUtils.deleteQuietly(target.toFile());
+	}
+
+	private long countFiles(final Path directory) throws IOException
+	{
+		try (Stream<Path> files = Files.list(directory))
+		{
+			return files.count();
+		}
+	}
+
+}
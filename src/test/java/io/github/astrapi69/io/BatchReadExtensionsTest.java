@@ -0,0 +1,162 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link BatchReadExtensions}
+ */
+public class BatchReadExtensionsTest
+{
+
+	/**
+	 * Test method for {@link BatchReadExtensions#readAll(java.util.Collection, int)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testReadAll() throws IOException
+	{
+		final File directory = new File(".", "testReadAll");
+		directory.mkdirs();
+		final List<Path> paths = new ArrayList<>();
+		for (int index = 0; index < 50; index++)
+		{
+			final Path path = new File(directory, "resource" + index + ".txt").toPath();
+			Files.write(path, ("content " + index).getBytes(StandardCharsets.UTF_8));
+			paths.add(path);
+		}
+		final Path missing = new File(directory, "missing.txt").toPath();
+		paths.add(7, missing);
+
+		final BatchReadResult result = BatchReadExtensions.readAll(paths, 4);
+		assertEquals(51, result.size());
+		assertEquals(paths, result.getPaths());
+		assertTrue(result.hasFailures());
+		assertEquals(1, result.getFailures().size());
+		assertEquals(missing, result.getFailures().get(0).getKey());
+		assertTrue(result.getFailures().get(0).getValue() instanceof NoSuchFileException);
+		assertNull(result.getContent(7));
+		assertTrue(result.getFailure(7) instanceof NoSuchFileException);
+		assertArrayEquals("content 6".getBytes(StandardCharsets.UTF_8), result.getContent(6));
+		assertArrayEquals("content 7".getBytes(StandardCharsets.UTF_8), result.getContent(8));
+		assertArrayEquals("content 49".getBytes(StandardCharsets.UTF_8), result.getContent(50));
+		FileUtils.deleteQuietly(directory);
+	}
+
+	/**
+	 * Test method for
+	 * {@link BatchReadExtensions#readAll(java.util.Collection, java.util.concurrent.Executor, int)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testReadAllWithExecutor() throws IOException
+	{
+		final Path first = new File(".", "testReadAllWithExecutor1.txt").toPath();
+		final Path second = new File(".", "testReadAllWithExecutor2.txt").toPath();
+		Files.write(first, "first".getBytes(StandardCharsets.UTF_8));
+		Files.write(second, "second".getBytes(StandardCharsets.UTF_8));
+		final ExecutorService executor = Executors.newCachedThreadPool();
+		try
+		{
+			final BatchReadResult result = BatchReadExtensions.readAll(List.of(first, second),
+				executor, 1);
+			assertFalse(result.hasFailures());
+			assertTrue(result.getFailures().isEmpty());
+			assertEquals("first", new String(result.getContent(0), StandardCharsets.UTF_8));
+			assertEquals("second", new String(result.getContent(1), StandardCharsets.UTF_8));
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+		FileUtils.deleteQuietly(first.toFile());
+		FileUtils.deleteQuietly(second.toFile());
+	}
+
+	/**
+	 * Test method for {@link BatchReadExtensions#readAll(java.util.Collection, int)} with a failing
+	 * path that is given more than once
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testReadAllDuplicateFailures() throws IOException
+	{
+		final Path existing = new File(".", "testReadAllDuplicateFailures.txt").toPath();
+		final Path missing = new File(".", "testReadAllDuplicateFailuresMissing.txt").toPath();
+		Files.write(existing, "existing".getBytes(StandardCharsets.UTF_8));
+
+		final BatchReadResult result = BatchReadExtensions
+			.readAll(List.of(missing, existing, missing), 2);
+		final List<Map.Entry<Path, Exception>> failures = result.getFailures();
+		assertEquals(2, failures.size());
+		assertEquals(missing, failures.get(0).getKey());
+		assertEquals(missing, failures.get(1).getKey());
+		assertSame(result.getFailure(0), failures.get(0).getValue());
+		assertSame(result.getFailure(2), failures.get(1).getValue());
+		assertEquals("existing", new String(result.getContent(1), StandardCharsets.UTF_8));
+		FileUtils.deleteQuietly(existing.toFile());
+	}
+
+	/**
+	 * Test method for {@link BatchReadExtensions#readAll(java.util.Collection, int)} with an
+	 * empty collection and an invalid maximum concurrency
+	 */
+	@Test
+	public void testReadAllEdgeCases()
+	{
+		assertEquals(0, BatchReadExtensions.readAll(List.of(), 3).size());
+		assertThrows(IllegalArgumentException.class,
+			() -> BatchReadExtensions.readAll(List.of(), 0));
+	}
+
+}
@@ -0,0 +1,177 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link BoundedStringOutputStream}
+ */
+public class BoundedStringOutputStreamTest
+{
+
+	/**
+	 * Test method for {@link BoundedStringOutputStream} that keeps only the last bytes
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testTail() throws IOException
+	{
+		final BoundedStringOutputStream stringOutput = new BoundedStringOutputStream(5);
+		stringOutput.write("abc");
+		assertEquals("abc", stringOutput.toString());
+		stringOutput.write("defg");
+		assertEquals("cdefg", stringOutput.toString());
+		assertEquals(2, stringOutput.getDroppedBytes());
+		stringOutput.write('h');
+		assertEquals("defgh", stringOutput.toString());
+		stringOutput.write("0123456789");
+		assertEquals("56789", stringOutput.toString());
+		assertEquals(5, stringOutput.size());
+		assertEquals(18, stringOutput.getTotalBytes());
+		assertEquals(13, stringOutput.getDroppedBytes());
+		stringOutput.close();
+	}
+
+	/**
+	 * Test method for {@link BoundedStringOutputStream} that keeps the first and the last bytes
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testHeadAndTail() throws IOException
+	{
+		final BoundedStringOutputStream stringOutput = new BoundedStringOutputStream(3, 4);
+		stringOutput.write("ab");
+		assertEquals("ab", stringOutput.toString());
+		stringOutput.write("cdefghijk");
+		assertEquals("abchijk", stringOutput.toString());
+		assertEquals(4, stringOutput.getDroppedBytes());
+
+		final ByteArrayOutputStream target = new ByteArrayOutputStream();
+		stringOutput.writeTo(target);
+		assertEquals("abchijk", target.toString(StandardCharsets.UTF_8));
+
+		stringOutput.reset();
+		assertEquals(0, stringOutput.getTotalBytes());
+		stringOutput.write("xyz12");
+		assertEquals("xyz12", stringOutput.toString());
+		stringOutput.close();
+	}
+
+	/**
+	 * Test method for {@link BoundedStringOutputStream} with a char that is split over the border
+	 * of the head and the tail
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testCharOverHeadAndTail() throws IOException
+	{
+		final BoundedStringOutputStream stringOutput = new BoundedStringOutputStream(4, 16);
+		stringOutput.write("abc\u20acdef");
+		assertEquals(0, stringOutput.getDroppedBytes());
+		assertEquals("abc\u20acdef", stringOutput.toString());
+		stringOutput.close();
+	}
+
+	/**
+	 * Test method for {@link BoundedStringOutputStream} against the last bytes of an unbounded
+	 * stream with random writes
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testRandomWrites() throws IOException
+	{
+		final Random random = new Random(18);
+		final BoundedStringOutputStream bounded = new BoundedStringOutputStream(10, 37);
+		final ByteArrayOutputStream unbounded = new ByteArrayOutputStream();
+		for (int i = 0; i < 1000; i++)
+		{
+			final byte[] bytes = new byte[random.nextInt(60)];
+			for (int j = 0; j < bytes.length; j++)
+			{
+				bytes[j] = (byte)('a' + random.nextInt(26));
+			}
+			if (random.nextBoolean())
+			{
+				bounded.write(bytes);
+			}
+			else
+			{
+				for (final byte b : bytes)
+				{
+					bounded.write(b);
+				}
+			}
+			unbounded.write(bytes);
+			final String all = unbounded.toString(StandardCharsets.UTF_8);
+			final String expected = all.length() <= 47
+				? all
+				: all.substring(0, 10) + all.substring(all.length() - 37);
+			assertEquals(expected, bounded.toString());
+			assertEquals(all.length(), bounded.getTotalBytes());
+		}
+		bounded.close();
+	}
+
+	/**
+	 * Test method for {@link BoundedStringOutputStream#write(CharSequence)} with a text larger than
+	 * the encode buffer
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testWriteCharSequence() throws IOException
+	{
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 1000; i++)
+		{
+			sb.append("line ").append(i).append('\n');
+		}
+		final BoundedStringOutputStream stringOutput = new BoundedStringOutputStream(5, 9);
+		stringOutput.write(sb);
+		assertEquals("line line 999\n", stringOutput.toString());
+		assertEquals(sb.length(), stringOutput.getTotalBytes());
+		stringOutput.close();
+		assertThrows(IllegalArgumentException.class, () -> new BoundedStringOutputStream(-1));
+	}
+
+}
@@ -0,0 +1,155 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link BufferPool}
+ */
+public class BufferPoolTest
+{
+
+	/**
+	 * Test method for {@link BufferPool#acquireHeap(int)} and
+	 * {@link BufferPool#releaseHeap(byte[])}
+	 */
+	@Test
+	public void testAcquireAndReleaseHeap()
+	{
+		final BufferPool bufferPool = new BufferPool(1024, 8192, 1 << 20);
+
+		final byte[] buffer = bufferPool.acquireHeap(1500);
+		assertEquals(2048, buffer.length);
+		assertEquals(0, bufferPool.getHitCount());
+		assertEquals(1, bufferPool.getMissCount());
+
+		bufferPool.releaseHeap(buffer);
+		assertEquals(2048, bufferPool.getRetainedBytes());
+		assertSame(buffer, bufferPool.acquireHeap(2000));
+		assertEquals(1, bufferPool.getHitCount());
+		assertEquals(0, bufferPool.getRetainedBytes());
+
+		assertEquals(1024, bufferPool.acquireHeap(10).length);
+		assertEquals(2, bufferPool.getMissCount());
+	}
+
+	/**
+	 * Test method for {@link BufferPool#acquireHeap(int)} with sizes that are not pooled
+	 */
+	@Test
+	public void testAcquireHeapNotPooled()
+	{
+		final BufferPool bufferPool = new BufferPool(1024, 8192, 1 << 20);
+
+		final byte[] oversized = bufferPool.acquireHeap(10_000);
+		assertEquals(10_000, oversized.length);
+		bufferPool.releaseHeap(oversized);
+		bufferPool.releaseHeap(new byte[3000]);
+		assertEquals(0, bufferPool.getRetainedBytes());
+	}
+
+	/**
+	 * Test method for {@link BufferPool#releaseHeap(byte[])} with the maximum of retained bytes
+	 */
+	@Test
+	public void testMaxRetainedBytes()
+	{
+		final BufferPool bufferPool = new BufferPool(1024, 8192, 4096);
+
+		bufferPool.releaseHeap(new byte[4096]);
+		bufferPool.releaseHeap(new byte[1024]);
+		assertEquals(4096, bufferPool.getRetainedBytes());
+
+		final BufferPool disabled = new BufferPool(1024, 8192, 0);
+		disabled.releaseHeap(new byte[1024]);
+		assertEquals(0, disabled.getRetainedBytes());
+	}
+
+	/**
+	 * Test method for {@link BufferPool#acquireDirect(int)} and
+	 * {@link BufferPool#releaseDirect(ByteBuffer)}
+	 */
+	@Test
+	public void testAcquireAndReleaseDirect()
+	{
+		final BufferPool bufferPool = new BufferPool(1024, 8192, 1 << 20);
+
+		final ByteBuffer buffer = bufferPool.acquireDirect(4000);
+		assertTrue(buffer.isDirect());
+		assertEquals(4096, buffer.capacity());
+		buffer.put((byte)1).flip();
+		bufferPool.releaseDirect(buffer);
+
+		final ByteBuffer reused = bufferPool.acquireDirect(4096);
+		assertSame(buffer, reused);
+		assertEquals(0, reused.position());
+		assertEquals(4096, reused.limit());
+
+		bufferPool.releaseDirect(ByteBuffer.allocate(4096));
+		assertEquals(0, bufferPool.getRetainedBytes());
+	}
+
+	/**
+	 * Test method for {@link BufferPool#getDefault()} and {@link BufferPool#setDefault(BufferPool)}
+	 */
+	@Test
+	public void testDefault()
+	{
+		final BufferPool defaultPool = BufferPool.getDefault();
+		assertNotNull(defaultPool);
+		final BufferPool bufferPool = new BufferPool();
+		try
+		{
+			BufferPool.setDefault(bufferPool);
+			assertSame(bufferPool, BufferPool.getDefault());
+			assertThrows(NullPointerException.class, () -> BufferPool.setDefault(null));
+		}
+		finally
+		{
+			BufferPool.setDefault(defaultPool);
+		}
+	}
+
+	/**
+	 * Test method for {@link BufferPool} constructor with invalid arguments
+	 */
+	@Test
+	public void testConstructorWithInvalidArguments()
+	{
+		assertThrows(IllegalArgumentException.class, () -> new BufferPool(0, 1024, 0));
+		assertThrows(IllegalArgumentException.class, () -> new BufferPool(2048, 1024, 0));
+		assertThrows(IllegalArgumentException.class, () -> new BufferPool(1024, 2048, -1));
+	}
+
+}
@@ -0,0 +1,75 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link ByteBufferInputStream}
+ */
+public class ByteBufferInputStreamTest
+{
+
+	/**
+	 * Test method for {@link ByteBufferInputStream#read(byte[], int, int)} over several buffers
+	 */
+	@Test
+	public void testRead()
+	{
+		final ByteBuffer first = ByteBuffer.wrap(new byte[] { 1, 2, 3 });
+		final ByteBufferInputStream inputStream = new ByteBufferInputStream(
+			List.of(first, ByteBuffer.allocate(0), ByteBuffer.wrap(new byte[] { 4, (byte)255 })));
+		assertEquals(5, inputStream.available());
+		assertEquals(1, inputStream.read());
+		final byte[] bytes = new byte[4];
+		assertEquals(2, inputStream.read(bytes, 0, 4));
+		assertEquals(2, inputStream.read(bytes, 2, 2));
+		assertArrayEquals(new byte[] { 2, 3, 4, (byte)255 }, bytes);
+		assertEquals(-1, inputStream.read());
+		assertEquals(-1, inputStream.read(bytes, 0, 4));
+		assertEquals(0, first.position());
+	}
+
+	/**
+	 * Test method for {@link ByteBufferInputStream#skip(long)}
+	 */
+	@Test
+	public void testSkip()
+	{
+		final ByteBufferInputStream inputStream = new ByteBufferInputStream(
+			List.of(ByteBuffer.wrap(new byte[] { 1, 2 }), ByteBuffer.wrap(new byte[] { 3, 4 })));
+		assertEquals(3, inputStream.skip(3));
+		assertEquals(1, inputStream.remaining());
+		assertEquals(4, inputStream.read());
+		assertEquals(0, inputStream.skip(1));
+	}
+
+}
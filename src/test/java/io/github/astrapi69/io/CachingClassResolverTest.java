@@ -0,0 +1,83 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link CachingClassResolver}
+ */
+public class CachingClassResolverTest
+{
+
+	/**
+	 * Test method for {@link CachingClassResolver#resolve(String)}
+	 *
+	 * @throws ClassNotFoundException
+	 *             is thrown when a class is not found
+	 */
+	@Test
+	public void testResolve() throws ClassNotFoundException
+	{
+		final CachingClassResolver resolver = new CachingClassResolver();
+		assertSame(String.class, resolver.resolve("java.lang.String"));
+		assertSame(String.class, resolver.resolve("java.lang.String"));
+		assertSame(String[][].class, resolver.resolve("[[Ljava.lang.String;"));
+		assertEquals(2, resolver.getMissCount());
+		assertEquals(1, resolver.getHitCount());
+		assertEquals(2, resolver.size());
+		assertThrows(ClassNotFoundException.class, () -> resolver.resolve("no.such.Type"));
+		resolver.clear();
+		assertEquals(0, resolver.size());
+	}
+
+	/**
+	 * Test method for {@link CachingClassResolver} with a bounded size
+	 *
+	 * @throws ClassNotFoundException
+	 *             is thrown when a class is not found
+	 */
+	@Test
+	public void testEviction() throws ClassNotFoundException
+	{
+		final CachingClassResolver resolver = new CachingClassResolver(
+			getClass().getClassLoader(), 2);
+		resolver.resolve("java.lang.String");
+		resolver.resolve("java.lang.Integer");
+		resolver.resolve("java.lang.String");
+		resolver.resolve("java.lang.Long");
+		assertEquals(2, resolver.size());
+		resolver.resolve("java.lang.String");
+		assertEquals(2, resolver.getHitCount());
+		resolver.resolve("java.lang.Integer");
+		assertEquals(4, resolver.getMissCount());
+		assertThrows(IllegalArgumentException.class, () -> new CachingClassResolver(null, 0));
+	}
+
+}
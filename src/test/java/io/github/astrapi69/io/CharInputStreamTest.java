@@ -0,0 +1,95 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link CharInputStream}
+ */
+public class CharInputStreamTest
+{
+
+	/**
+	 * Test method for {@link CharInputStream#read(byte[], int, int)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testRead() throws IOException
+	{
+		final StringBuilder chars = new StringBuilder();
+		for (int i = 0; i < 20_000; i++)
+		{
+			chars.append((char)('A' + i % 26));
+		}
+		chars.append('é');
+		final byte[] expected = chars.toString().replace('é', '?').getBytes("US-ASCII");
+		try (CharInputStream fromSequence = new CharInputStream(chars))
+		{
+			assertArrayEquals(expected, fromSequence.readAllBytes());
+			assertEquals(-1, fromSequence.read());
+		}
+		try (CharInputStream fromReader = new CharInputStream(new StringReader(chars.toString())))
+		{
+			assertEquals('A', fromReader.read());
+			final byte[] rest = fromReader.readAllBytes();
+			assertEquals(expected.length - 1, rest.length);
+			assertEquals('?', rest[rest.length - 1]);
+		}
+	}
+
+	/**
+	 * Test method for {@link SerializedObjectExtensions#readBase64(CharSequence)} and
+	 * {@link SerializedObjectExtensions#readBase64(java.io.Reader)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws ClassNotFoundException
+	 *             is thrown when a class is not found
+	 */
+	@Test
+	public void testReadBase64() throws IOException, ClassNotFoundException
+	{
+		final ArrayList<Integer> expected = new ArrayList<>(List.of(1, 2, 3));
+		final String base64 = SerializedObjectExtensions.toBase64EncodedString(expected);
+		assertEquals(expected, SerializedObjectExtensions.readBase64(base64));
+		assertEquals(expected, SerializedObjectExtensions.toObject(base64));
+		assertEquals(expected, SerializedObjectExtensions.readBase64(new StringReader(base64)));
+		assertEquals(expected, Serializer.readBase64(new StringReader(base64)));
+		assertThrows(IOException.class, () -> SerializedObjectExtensions.readBase64("rO0Aé"));
+	}
+
+}
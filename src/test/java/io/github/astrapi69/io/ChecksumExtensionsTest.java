@@ -0,0 +1,233 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link ChecksumExtensions}
+ */
+public class ChecksumExtensionsTest
+{
+
+	/**
+	 * Test method for {@link ChecksumExtensions#newCrc32cInputStream(java.io.InputStream)} and
+	 * {@link ChecksumExtensions#newCrc32cOutputStream(java.io.OutputStream)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testCrc32cStreams() throws IOException
+	{
+		final byte[] data = randomBytes(100_000);
+		final CRC32C expected = new CRC32C();
+		expected.update(data);
+
+		final ByteArrayOutputStream target = new ByteArrayOutputStream();
+		try (CheckedInputStream in = ChecksumExtensions
+			.newCrc32cInputStream(new ByteArrayInputStream(data));
+			CheckedOutputStream out = ChecksumExtensions.newCrc32cOutputStream(target))
+		{
+			StreamExtensions.copy(in, out);
+			assertEquals(expected.getValue(), in.getChecksum().getValue());
+			assertEquals(expected.getValue(), out.getChecksum().getValue());
+		}
+		assertArrayEquals(data, target.toByteArray());
+	}
+
+	/**
+	 * Test method for {@link ChecksumExtensions#newDigestInputStream(java.io.InputStream, String)}
+	 * and {@link ChecksumExtensions#newDigestOutputStream(java.io.OutputStream, String)}
+	 *
+	 * @throws Exception
+	 *             is thrown if any error occurs on the execution of the test
+	 */
+	@Test
+	public void testDigestStreams() throws Exception
+	{
+		final byte[] data = randomBytes(70_000);
+		final byte[] expected = MessageDigest.getInstance("SHA-256").digest(data);
+
+		try (DigestInputStream in = ChecksumExtensions
+			.newDigestInputStream(new ByteArrayInputStream(data), "SHA-256");
+			DigestOutputStream out = ChecksumExtensions
+				.newDigestOutputStream(new ByteArrayOutputStream(), "SHA-256"))
+		{
+			StreamExtensions.copy(in, out);
+			assertArrayEquals(expected, in.getMessageDigest().digest());
+			assertArrayEquals(expected, out.getMessageDigest().digest());
+		}
+		assertThrows(NoSuchAlgorithmException.class, () -> ChecksumExtensions
+			.newDigestInputStream(new ByteArrayInputStream(data), "NO-SUCH-DIGEST"));
+	}
+
+	/**
+	 * Test method for the copy methods of {@link ChecksumExtensions}
+	 *
+	 * @throws Exception
+	 *             is thrown if any error occurs on the execution of the test
+	 */
+	@Test
+	public void testCopy() throws Exception
+	{
+		final byte[] data = randomBytes(200_000);
+		final CRC32C expectedChecksum = new CRC32C();
+		expectedChecksum.update(data);
+
+		final CRC32C checksum = new CRC32C();
+		final ByteArrayOutputStream target = new ByteArrayOutputStream();
+		assertEquals(data.length,
+			ChecksumExtensions.copy(new ByteArrayInputStream(data), target, checksum));
+		assertEquals(expectedChecksum.getValue(), checksum.getValue());
+		assertArrayEquals(data, target.toByteArray());
+
+		final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+		assertEquals(data.length, ChecksumExtensions.copy(new ByteArrayInputStream(data),
+			new ByteArrayOutputStream(), digest));
+		assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(data), digest.digest());
+	}
+
+	/**
+	 * Test method for {@link ChecksumExtensions#crc32c(Path)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testCrc32cPath() throws IOException
+	{
+		final byte[] data = randomBytes(300_000);
+		final Path path = new File(".", "testCrc32cPath.dat").toPath();
+		Files.write(path, data);
+		final CRC32C expected = new CRC32C();
+		expected.update(data);
+
+		assertEquals(expected.getValue(), ChecksumExtensions.crc32c(path));
+		FileUtils.deleteQuietly(path.toFile());
+	}
+
+	/**
+	 * Test method for {@link ChecksumExtensions#treeHash(Path, String, int, ForkJoinPool)}
+	 *
+	 * @throws Exception
+	 *             is thrown if any error occurs on the execution of the test
+	 */
+	@Test
+	public void testTreeHash() throws Exception
+	{
+		final byte[] data = randomBytes(2500);
+		final Path path = new File(".", "testTreeHash.dat").toPath();
+		Files.write(path, data);
+
+		// three regions of 1000, 1000 and 500 bytes, split as ((0, 1), 2)
+		final byte[] leaf0 = leaf(Arrays.copyOfRange(data, 0, 1000));
+		final byte[] leaf1 = leaf(Arrays.copyOfRange(data, 1000, 2000));
+		final byte[] leaf2 = leaf(Arrays.copyOfRange(data, 2000, 2500));
+		final byte[] expected = node(node(leaf0, leaf1), leaf2);
+
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try
+		{
+			assertArrayEquals(expected,
+				ChecksumExtensions.treeHash(path, "SHA-256", 1000, pool));
+			assertArrayEquals(expected, ChecksumExtensions.treeHash(path, "SHA-256", 1000,
+				ForkJoinPool.commonPool()));
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+		// one region is the hash of the leaf
+		assertArrayEquals(leaf(data), ChecksumExtensions.treeHash(path, "SHA-256"));
+		assertThrows(IllegalArgumentException.class,
+			() -> ChecksumExtensions.treeHash(path, "SHA-256", 0, ForkJoinPool.commonPool()));
+		assertThrows(NoSuchAlgorithmException.class,
+			() -> ChecksumExtensions.treeHash(path, "NO-SUCH-DIGEST"));
+		FileUtils.deleteQuietly(path.toFile());
+	}
+
+	/**
+	 * Test method for {@link ChecksumExtensions#treeHash(Path, String)} with an empty file
+	 *
+	 * @throws Exception
+	 *             is thrown if any error occurs on the execution of the test
+	 */
+	@Test
+	public void testTreeHashEmptyFile() throws Exception
+	{
+		final Path path = new File(".", "testTreeHashEmptyFile.dat").toPath();
+		Files.write(path, new byte[0]);
+
+		assertArrayEquals(leaf(new byte[0]), ChecksumExtensions.treeHash(path, "SHA-256"));
+		FileUtils.deleteQuietly(path.toFile());
+	}
+
+	private static byte[] leaf(final byte[] data) throws NoSuchAlgorithmException
+	{
+		final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+		digest.update((byte)0);
+		return digest.digest(data);
+	}
+
+	private static byte[] node(final byte[] left, final byte[] right)
+		throws NoSuchAlgorithmException
+	{
+		final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+		digest.update((byte)1);
+		digest.update(left);
+		return digest.digest(right);
+	}
+
+	private static byte[] randomBytes(final int length)
+	{
+		final byte[] bytes = new byte[length];
+		new Random(length).nextBytes(bytes);
+		return bytes;
+	}
+
+}
@@ -0,0 +1,72 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link ClassAllowList}
+ */
+public class ClassAllowListTest
+{
+
+	/**
+	 * Test method for {@link ClassAllowList#isAllowed(String)}
+	 */
+	@Test
+	public void testIsAllowed()
+	{
+		final ClassAllowList allowList = new ClassAllowList("java.lang.String", "java.util.*",
+			"io.github.astrapi69.**", "com.example.Prefix*");
+		assertTrue(allowList.isAllowed("java.lang.String"));
+		assertFalse(allowList.isAllowed("java.lang.Integer"));
+		assertTrue(allowList.isAllowed("java.util.ArrayList"));
+		assertFalse(allowList.isAllowed("java.util.concurrent.ConcurrentHashMap"));
+		assertTrue(allowList.isAllowed("io.github.astrapi69.io.Progress"));
+		assertTrue(allowList.isAllowed("com.example.PrefixType"));
+		assertFalse(allowList.isAllowed("com.example.Other"));
+		assertTrue(allowList.isAllowed("[[Ljava.lang.String;"));
+		assertFalse(allowList.isAllowed("[Ljava.lang.Integer;"));
+		assertTrue(allowList.isAllowed("[[I"));
+		assertFalse(allowList.isAllowed("[X"));
+	}
+
+	/**
+	 * Test method for {@link ClassAllowList#withDefaults(String...)}
+	 */
+	@Test
+	public void testWithDefaults()
+	{
+		final ClassAllowList allowList = ClassAllowList.withDefaults("com.example.Type");
+		assertTrue(allowList.isAllowed("java.lang.Integer"));
+		assertTrue(allowList.isAllowed("java.lang.Number"));
+		assertTrue(allowList.isAllowed("com.example.Type"));
+		assertFalse(allowList.isAllowed("java.lang.Runtime"));
+	}
+
+}
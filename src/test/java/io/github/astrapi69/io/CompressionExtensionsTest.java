@@ -0,0 +1,238 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link CompressionExtensions}
+ */
+public class CompressionExtensionsTest
+{
+
+	/**
+	 * Test method for {@link CompressionType#of(Path)}
+	 */
+	@Test
+	public void testCompressionTypeOf()
+	{
+		assertEquals(CompressionType.GZIP, CompressionType.of(Path.of("server.log.gz")));
+		assertEquals(CompressionType.GZIP, CompressionType.of(Path.of("backup.TAR.GZ")));
+		assertEquals(CompressionType.ZIP, CompressionType.of(Path.of("lib", "app.jar")));
+		assertEquals(CompressionType.ZIP, CompressionType.of(Path.of("archive.zip")));
+		assertEquals(CompressionType.NONE, CompressionType.of(Path.of("archive.7z")));
+		assertEquals(CompressionType.NONE, CompressionType.of(Path.of("server.log")));
+	}
+
+	/**
+	 * Test method for {@link CompressionExtensions#newOutputStream(Path, int,
+	 * java.nio.file.OpenOption...)} and {@link CompressionExtensions#newInputStream(Path)} with a
+	 * gzip file
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testGzipRoundTrip() throws IOException
+	{
+		final byte[] expected = repeatedText(20_000);
+		final Path path = new File(".", "testGzipRoundTrip.log.gz").toPath();
+		try (OutputStream out = CompressionExtensions.newOutputStream(path,
+			Deflater.BEST_COMPRESSION))
+		{
+			assertTrue(out instanceof GZIPOutputStream);
+			out.write(expected);
+		}
+		assertTrue(Files.size(path) < expected.length);
+		try (InputStream in = new GZIPInputStream(Files.newInputStream(path)))
+		{
+			assertArrayEquals(expected, in.readAllBytes());
+		}
+		try (InputStream in = CompressionExtensions.newInputStream(path))
+		{
+			assertArrayEquals(expected, in.readAllBytes());
+		}
+		FileUtils.deleteQuietly(path.toFile());
+	}
+
+	/**
+	 * Test method for {@link CompressionExtensions#newZipOutputStream(Path, int,
+	 * java.nio.file.OpenOption...)} and {@link CompressionExtensions#newInputStream(Path)} with a
+	 * zip file
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testZipRoundTrip() throws IOException
+	{
+		final byte[] first = repeatedText(1000);
+		final byte[] second = "second entry".getBytes(StandardCharsets.UTF_8);
+		final Path path = new File(".", "testZipRoundTrip.zip").toPath();
+		try (ZipOutputStream out = CompressionExtensions.newZipOutputStream(path,
+			Deflater.BEST_SPEED))
+		{
+			out.putNextEntry(new ZipEntry("first.txt"));
+			out.write(first);
+			out.closeEntry();
+			out.putNextEntry(new ZipEntry("second.txt"));
+			out.write(second);
+			out.closeEntry();
+		}
+		try (ZipInputStream in = (ZipInputStream)CompressionExtensions.newInputStream(path))
+		{
+			assertEquals("first.txt", in.getNextEntry().getName());
+			assertArrayEquals(first, in.readAllBytes());
+			assertEquals("second.txt", in.getNextEntry().getName());
+			assertArrayEquals(second, in.readAllBytes());
+			assertNull(in.getNextEntry());
+		}
+		FileUtils.deleteQuietly(path.toFile());
+	}
+
+	/**
+	 * Test method for {@link CompressionExtensions#newInputStream(Path)} and
+	 * {@link CompressionExtensions#newOutputStream(Path, java.nio.file.OpenOption...)} with a file
+	 * that is not compressed
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testUncompressedRoundTrip() throws IOException
+	{
+		final byte[] expected = repeatedText(100);
+		final Path path = new File(".", "testUncompressedRoundTrip.log").toPath();
+		try (OutputStream out = CompressionExtensions.newOutputStream(path))
+		{
+			out.write(expected);
+		}
+		assertArrayEquals(expected, Files.readAllBytes(path));
+		try (InputStream in = CompressionExtensions.newInputStream(path))
+		{
+			assertArrayEquals(expected, in.readAllBytes());
+		}
+		assertThrows(IllegalArgumentException.class,
+			() -> CompressionExtensions.newGzipOutputStream(path, 10));
+		FileUtils.deleteQuietly(path.toFile());
+	}
+
+	/**
+	 * Test method for {@link CompressionExtensions#deflate(InputStream, OutputStream, int)} and
+	 * {@link CompressionExtensions#inflate(InputStream, OutputStream)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testDeflateInflate() throws IOException
+	{
+		for (final byte[] expected : Arrays.asList(repeatedText(50_000), new byte[0],
+			"short".getBytes(StandardCharsets.UTF_8)))
+		{
+			final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+			final long written = CompressionExtensions.deflate(new ByteArrayInputStream(expected),
+				compressed, Deflater.DEFAULT_COMPRESSION);
+			assertEquals(compressed.size(), written);
+
+			// the zlib format is compatible with the jdk streams
+			try (InputStream in = new InflaterInputStream(
+				new ByteArrayInputStream(compressed.toByteArray())))
+			{
+				assertArrayEquals(expected, in.readAllBytes());
+			}
+			final ByteArrayOutputStream inflated = new ByteArrayOutputStream();
+			assertEquals(expected.length, CompressionExtensions.inflate(
+				new ByteArrayInputStream(compressed.toByteArray()), inflated));
+			assertArrayEquals(expected, inflated.toByteArray());
+		}
+	}
+
+	/**
+	 * Test method for {@link CompressionExtensions#inflate(InputStream, OutputStream)} with corrupt
+	 * and truncated data
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testInflateInvalidData() throws IOException
+	{
+		assertThrows(ZipException.class,
+			() -> CompressionExtensions.inflate(
+				new ByteArrayInputStream("no zlib data".getBytes(StandardCharsets.UTF_8)),
+				new ByteArrayOutputStream()));
+
+		final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		CompressionExtensions.deflate(new ByteArrayInputStream(repeatedText(1000)), compressed,
+			Deflater.BEST_SPEED);
+		final byte[] truncated = Arrays.copyOf(compressed.toByteArray(), compressed.size() / 2);
+		assertThrows(ZipException.class, () -> CompressionExtensions
+			.inflate(new ByteArrayInputStream(truncated), new ByteArrayOutputStream()));
+
+		// the inflater of the thread is usable again after a failure
+		final ByteArrayOutputStream inflated = new ByteArrayOutputStream();
+		CompressionExtensions.inflate(new ByteArrayInputStream(compressed.toByteArray()),
+			inflated);
+		assertArrayEquals(repeatedText(1000), inflated.toByteArray());
+	}
+
+	private static byte[] repeatedText(final int lines)
+	{
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < lines; i++)
+		{
+			sb.append("log line ").append(i % 97).append('\n');
+		}
+		return sb.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+}
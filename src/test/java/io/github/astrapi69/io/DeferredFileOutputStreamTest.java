@@ -0,0 +1,149 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link DeferredFileOutputStream}
+ */
+public class DeferredFileOutputStreamTest
+{
+
+	/**
+	 * Test method for {@link DeferredFileOutputStream} with content below the threshold
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testInMemory() throws IOException
+	{
+		final byte[] data = randomBytes(4096);
+		final DeferredFileOutputStream out = new DeferredFileOutputStream(data.length);
+		out.write(data);
+		out.close();
+		assertTrue(out.isInMemory());
+		assertNull(out.getFile());
+		assertEquals(data.length, out.size());
+		assertArrayEquals(data, toByteArray(out.toByteBuffers()));
+		try (InputStream in = out.toInputStream())
+		{
+			assertArrayEquals(data, in.readAllBytes());
+		}
+		out.delete();
+	}
+
+	/**
+	 * Test method for {@link DeferredFileOutputStream} with content above the threshold
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testSpill() throws IOException
+	{
+		final byte[] data = randomBytes(100_000);
+		final DeferredFileOutputStream out = new DeferredFileOutputStream(10_000);
+		out.write(data, 0, 5000);
+		assertTrue(out.isInMemory());
+		out.write(data[5000]);
+		out.write(data, 5001, data.length - 5001);
+		assertFalse(out.isInMemory());
+		final Path file = out.getFile();
+		assertTrue(Files.exists(file));
+
+		// the views flush the open file stream
+		try (InputStream in = out.toInputStream())
+		{
+			assertArrayEquals(data, in.readAllBytes());
+		}
+		out.close();
+		assertThrows(IOException.class, () -> out.write(1));
+		assertEquals(data.length, out.size());
+		assertArrayEquals(data, toByteArray(out.toByteBuffers()));
+		final ByteArrayOutputStream target = new ByteArrayOutputStream();
+		out.writeTo(target);
+		assertArrayEquals(data, target.toByteArray());
+
+		out.delete();
+		assertFalse(Files.exists(file));
+	}
+
+	/**
+	 * Test method for {@link DeferredFileOutputStream} with a threshold of zero
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testZeroThreshold() throws IOException
+	{
+		final DeferredFileOutputStream out = new DeferredFileOutputStream(0);
+		assertTrue(out.isInMemory());
+		out.write(42);
+		assertFalse(out.isInMemory());
+		out.close();
+		assertArrayEquals(new byte[] { 42 }, Files.readAllBytes(out.getFile()));
+		out.delete();
+		assertThrows(IllegalArgumentException.class, () -> new DeferredFileOutputStream(-1));
+	}
+
+	private static byte[] toByteArray(final List<ByteBuffer> byteBuffers)
+	{
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		for (final ByteBuffer byteBuffer : byteBuffers)
+		{
+			final byte[] bytes = new byte[byteBuffer.remaining()];
+			byteBuffer.get(bytes);
+			out.write(bytes, 0, bytes.length);
+		}
+		return out.toByteArray();
+	}
+
+	private static byte[] randomBytes(final int length)
+	{
+		final byte[] bytes = new byte[length];
+		new Random(length).nextBytes(bytes);
+		return bytes;
+	}
+
+}
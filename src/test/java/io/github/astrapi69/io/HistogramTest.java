@@ -0,0 +1,82 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link Histogram}
+ */
+public class HistogramTest
+{
+
+	/**
+	 * Test method for {@link Histogram#index(long)} and {@link Histogram#upperBound(int)}
+	 */
+	@Test
+	public void testBuckets()
+	{
+		final long[] values = { 0, 1, 7, 8, 9, 15, 16, 17, 1000, 123_456_789L, Long.MAX_VALUE };
+		for (final long value : values)
+		{
+			final int index = Histogram.index(value);
+			assertTrue(value <= Histogram.upperBound(index));
+			assertTrue(index == 0 || Histogram.upperBound(index - 1) < value);
+			assertTrue(Histogram.upperBound(index) - value <= value / 8);
+		}
+		assertEquals(Long.MAX_VALUE, Histogram.upperBound(Histogram.index(Long.MAX_VALUE)));
+	}
+
+	/**
+	 * Test method for {@link Histogram#getPercentile(double)}
+	 */
+	@Test
+	public void testGetPercentile()
+	{
+		final Histogram histogram = new Histogram();
+		assertEquals(0, histogram.getPercentile(0.5));
+		for (int i = 1; i <= 1000; i++)
+		{
+			histogram.record(i);
+		}
+		assertEquals(1000, histogram.getCount());
+		assertEquals(500_500, histogram.getSum());
+		assertEquals(1000, histogram.getMax());
+		final long median = histogram.getPercentile(0.5);
+		assertTrue(500 <= median && median <= 500 + 500 / 8, String.valueOf(median));
+		final long percentile99 = histogram.getPercentile(0.99);
+		assertTrue(990 <= percentile99 && percentile99 <= 1000, String.valueOf(percentile99));
+		assertEquals(1000, histogram.getPercentile(1.0));
+		histogram.record(-5);
+		assertEquals(0, histogram.getPercentile(0.0));
+		histogram.reset();
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getMax());
+	}
+
+}
@@ -0,0 +1,164 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link LineReader}
+ */
+public class LineReaderTest
+{
+
+	/**
+	 * Test method for {@link LineReader#readLine()} with all kind of line terminators
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testReadLine() throws IOException
+	{
+		try (LineReader lineReader = new LineReader(
+			new StringReader("first\nsecond\r\nthird\r\rfifth")))
+		{
+			assertEquals("first", lineReader.readLine());
+			assertEquals("second", lineReader.readLine());
+			assertEquals("third", lineReader.readLine());
+			assertEquals("", lineReader.readLine());
+			assertEquals("fifth", lineReader.readLine());
+			assertNull(lineReader.readLine());
+			assertNull(lineReader.readLine());
+		}
+	}
+
+	/**
+	 * Test method for {@link LineReader#readLine()} with a terminated last line and an empty
+	 * reader
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testReadLineTerminatedLastLine() throws IOException
+	{
+		LineReader lineReader = new LineReader(new StringReader("first\r\n"));
+		assertEquals("first", lineReader.readLine());
+		assertNull(lineReader.readLine());
+
+		lineReader = new LineReader(new StringReader(""));
+		assertNull(lineReader.readLine());
+	}
+
+	/**
+	 * Test method for {@link LineReader#nextLine()} with lines that are longer than the buffer and
+	 * line terminators that are split over the buffer boundary
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testNextLineWithSmallBuffer() throws IOException
+	{
+		final LineReader lineReader = new LineReader(
+			new StringReader("abc\r\ndefghijklmnop\rq\r\n\r\nrs"), 4);
+		final List<String> actual = new ArrayList<>();
+		CharSequence line;
+		while ((line = lineReader.nextLine()) != null)
+		{
+			actual.add(line.toString());
+		}
+		assertEquals(List.of("abc", "defghijklmnop", "q", "", "rs"), actual);
+	}
+
+	/**
+	 * Test method for {@link LineReader#forEachLine(java.util.function.Consumer)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testForEachLine() throws IOException
+	{
+		final StringBuilder actual = new StringBuilder();
+		final long count = new LineReader(new StringReader("a\nbb\nccc"))
+			.forEachLine(line -> actual.append(line.length()));
+		assertEquals(3, count);
+		assertEquals("123", actual.toString());
+	}
+
+	/**
+	 * Test method for {@link LineReader#iterator()}
+	 */
+	@Test
+	public void testIterator()
+	{
+		final Iterator<String> iterator = new LineReader(new StringReader("a\nb")).iterator();
+		assertTrue(iterator.hasNext());
+		assertTrue(iterator.hasNext());
+		assertEquals("a", iterator.next());
+		assertEquals("b", iterator.next());
+		assertFalse(iterator.hasNext());
+		assertThrows(NoSuchElementException.class, iterator::next);
+	}
+
+	/**
+	 * Test method for {@link LineReader#lines()}
+	 */
+	@Test
+	public void testLines()
+	{
+		try (Stream<String> lines = new LineReader(new StringReader("x\r\ny\nz\n")).lines())
+		{
+			assertEquals("x,y,z", lines.collect(Collectors.joining(",")));
+		}
+	}
+
+	/**
+	 * Test method for {@link LineReader} constructor with an invalid buffer size
+	 */
+	@Test
+	public void testConstructorWithInvalidBufferSize()
+	{
+		assertThrows(IllegalArgumentException.class,
+			() -> new LineReader(new StringReader(""), 0));
+	}
+
+}
@@ -0,0 +1,124 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link ObjectReadSession}
+ */
+public class ObjectReadSessionTest
+{
+
+	private static SegmentedByteArrayOutputStream write(final boolean close,
+		final Object... objects) throws IOException
+	{
+		final SegmentedByteArrayOutputStream outputStream = new SegmentedByteArrayOutputStream();
+		final ObjectWriteSession session = new ObjectWriteSession(outputStream);
+		for (final Object object : objects)
+		{
+			session.write(object);
+		}
+		if (close)
+		{
+			session.close();
+		}
+		else
+		{
+			session.flush();
+		}
+		return outputStream;
+	}
+
+	/**
+	 * Test method for {@link ObjectReadSession#objects()}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testObjects() throws IOException
+	{
+		final SegmentedByteArrayOutputStream outputStream = write(true, "a", 1, 2L);
+		final List<Object> actual;
+		try (Stream<Object> objects = new ObjectReadSession(outputStream.toInputStream())
+			.objects())
+		{
+			actual = objects.collect(Collectors.toList());
+		}
+		assertEquals(Arrays.asList("a", 1, 2L), actual);
+	}
+
+	/**
+	 * Test method for {@link ObjectReadSession#next()} on a session that was flushed but not closed
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws ClassNotFoundException
+	 *             is thrown when a class of the read object is not found
+	 */
+	@Test
+	public void testNextWithoutEndMarker() throws IOException, ClassNotFoundException
+	{
+		final SegmentedByteArrayOutputStream outputStream = write(false, "a", "b");
+		try (ObjectReadSession session = new ObjectReadSession(outputStream.toInputStream()))
+		{
+			assertEquals("a", session.next());
+			assertEquals("b", session.next());
+			assertFalse(session.hasNext());
+			assertThrows(NoSuchElementException.class, session::next);
+		}
+	}
+
+	/**
+	 * Test method for {@link ObjectReadSession#next()} on an empty session
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testEmpty() throws IOException
+	{
+		final SegmentedByteArrayOutputStream outputStream = write(true);
+		try (ObjectReadSession session = new ObjectReadSession(outputStream.toInputStream()))
+		{
+			assertFalse(session.hasNext());
+			assertFalse(session.iterator().hasNext());
+			assertEquals(0, session.getCount());
+		}
+	}
+
+}
@@ -0,0 +1,179 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link ObjectWriteSession}
+ */
+public class ObjectWriteSessionTest
+{
+
+	/**
+	 * Test method for {@link ObjectWriteSession#write(Object)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws ClassNotFoundException
+	 *             is thrown when a class of the read object is not found
+	 */
+	@Test
+	public void testWrite() throws IOException, ClassNotFoundException
+	{
+		final SegmentedByteArrayOutputStream outputStream = new SegmentedByteArrayOutputStream();
+		try (ObjectWriteSession session = new ObjectWriteSession(outputStream, 3))
+		{
+			for (int i = 0; i < 10; i++)
+			{
+				session.write(new Date(i));
+			}
+			session.write(null);
+			assertEquals(11, session.getCount());
+			assertEquals(3, session.getResetInterval());
+		}
+		try (ObjectReadSession session = new ObjectReadSession(outputStream.toInputStream()))
+		{
+			for (int i = 0; i < 10; i++)
+			{
+				assertTrue(session.hasNext());
+				assertEquals(new Date(i), session.next());
+			}
+			assertTrue(session.hasNext());
+			assertEquals(null, session.next());
+			assertFalse(session.hasNext());
+			assertEquals(11, session.getCount());
+		}
+	}
+
+	/**
+	 * Test that a session shares the class descriptors and the references between the objects
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws ClassNotFoundException
+	 *             is thrown when a class of the read object is not found
+	 */
+	@Test
+	public void testSharedHandles() throws IOException, ClassNotFoundException
+	{
+		final List<Date> dates = new ArrayList<>();
+		long separateSize = 0;
+		for (int i = 0; i < 1000; i++)
+		{
+			dates.add(new Date(i));
+			separateSize += SerializedObjectExtensions.toByteArray(dates.get(i)).length;
+		}
+		final SegmentedByteArrayOutputStream outputStream = new SegmentedByteArrayOutputStream();
+		final Date shared = new Date(42);
+		try (ObjectWriteSession session = new ObjectWriteSession(outputStream, 0))
+		{
+			assertEquals(1000, session.writeAll(dates));
+			session.write(shared);
+			session.write(shared);
+		}
+		assertTrue(outputStream.size() * 2 < separateSize,
+			outputStream.size() + " / " + separateSize);
+		try (ObjectReadSession session = new ObjectReadSession(
+			new ByteArrayInputStream(outputStream.toByteArray())))
+		{
+			for (int i = 0; i < 1000; i++)
+			{
+				session.next();
+			}
+			assertSame(session.next(), session.next());
+		}
+	}
+
+	/**
+	 * Test method for {@link ObjectWriteSession#close()}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testClose() throws IOException
+	{
+		final ObjectWriteSession session = new ObjectWriteSession(
+			new SegmentedByteArrayOutputStream());
+		session.write("value");
+		session.close();
+		session.close();
+		assertThrows(IOException.class, () -> session.write("other"));
+		assertThrows(IOException.class, session::reset);
+	}
+
+	/**
+	 * Test method for
+	 * {@link SerializedObjectExtensions#newWriteSession(Path, java.nio.file.OpenOption...)} and
+	 * {@link SerializedObjectExtensions#newReadSession(Path)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testSessionsOnFile() throws IOException
+	{
+		final Path path = new File(".", "testSessionsOnFile.ser").toPath();
+		try
+		{
+			final List<String> expected = new ArrayList<>();
+			try (ObjectWriteSession session = SerializedObjectExtensions.newWriteSession(path))
+			{
+				for (int i = 0; i < 5000; i++)
+				{
+					expected.add("value" + i);
+					session.write(expected.get(i));
+				}
+			}
+			final List<Object> actual = new ArrayList<>();
+			try (ObjectReadSession session = SerializedObjectExtensions.newReadSession(path))
+			{
+				session.iterator().forEachRemaining(actual::add);
+			}
+			assertEquals(expected, actual);
+		}
+		finally
+		{
+			FileUtils.deleteQuietly(path.toFile());
+		}
+	}
+
+}
@@ -0,0 +1,102 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link ProgressInputStream}
+ */
+public class ProgressInputStreamTest
+{
+
+	/**
+	 * Test method for {@link ProgressInputStream} with a sampling interval of zero
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testProgress() throws IOException
+	{
+		final byte[] data = new byte[100_000];
+		final List<Progress> reports = new ArrayList<>();
+		try (ProgressInputStream in = new ProgressInputStream(new ByteArrayInputStream(data),
+			reports::add, data.length, 0))
+		{
+			StreamExtensions.copy(in, OutputStream.nullOutputStream());
+			assertEquals(data.length, in.getTransferredBytes());
+		}
+		assertTrue(1 < reports.size());
+		final Progress first = reports.get(0);
+		assertFalse(first.isFinished());
+		assertTrue(0 < first.getTransferredBytes());
+		assertEquals(data.length, first.getTotalBytes());
+
+		// the finish is reported once at the end of the stream and not again on close
+		final Progress last = reports.get(reports.size() - 1);
+		assertTrue(last.isFinished());
+		assertEquals(1, reports.stream().filter(Progress::isFinished).count());
+		assertEquals(data.length, last.getTransferredBytes());
+		assertEquals(1d, last.getFraction());
+		assertEquals(Optional.of(Duration.ZERO), last.getEstimatedRemaining());
+	}
+
+	/**
+	 * Test method for {@link ProgressInputStream} with the default sampling interval and an
+	 * unknown size
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testProgressSampled() throws IOException
+	{
+		final List<Progress> reports = new ArrayList<>();
+		try (ProgressInputStream in = new ProgressInputStream(
+			new ByteArrayInputStream(new byte[50_000]), reports::add))
+		{
+			assertEquals(1, in.read(new byte[1]));
+		}
+		// only the finish on close is reported within the sampling interval
+		assertEquals(1, reports.size());
+		assertTrue(reports.get(0).isFinished());
+		assertEquals(1, reports.get(0).getTransferredBytes());
+		assertEquals(-1d, reports.get(0).getFraction());
+	}
+
+}
@@ -0,0 +1,73 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link ProgressOutputStream}
+ */
+public class ProgressOutputStreamTest
+{
+
+	/**
+	 * Test method for {@link ProgressOutputStream} combined with a {@link ThrottledOutputStream}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testProgress() throws IOException
+	{
+		final byte[] data = new byte[40_000];
+		final List<Progress> reports = new ArrayList<>();
+		try (ProgressOutputStream out = new ProgressOutputStream(
+			new ThrottledOutputStream(OutputStream.nullOutputStream(),
+				new TokenBucket(200_000, 10_000)),
+			reports::add, data.length, 0))
+		{
+			StreamExtensions.copy(new ByteArrayInputStream(data), out);
+			assertEquals(data.length, out.getTransferredBytes());
+			assertFalse(reports.get(0).isFinished());
+			assertTrue(reports.get(0).getEstimatedRemaining().isPresent());
+		}
+		final Progress last = reports.get(reports.size() - 1);
+		assertTrue(last.isFinished());
+		assertEquals(data.length, last.getTransferredBytes());
+		assertTrue(0 < last.getBytesPerSecond());
+		assertTrue(last.getBytesPerSecond() < 1_000_000, last.toString());
+	}
+
+}
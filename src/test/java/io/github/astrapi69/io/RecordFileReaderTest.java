@@ -0,0 +1,122 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link RecordFileReader}
+ */
+public class RecordFileReaderTest
+{
+
+	/**
+	 * Test method for {@link RecordFileReader#read(long)}, {@link RecordFileReader#iterator()} and
+	 * {@link RecordFileReader#records()}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws ClassNotFoundException
+	 *             is thrown when a class of the read object is not found
+	 */
+	@Test
+	public void testRead() throws IOException, ClassNotFoundException
+	{
+		final Path path = new File(".", "testRecordFileRead.rec").toPath();
+		FileUtils.deleteQuietly(path.toFile());
+		try
+		{
+			final List<Integer> expected = new ArrayList<>();
+			for (int i = 0; i < 10_000; i++)
+			{
+				expected.add(i);
+			}
+			SerializedObjectExtensions.appendToRecordFile(path, expected);
+			try (RecordFileReader reader = new RecordFileReader(path))
+			{
+				assertEquals(expected.size(), reader.size());
+				assertEquals(9_999, reader.read(9_999));
+				assertEquals(4_321, reader.read(4_321));
+				assertThrows(IndexOutOfBoundsException.class, () -> reader.read(10_000));
+
+				final Iterator<Object> iterator = reader.iterator();
+				for (final Integer value : expected)
+				{
+					assertTrue(iterator.hasNext());
+					assertEquals(value, iterator.next());
+				}
+				assertFalse(iterator.hasNext());
+
+				assertEquals(expected, reader.records().parallel().collect(Collectors.toList()));
+			}
+		}
+		finally
+		{
+			FileUtils.deleteQuietly(path.toFile());
+		}
+	}
+
+	/**
+	 * Test method for {@link RecordFileReader} on an empty record file
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testEmpty() throws IOException
+	{
+		final Path path = new File(".", "testRecordFileEmpty.rec").toPath();
+		FileUtils.deleteQuietly(path.toFile());
+		try
+		{
+			assertEquals(0, SerializedObjectExtensions.appendToRecordFile(path, List.of()));
+			try (RecordFileReader reader = new RecordFileReader(path))
+			{
+				assertEquals(0, reader.size());
+				assertTrue(reader.isIndexed());
+				assertFalse(reader.iterator().hasNext());
+			}
+		}
+		finally
+		{
+			FileUtils.deleteQuietly(path.toFile());
+		}
+	}
+
+}
@@ -0,0 +1,167 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.io.codec.CompactCodec;
+
+/**
+ * The unit test class for the class {@link RecordFileWriter}
+ */
+public class RecordFileWriterTest
+{
+
+	private static List<Object> readAll(final Path path) throws IOException
+	{
+		try (RecordFileReader reader = new RecordFileReader(path))
+		{
+			return reader.records().collect(Collectors.toList());
+		}
+	}
+
+	/**
+	 * Test method for {@link RecordFileWriter#append(Object)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testAppend() throws IOException
+	{
+		final Path path = new File(".", "testRecordFileAppend.rec").toPath();
+		FileUtils.deleteQuietly(path.toFile());
+		try
+		{
+			try (RecordFileWriter writer = new RecordFileWriter(path))
+			{
+				assertEquals(0, writer.append("first"));
+				assertEquals(1, writer.append(null));
+				assertEquals(2, writer.size());
+			}
+			assertEquals(3, SerializedObjectExtensions.appendToRecordFile(path, List.of("third")));
+			final List<Object> expected = new ArrayList<>();
+			expected.add("first");
+			expected.add(null);
+			expected.add("third");
+			assertEquals(expected, readAll(path));
+			try (RecordFileReader reader = new RecordFileReader(path))
+			{
+				assertTrue(reader.isIndexed());
+			}
+		}
+		finally
+		{
+			FileUtils.deleteQuietly(path.toFile());
+		}
+	}
+
+	/**
+	 * Test method for {@link RecordFileWriter} on a file of a writer that was not closed and has a
+	 * truncated last record
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testAppendAfterTruncatedRecord() throws IOException
+	{
+		final Path path = new File(".", "testAppendAfterTruncatedRecord.rec").toPath();
+		FileUtils.deleteQuietly(path.toFile());
+		try
+		{
+			try (RecordFileWriter writer = new RecordFileWriter(path, new CompactCodec(), false))
+			{
+				writer.appendAll(List.of("a", "b", "c"));
+			}
+			try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE))
+			{
+				channel.truncate(channel.size() - 1);
+			}
+			try (RecordFileReader reader = new RecordFileReader(path, new CompactCodec()))
+			{
+				assertFalse(reader.isIndexed());
+				assertEquals(2, reader.size());
+			}
+			try (RecordFileWriter writer = new RecordFileWriter(path, new CompactCodec(), true))
+			{
+				assertEquals(2, writer.size());
+				writer.append("d");
+			}
+			try (RecordFileReader reader = new RecordFileReader(path, new CompactCodec()))
+			{
+				assertTrue(reader.isIndexed());
+				assertEquals(List.of("a", "b", "d"),
+					reader.records().collect(Collectors.toList()));
+			}
+		}
+		finally
+		{
+			FileUtils.deleteQuietly(path.toFile());
+		}
+	}
+
+	/**
+	 * Test method for {@link RecordFileWriter} with a codec that does not match the file
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testCodecMismatch() throws IOException
+	{
+		final Path path = new File(".", "testCodecMismatch.rec").toPath();
+		FileUtils.deleteQuietly(path.toFile());
+		try
+		{
+			new RecordFileWriter(path).close();
+			assertThrows(IOException.class,
+				() -> new RecordFileWriter(path, new CompactCodec(), true));
+			Files.write(path, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+			assertThrows(IOException.class, () -> new RecordFileReader(path));
+		}
+		finally
+		{
+			FileUtils.deleteQuietly(path.toFile());
+		}
+	}
+
+}
@@ -0,0 +1,200 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.Serializable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link ResolvingObjectInputStream}
+ */
+public class ResolvingObjectInputStreamTest
+{
+
+	/**
+	 * The serializable type for the tests
+	 */
+	public static class Item implements Serializable
+	{
+		private static final long serialVersionUID = 1L;
+
+		/** The values */
+		int[] values = { 1, 2 };
+
+		/** The dates */
+		Date[] dates = { new Date(5) };
+	}
+
+	/**
+	 * The interface of the proxy for the tests
+	 */
+	public interface Greeting
+	{
+		/**
+		 * Gets the greeting
+		 *
+		 * @return the greeting
+		 */
+		String greet();
+	}
+
+	/**
+	 * The serializable invocation handler of the proxy for the tests
+	 */
+	public static class GreetingHandler implements InvocationHandler, Serializable
+	{
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Object invoke(final Object proxy, final Method method, final Object[] arguments)
+		{
+			return "hello";
+		}
+	}
+
+	/**
+	 * Test method for {@link ResolvingObjectInputStream#readObject()} with a class resolver
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws ClassNotFoundException
+	 *             is thrown when a class is not found
+	 */
+	@Test
+	public void testReadObject() throws IOException, ClassNotFoundException
+	{
+		final List<Item> expected = new ArrayList<>(List.of(new Item(), new Item()));
+		final byte[] bytes = SerializedObjectExtensions.toByteArray((Serializable)expected);
+		final CachingClassResolver resolver = new CachingClassResolver();
+		for (int i = 0; i < 3; i++)
+		{
+			try (ResolvingObjectInputStream inputStream = new ResolvingObjectInputStream(
+				new ByteArrayInputStream(bytes), resolver))
+			{
+				@SuppressWarnings("unchecked")
+				final List<Item> actual = (List<Item>)inputStream.readObject();
+				assertEquals(2, actual.size());
+				assertEquals(2, actual.get(1).values[1]);
+				assertEquals(new Date(5), actual.get(0).dates[0]);
+			}
+		}
+		assertTrue(resolver.getHitCount() > resolver.getMissCount());
+	}
+
+	/**
+	 * Test method for {@link SerializedObjectExtensions#toObject(byte[], ClassAllowList)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws ClassNotFoundException
+	 *             is thrown when a class is not found
+	 */
+	@Test
+	public void testAllowList() throws IOException, ClassNotFoundException
+	{
+		final ClassAllowList allowList = ClassAllowList.withDefaults(Item.class.getName());
+		final ArrayList<Object> expected = new ArrayList<>(List.of(1, "a", new Item(),
+			new HashMap<>(Map.of("b", 2L)), new HashSet<>(Set.of(List.of(3)))));
+		final byte[] bytes = SerializedObjectExtensions.toByteArray(expected);
+		final List<?> actual = (List<?>)SerializedObjectExtensions.toObject(bytes, allowList);
+		assertEquals(5, actual.size());
+		assertEquals(expected.get(3), actual.get(3));
+		assertEquals(expected.get(4), actual.get(4));
+
+		final ConcurrentHashMap<String, Integer> rejected = new ConcurrentHashMap<>(
+			Map.of("a", 1));
+		final byte[] rejectedBytes = SerializedObjectExtensions.toByteArray(rejected);
+		assertThrows(InvalidClassException.class,
+			() -> SerializedObjectExtensions.toObject(rejectedBytes, allowList));
+		assertThrows(InvalidClassException.class,
+			() -> SerializedObjectExtensions.toObject(bytes, new ClassAllowList("java.util.*")));
+	}
+
+	/**
+	 * Test method for {@link ResolvingObjectInputStream#readObject()} with a proxy, the interfaces
+	 * of the proxy class are checked with the allow list and resolved with the class resolver
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws ClassNotFoundException
+	 *             is thrown when a class is not found
+	 */
+	@Test
+	public void testProxy() throws IOException, ClassNotFoundException
+	{
+		final Greeting greeting = (Greeting)Proxy.newProxyInstance(
+			Greeting.class.getClassLoader(), new Class<?>[] { Greeting.class },
+			new GreetingHandler());
+		final byte[] bytes = SerializedObjectExtensions.toByteArray((Serializable)greeting);
+		final List<String> resolved = new ArrayList<>();
+		final ClassResolver resolver = name -> {
+			resolved.add(name);
+			return Class.forName(name, false, Greeting.class.getClassLoader());
+		};
+		final ClassAllowList allowList = ClassAllowList.withDefaults(Greeting.class.getName(),
+			GreetingHandler.class.getName(), Proxy.class.getName());
+		try (ResolvingObjectInputStream inputStream = new ResolvingObjectInputStream(
+			new ByteArrayInputStream(bytes), resolver, allowList))
+		{
+			final Greeting actual = (Greeting)inputStream.readObject();
+			assertTrue(Proxy.isProxyClass(actual.getClass()));
+			assertEquals("hello", actual.greet());
+		}
+		assertTrue(resolved.contains(Greeting.class.getName()));
+
+		resolved.clear();
+		final ClassAllowList withoutInterface = ClassAllowList
+			.withDefaults(GreetingHandler.class.getName(), Proxy.class.getName());
+		try (ResolvingObjectInputStream inputStream = new ResolvingObjectInputStream(
+			new ByteArrayInputStream(bytes), resolver, withoutInterface))
+		{
+			assertThrows(InvalidClassException.class, inputStream::readObject);
+		}
+		assertTrue(resolved.isEmpty());
+	}
+
+}
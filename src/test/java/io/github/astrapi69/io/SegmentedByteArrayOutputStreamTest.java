@@ -0,0 +1,187 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link SegmentedByteArrayOutputStream}
+ */
+public class SegmentedByteArrayOutputStreamTest
+{
+
+	/**
+	 * Test method for {@link SegmentedByteArrayOutputStream#write(byte[], int, int)} and
+	 * {@link SegmentedByteArrayOutputStream#toByteArray()} over many chunks
+	 */
+	@Test
+	public void testWriteAndToByteArray()
+	{
+		final byte[] data = randomBytes(100_000);
+		final SegmentedByteArrayOutputStream out = new SegmentedByteArrayOutputStream(16);
+		out.write(data[0]);
+		out.write(data, 1, 999);
+		out.write(data, 1000, data.length - 1000);
+		assertEquals(data.length, out.size());
+		assertArrayEquals(data, out.toByteArray());
+		assertTrue(1 < out.toByteBuffers().size());
+	}
+
+	/**
+	 * Test method for {@link SegmentedByteArrayOutputStream#write(InputStream)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testWriteInputStream() throws IOException
+	{
+		final byte[] data = randomBytes(5000);
+		final SegmentedByteArrayOutputStream out = new SegmentedByteArrayOutputStream(data.length);
+		assertEquals(data.length, out.write(new ByteArrayInputStream(data)));
+		// the exact sized chunk is filled without allocating a further chunk
+		assertEquals(1, out.toByteBuffers().size());
+		assertArrayEquals(data, out.toByteArray());
+
+		assertEquals(data.length, out.write(new ByteArrayInputStream(data)));
+		assertEquals(2L * data.length, out.size());
+	}
+
+	/**
+	 * Test method for {@link SegmentedByteArrayOutputStream#toInputStream()},
+	 * {@link SegmentedByteArrayOutputStream#toByteBuffers()} and
+	 * {@link SegmentedByteArrayOutputStream#writeTo(java.io.OutputStream)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testViews() throws IOException
+	{
+		final byte[] data = randomBytes(10_000);
+		final SegmentedByteArrayOutputStream out = new SegmentedByteArrayOutputStream(100);
+		out.write(data, 0, data.length);
+
+		try (InputStream in = out.toInputStream())
+		{
+			assertArrayEquals(data, in.readAllBytes());
+		}
+
+		final List<ByteBuffer> byteBuffers = out.toByteBuffers();
+		final ByteBuffer joined = ByteBuffer.allocate(data.length);
+		for (final ByteBuffer byteBuffer : byteBuffers)
+		{
+			assertTrue(byteBuffer.isReadOnly());
+			joined.put(byteBuffer);
+		}
+		assertArrayEquals(data, joined.array());
+
+		final ByteArrayOutputStream target = new ByteArrayOutputStream();
+		out.writeTo(target);
+		assertArrayEquals(data, target.toByteArray());
+	}
+
+	/**
+	 * Test method for {@link SegmentedByteArrayOutputStream#reset()}
+	 */
+	@Test
+	public void testReset()
+	{
+		final SegmentedByteArrayOutputStream out = new SegmentedByteArrayOutputStream(8);
+		out.write(randomBytes(1000), 0, 1000);
+		final int chunks = out.toByteBuffers().size();
+		out.reset();
+		assertEquals(0, out.size());
+		assertArrayEquals(new byte[0], out.toByteArray());
+
+		final byte[] data = randomBytes(1000);
+		out.write(data, 0, data.length);
+		assertArrayEquals(data, out.toByteArray());
+		assertEquals(chunks, out.toByteBuffers().size());
+	}
+
+	/**
+	 * Test method for {@link SegmentedByteArrayOutputStream#toString(Charset)} with multi byte
+	 * chars that are split over the borders of the chunks
+	 */
+	@Test
+	public void testToString()
+	{
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 2000; i++)
+		{
+			sb.append("\u00e4\u20ac\ud83d\ude00x").append(i);
+		}
+		final String expected = sb.toString();
+		for (final Charset charset : Arrays.asList(StandardCharsets.UTF_8,
+			StandardCharsets.UTF_16LE, StandardCharsets.ISO_8859_1))
+		{
+			final byte[] bytes = expected.getBytes(charset);
+			final SegmentedByteArrayOutputStream out = new SegmentedByteArrayOutputStream(7);
+			out.write(bytes, 0, bytes.length);
+			assertTrue(1 < out.toByteBuffers().size());
+			assertEquals(new String(bytes, charset), out.toString(charset));
+		}
+		// malformed input is replaced, also at the end of the content
+		final SegmentedByteArrayOutputStream out = new SegmentedByteArrayOutputStream(2);
+		out.write(new byte[] { 'a', 'b', (byte)0xff, 'c', (byte)0xe2, (byte)0x82 }, 0, 6);
+		assertEquals("ab\ufffdc\ufffd", out.toString(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Test method for the validation of the constructor of {@link SegmentedByteArrayOutputStream}
+	 */
+	@Test
+	public void testInvalidArguments()
+	{
+		assertThrows(IllegalArgumentException.class, () -> new SegmentedByteArrayOutputStream(0));
+		assertThrows(IndexOutOfBoundsException.class,
+			() -> new SegmentedByteArrayOutputStream().write(new byte[2], 1, 2));
+	}
+
+	private static byte[] randomBytes(final int length)
+	{
+		final byte[] bytes = new byte[length];
+		new Random(length).nextBytes(bytes);
+		return bytes;
+	}
+
+}
@@ -0,0 +1,168 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.util.Date;
+import java.util.List;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link SerializationMetricsRecorder}
+ */
+public class SerializationMetricsRecorderTest
+{
+
+	/**
+	 * Test method for {@link Serializer#setMetrics(SerializationMetrics)} with a
+	 * {@link SerializationMetricsRecorder}
+	 */
+	@Test
+	public void testRecordSerializer()
+	{
+		final SerializationMetricsRecorder recorder = new SerializationMetricsRecorder();
+		assertSame(SerializationMetrics.NOOP, Serializer.getMetrics());
+		try
+		{
+			Serializer.setMetrics(recorder);
+			final Date date = new Date(42);
+			final byte[] bytes = Serializer.toByteArray(date);
+			assertEquals(date, Serializer.toObject(bytes));
+			assertEquals("value", Serializer.toObject(Serializer.toBase64EncodedString("value")));
+		}
+		finally
+		{
+			Serializer.setMetrics(SerializationMetrics.NOOP);
+		}
+		final byte[] unrecorded = Serializer.toByteArray(new Date(43));
+		assertNotNull(unrecorded);
+
+		assertEquals(2, recorder.getEncodeCount());
+		assertEquals(2, recorder.getDecodeCount());
+		final TypeMetrics dateMetrics = recorder.getTypeMetrics(Date.class);
+		assertEquals(1, dateMetrics.getEncodeCount());
+		assertEquals(1, dateMetrics.getDecodeCount());
+		assertEquals(unrecorded.length, dateMetrics.getSizeMax());
+		assertEquals(2L * unrecorded.length, dateMetrics.getTotalSize());
+		assertTrue(0 < dateMetrics.getEncodeLatencyMax());
+		if (recorder.isAllocationMeasured())
+		{
+			assertTrue(0 < dateMetrics.getEncodeAllocatedBytes());
+		}
+		final List<TypeMetrics> typeMetrics = recorder.getTypeMetrics();
+		assertEquals(2, typeMetrics.size());
+		assertEquals("java.lang.String", typeMetrics.get(0).getTypeName());
+		assertEquals(Serializer.toByteArray("value").length, typeMetrics.get(0).getSizeMax());
+		assertNull(recorder.getTypeMetrics(Integer.class));
+		recorder.reset();
+		assertEquals(0, recorder.getTypeMetrics().size());
+	}
+
+	/**
+	 * Test method for {@link Serializer#writeBase64(Object, Appendable)},
+	 * {@link Serializer#readBase64(java.io.Reader)} and {@link Serializer#readBase64(CharSequence)}
+	 * with a {@link SerializationMetricsRecorder}
+	 */
+	@Test
+	public void testRecordBase64Streams()
+	{
+		final SerializationMetricsRecorder recorder = new SerializationMetricsRecorder(false);
+		final StringWriter writer = new StringWriter();
+		try
+		{
+			Serializer.setMetrics(recorder);
+			Serializer.writeBase64(new Date(44), writer);
+			assertEquals(new Date(44), Serializer.readBase64(new StringReader(writer.toString())));
+			assertEquals(new Date(44), Serializer.readBase64(writer.getBuffer()));
+		}
+		finally
+		{
+			Serializer.setMetrics(SerializationMetrics.NOOP);
+		}
+		final TypeMetrics dateMetrics = recorder.getTypeMetrics(Date.class);
+		assertEquals(1, dateMetrics.getEncodeCount());
+		assertEquals(2, dateMetrics.getDecodeCount());
+		final long expected = Serializer.toByteArray(new Date(44)).length;
+		assertEquals(expected, dateMetrics.getSizeMax());
+		assertEquals(3 * expected, dateMetrics.getTotalSize());
+	}
+
+	/**
+	 * Test method for {@link SerializationMetricsRecorder#recordEncode(Class, long, long, long)}
+	 * with null objects and without measurement of allocations
+	 */
+	@Test
+	public void testRecordNull()
+	{
+		final SerializationMetricsRecorder recorder = new SerializationMetricsRecorder(false);
+		assertEquals(0, recorder.currentThreadAllocatedBytes());
+		recorder.recordEncode(null, 5, 100, 0);
+		recorder.recordDecode(null, 5, 300, 0);
+		final TypeMetrics metrics = recorder.getTypeMetrics(null);
+		assertEquals("null", metrics.getTypeName());
+		assertEquals(100, metrics.getEncodeLatencyMedian());
+		assertEquals(300, metrics.getDecodeLatency99thPercentile());
+		assertEquals(5, metrics.getSizeMedian());
+	}
+
+	/**
+	 * Test method for {@link SerializationMetricsMBeans#register(SerializationMetricsRecorder)}
+	 *
+	 * @throws JMException
+	 *             if the MXBean can not be registered or read
+	 */
+	@Test
+	public void testRegisterMBean() throws JMException
+	{
+		final SerializationMetricsRecorder recorder = new SerializationMetricsRecorder();
+		recorder.recordEncode(String.class, 10, 1000, 0);
+		final ObjectName objectName = SerializationMetricsMBeans.register(recorder);
+		try
+		{
+			final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			assertEquals(1L, server.getAttribute(objectName, "EncodeCount"));
+			final Object[] typeMetrics = (Object[])server.getAttribute(objectName, "TypeMetrics");
+			assertEquals(1, typeMetrics.length);
+		}
+		finally
+		{
+			SerializationMetricsMBeans.unregister();
+		}
+	}
+
+}
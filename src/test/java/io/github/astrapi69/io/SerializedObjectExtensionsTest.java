@@ -26,17 +26,23 @@ package io.github.astrapi69.io;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.Date;
 
 import org.junit.jupiter.api.Test;
 import org.meanbean.test.BeanTester;
 
 import io.github.astrapi69.date.CreateDateExtensions;
+import io.github.astrapi69.io.codec.CompactCodec;
+import io.github.astrapi69.io.codec.JavaSerializationCodec;
+import io.github.astrapi69.io.codec.SerializationCodec;
 import io.github.astrapi69.test.base.BaseTestCase;
 import io.github.astrapi69.test.object.Person;
 
@@ -102,6 +108,36 @@ public class SerializedObjectExtensionsTest extends BaseTestCase
 		assertEquals(expected, actual);
 	}
 
+	/**
+	 * Test method for {@link SerializedObjectExtensions#setDefaultCodec(SerializationCodec)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws ClassNotFoundException
+	 *             is thrown when a class is not found in the classloader or no definition for the
+	 *             class with the specified name could be found
+	 */
+	@Test
+	public void testSetDefaultCodec() throws IOException, ClassNotFoundException
+	{
+		final SerializationCodec previous = SerializedObjectExtensions.getDefaultCodec();
+		assertTrue(previous instanceof JavaSerializationCodec);
+		final CompactCodec compactCodec = new CompactCodec();
+		try
+		{
+			SerializedObjectExtensions.setDefaultCodec(compactCodec);
+			assertSame(compactCodec, SerializedObjectExtensions.getDefaultCodec());
+			final Date expected = CreateDateExtensions.newDate(2007, 11, 8);
+			final byte[] byteArray = SerializedObjectExtensions.toByteArray(expected);
+			assertEquals(expected, SerializedObjectExtensions.toObject(byteArray, compactCodec));
+			assertEquals(expected, SerializedObjectExtensions.toObject(byteArray));
+		}
+		finally
+		{
+			SerializedObjectExtensions.setDefaultCodec(previous);
+		}
+	}
+
 	/**
 	 * Test method for {@link SerializedObjectExtensions#toBase64EncodedString(Serializable)}
 	 *
@@ -124,6 +160,28 @@ public class SerializedObjectExtensionsTest extends BaseTestCase
 		assertEquals(expected, actual);
 	}
 
+	/**
+	 * Test method for {@link SerializedObjectExtensions#writeBase64(Object, Appendable)} and
+	 * {@link SerializedObjectExtensions#readBase64(java.io.Reader)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws ClassNotFoundException
+	 *             is thrown when a class is not found in the classloader or no definition for the
+	 *             class with the specified name could be found
+	 */
+	@Test
+	public void testWriteBase64() throws IOException, ClassNotFoundException
+	{
+		final String expected = "rO0ABXNyACZpby5naXRodWIuYXN0cmFwaTY5LnRlc3Qub2JqZWN0LlBlcnNvbgAAAAAAAAABAgAFTAAFYWJvdXR0ABJMamF2YS9sYW5nL1N0cmluZztMAAZnZW5kZXJ0ADRMaW8vZ2l0aHViL2FzdHJhcGk2OS90ZXN0L29iamVjdC9lbnVtZXJhdGlvbi9HZW5kZXI7TAAHbWFycmllZHQAE0xqYXZhL2xhbmcvQm9vbGVhbjtMAARuYW1lcQB+AAFMAAhuaWNrbmFtZXEAfgABeHB0AA9zY2llbmNlIGlzIGNvb2x+cgAyaW8uZ2l0aHViLmFzdHJhcGk2OS50ZXN0Lm9iamVjdC5lbnVtZXJhdGlvbi5HZW5kZXIAAAAAAAAAABIAAHhyAA5qYXZhLmxhbmcuRW51bQAAAAAAAAAAEgAAeHB0AAlVTkRFRklORURzcgARamF2YS5sYW5nLkJvb2xlYW7NIHKA1Zz67gIAAVoABXZhbHVleHAAdAAGQWxiZXJ0dAAA";
+		final Person person = Person.builder().name("Albert").about("science is cool").build();
+		final StringWriter writer = new StringWriter();
+		SerializedObjectExtensions.writeBase64(person, writer);
+		assertEquals(expected, writer.toString());
+		assertEquals(person,
+			SerializedObjectExtensions.readBase64(new StringReader(writer.toString())));
+	}
+
 	/**
 	 * Test method for {@link SerializedObjectExtensions#toObject(byte[])}
 	 *
@@ -0,0 +1,103 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link SnapshotResult}
+ */
+public class SnapshotResultTest
+{
+
+	/**
+	 * Test method for {@link SnapshotResult#getBytesPerSecond()}
+	 */
+	@Test
+	public void testGetBytesPerSecond()
+	{
+		final SnapshotResult result = new SnapshotResult("a", 3000, 1, Duration.ofMillis(1500));
+		assertEquals(2000.0, result.getBytesPerSecond(), 0.0001);
+		assertEquals(0.0, new SnapshotResult(null, 10, 0, Duration.ZERO).getBytesPerSecond());
+	}
+
+	/**
+	 * Test method for {@link SerializedObjectExtensions#writeSnapshot(Object, Path, boolean)} and
+	 * {@link SerializedObjectExtensions#readSnapshot(Path)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws ClassNotFoundException
+	 *             is thrown when a class is not found in the classloader or no definition for the
+	 *             class with the specified name could be found
+	 */
+	@Test
+	public void testWriteAndReadSnapshot() throws IOException, ClassNotFoundException
+	{
+		final Path path = new File(".", "testWriteAndReadSnapshot.ser").toPath();
+		try
+		{
+			final ArrayList<Date> expected = new ArrayList<>();
+			for (int i = 0; i < 10_000; i++)
+			{
+				expected.add(new Date(i));
+			}
+			expected.add(expected.get(0));
+			final SnapshotResult written = SerializedObjectExtensions.writeSnapshot(expected,
+				path, true);
+			assertEquals(Files.size(path), written.getBytes());
+			assertEquals(10_001, written.getObjectCount());
+			assertTrue(written.getBytesPerSecond() > 0);
+
+			final SnapshotResult read = SerializedObjectExtensions.readSnapshot(path);
+			assertEquals(expected, read.getObject());
+			assertEquals(written.getBytes(), read.getBytes());
+			assertEquals(written.getObjectCount(), read.getObjectCount());
+			final List<?> list = (List<?>)read.getObject();
+			assertTrue(list.get(0) == list.get(10_000));
+
+			assertEquals(expected, SerializedObjectExtensions.readSerializedObjectFromFile(
+				path.toFile()));
+		}
+		finally
+		{
+			FileUtils.deleteQuietly(path.toFile());
+		}
+	}
+
+}
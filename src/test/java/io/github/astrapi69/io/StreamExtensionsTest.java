@@ -24,22 +24,49 @@
  */
 package io.github.astrapi69.io;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UnsupportedEncodingException;
 import java.io.Writer;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.IllegalBlockingModeException;
+import java.nio.channels.Pipe;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.Test;
@@ -112,6 +139,341 @@ public class StreamExtensionsTest extends BaseTestCase
 		FileUtils.deleteQuietly(writeInMe);
 	}
 
+	/**
+	 * Test method for {@link StreamExtensions#getByteArray(File)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testGetByteArrayFile() throws IOException
+	{
+		final byte[] expected = new byte[12_345];
+		new Random(3).nextBytes(expected);
+		final File file = new File(".", "testGetByteArrayFile.dat");
+		Files.write(file.toPath(), expected);
+
+		assertArrayEquals(expected, StreamExtensions.getByteArray(file));
+		assertArrayEquals(expected, StreamExtensions.getByteArray(file.toPath()));
+		FileUtils.deleteQuietly(file);
+
+		assertThrows(FileNotFoundException.class, () -> StreamExtensions.getByteArray(file));
+	}
+
+	/**
+	 * Test method for {@link StreamExtensions#getMappedByteBuffer(Path)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testGetMappedByteBuffer() throws IOException
+	{
+		final byte[] expected = new byte[10_000];
+		new Random(5).nextBytes(expected);
+		final File file = new File(".", "testGetMappedByteBuffer.dat");
+		Files.write(file.toPath(), expected);
+
+		final MappedByteBuffer mappedByteBuffer = StreamExtensions.getMappedByteBuffer(file);
+		assertTrue(mappedByteBuffer.isReadOnly());
+		assertEquals(expected.length, mappedByteBuffer.remaining());
+		final byte[] actual = new byte[mappedByteBuffer.remaining()];
+		mappedByteBuffer.get(actual);
+		assertArrayEquals(expected, actual);
+		FileUtils.deleteQuietly(file);
+	}
+
+	/**
+	 * Test method for {@link StreamExtensions#getMappedByteBuffers(Path, int)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testGetMappedByteBuffers() throws IOException
+	{
+		final byte[] expected = new byte[2_500];
+		new Random(9).nextBytes(expected);
+		final File file = new File(".", "testGetMappedByteBuffers.dat");
+		Files.write(file.toPath(), expected);
+
+		final List<MappedByteBuffer> mappedByteBuffers = StreamExtensions
+			.getMappedByteBuffers(file.toPath(), 1_000);
+		assertEquals(3, mappedByteBuffers.size());
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		for (MappedByteBuffer mappedByteBuffer : mappedByteBuffers)
+		{
+			final byte[] region = new byte[mappedByteBuffer.remaining()];
+			mappedByteBuffer.get(region);
+			outputStream.write(region);
+		}
+		assertArrayEquals(expected, outputStream.toByteArray());
+		assertEquals(1, StreamExtensions.getMappedByteBuffers(file.toPath()).size());
+		FileUtils.deleteQuietly(file);
+	}
+
+	/**
+	 * Test method for {@link StreamExtensions#copy(InputStream, OutputStream)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testCopy() throws IOException
+	{
+		final byte[] expected = new byte[StreamExtensions.DEFAULT_BUFFER_SIZE * 3 + 17];
+		new Random(42).nextBytes(expected);
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+		long transferred = StreamExtensions.copy(new ByteArrayInputStream(expected), outputStream);
+		assertEquals(expected.length, transferred);
+		assertArrayEquals(expected, outputStream.toByteArray());
+
+		outputStream = new ByteArrayOutputStream();
+		transferred = StreamExtensions
+			.copy(new BufferedInputStream(new ByteArrayInputStream(expected)), outputStream);
+		assertEquals(expected.length, transferred);
+		assertArrayEquals(expected, outputStream.toByteArray());
+	}
+
+	/**
+	 * Test method for {@link StreamExtensions#copy(InputStream, OutputStream)} that draws the
+	 * buffers from the default {@link BufferPool}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testCopyWithBufferPool() throws IOException
+	{
+		final BufferPool defaultPool = BufferPool.getDefault();
+		final BufferPool bufferPool = new BufferPool();
+		final byte[] expected = "silly-io".getBytes();
+		try
+		{
+			BufferPool.setDefault(bufferPool);
+			for (int index = 0; index < 3; index++)
+			{
+				final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+				StreamExtensions.copy(new BufferedInputStream(new ByteArrayInputStream(expected)),
+					outputStream);
+				assertArrayEquals(expected, outputStream.toByteArray());
+			}
+			assertEquals(1, bufferPool.getMissCount());
+			assertEquals(2, bufferPool.getHitCount());
+		}
+		finally
+		{
+			BufferPool.setDefault(defaultPool);
+		}
+	}
+
+	/**
+	 * Test method for {@link StreamExtensions#copy(InputStream, OutputStream, byte[])}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testCopyWithBuffer() throws IOException
+	{
+		final byte[] expected = "The quick brown fox jumps over the lazy dog".getBytes();
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+		final long transferred = StreamExtensions.copy(new ByteArrayInputStream(expected),
+			outputStream, new byte[5]);
+		assertEquals(expected.length, transferred);
+		assertArrayEquals(expected, outputStream.toByteArray());
+	}
+
+	/**
+	 * Test method for {@link StreamExtensions#copy(InputStream, OutputStream)} with file streams
+	 * that will be transferred over their channels
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testCopyFileStreams() throws IOException
+	{
+		final byte[] content = new byte[100_000];
+		new Random(7).nextBytes(content);
+		final File source = new File(".", "testCopyFileStreams.in");
+		final File target = new File(".", "testCopyFileStreams.out");
+		Files.write(source.toPath(), content);
+
+		try (FileInputStream inputStream = new FileInputStream(source);
+			FileOutputStream outputStream = new FileOutputStream(target))
+		{
+			assertEquals(10, inputStream.skip(10));
+			final long transferred = StreamExtensions.copy(inputStream, outputStream);
+			assertEquals(content.length - 10, transferred);
+			assertEquals(-1, inputStream.read());
+		}
+		final byte[] expected = new byte[content.length - 10];
+		System.arraycopy(content, 10, expected, 0, expected.length);
+		assertArrayEquals(expected, Files.readAllBytes(target.toPath()));
+		FileUtils.deleteQuietly(source);
+		FileUtils.deleteQuietly(target);
+	}
+
+	/**
+	 * Test method for {@link StreamExtensions#copy(InputStream, OutputStream)} with a file input
+	 * stream that reports the size 0 like a pipe or a device, here a file of the proc file system
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testCopyFileStreamsWithoutSize() throws IOException
+	{
+		final File source = new File("/proc/version");
+		if (!source.canRead())
+		{
+			// no proc file system on this platform
+			return;
+		}
+		final byte[] expected = Files.readAllBytes(source.toPath());
+		final File target = new File(".", "testCopyFileStreamsWithoutSize.out");
+		try (FileInputStream inputStream = new FileInputStream(source);
+			FileOutputStream outputStream = new FileOutputStream(target))
+		{
+			assertEquals(0, inputStream.getChannel().size());
+			final long transferred = StreamExtensions.copy(inputStream, outputStream);
+			assertTrue(0 < transferred);
+			assertEquals(expected.length, transferred);
+		}
+		assertArrayEquals(expected, Files.readAllBytes(target.toPath()));
+		FileUtils.deleteQuietly(target);
+	}
+
+	/**
+	 * Test method for {@link StreamExtensions#transfer(Path, Path)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testTransferPathPath() throws IOException
+	{
+		final byte[] expected = new byte[200_000];
+		new Random(11).nextBytes(expected);
+		final Path source = new File(".", "testTransferPathPath.in").toPath();
+		final Path target = new File(".", "testTransferPathPath.out").toPath();
+		Files.write(source, expected);
+
+		final TransferResult result = StreamExtensions.transfer(source, target);
+		assertEquals(expected.length, result.getTransferredBytes());
+		assertEquals(TransferMode.ZERO_COPY, result.getTransferMode());
+		assertArrayEquals(expected, Files.readAllBytes(target));
+		FileUtils.deleteQuietly(source.toFile());
+		FileUtils.deleteQuietly(target.toFile());
+	}
+
+	/**
+	 * Test method for {@link StreamExtensions#transfer(FileChannel, FileChannel)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testTransferFileChannelFileChannel() throws IOException
+	{
+		final Path source = new File(".", "testTransferFileChannelFileChannel.in").toPath();
+		final Path target = new File(".", "testTransferFileChannelFileChannel.out").toPath();
+		Files.write(source, "0123456789".getBytes());
+		Files.write(target, "abc".getBytes());
+
+		try (FileChannel sourceChannel = FileChannel.open(source, StandardOpenOption.READ);
+			FileChannel targetChannel = FileChannel.open(target, StandardOpenOption.WRITE,
+				StandardOpenOption.APPEND))
+		{
+			sourceChannel.position(4);
+			final TransferResult result = StreamExtensions.transfer(sourceChannel,
+				targetChannel);
+			assertEquals(6, result.getTransferredBytes());
+			assertEquals(TransferMode.ZERO_COPY, result.getTransferMode());
+			assertEquals(10, sourceChannel.position());
+		}
+		assertEquals("abc456789", new String(Files.readAllBytes(target)));
+		FileUtils.deleteQuietly(source.toFile());
+		FileUtils.deleteQuietly(target.toFile());
+	}
+
+	/**
+	 * Test method for {@link StreamExtensions#transfer(FileChannel, WritableByteChannel)} with a
+	 * target channel that does not support zero copy
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testTransferToArbitraryChannel() throws IOException
+	{
+		final byte[] expected = new byte[StreamExtensions.DEFAULT_BUFFER_SIZE * 2 + 3];
+		new Random(13).nextBytes(expected);
+		final Path source = new File(".", "testTransferToArbitraryChannel.in").toPath();
+		Files.write(source, expected);
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+		final TransferResult result = StreamExtensions.transfer(source,
+			Channels.newChannel(outputStream));
+		assertEquals(expected.length, result.getTransferredBytes());
+		assertEquals(TransferMode.BUFFERED, result.getTransferMode());
+		assertArrayEquals(expected, outputStream.toByteArray());
+		FileUtils.deleteQuietly(source.toFile());
+	}
+
+	/**
+	 * Test method for {@link StreamExtensions#transfer(FileChannel, WritableByteChannel)} with a
+	 * target channel in non blocking mode
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testTransferToNonBlockingChannel() throws IOException
+	{
+		final Path source = new File(".", "testTransferToNonBlockingChannel.in").toPath();
+		Files.write(source, new byte[StreamExtensions.DEFAULT_BUFFER_SIZE * 4]);
+		final Pipe pipe = Pipe.open();
+		try (FileChannel sourceChannel = FileChannel.open(source, StandardOpenOption.READ);
+			Pipe.SinkChannel sink = pipe.sink(); Pipe.SourceChannel pipeSource = pipe.source())
+		{
+			sink.configureBlocking(false);
+			assertThrows(IllegalBlockingModeException.class,
+				() -> StreamExtensions.transfer(sourceChannel, sink));
+			assertEquals(0, sourceChannel.position());
+		}
+		FileUtils.deleteQuietly(source.toFile());
+	}
+
+	/**
+	 * Test method for {@link StreamExtensions#transfer(ReadableByteChannel, FileChannel)} with a
+	 * source channel that does not support zero copy
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testTransferFromArbitraryChannel() throws IOException
+	{
+		final byte[] expected = new byte[100_003];
+		new Random(17).nextBytes(expected);
+		final Path target = new File(".", "testTransferFromArbitraryChannel.out").toPath();
+
+		try (FileChannel targetChannel = FileChannel.open(target, StandardOpenOption.CREATE,
+			StandardOpenOption.WRITE))
+		{
+			final TransferResult result = StreamExtensions
+				.transfer(Channels.newChannel(new ByteArrayInputStream(expected)), targetChannel);
+			assertEquals(expected.length, result.getTransferredBytes());
+			assertEquals(TransferMode.BUFFERED, result.getTransferMode());
+		}
+		assertArrayEquals(expected, Files.readAllBytes(target));
+		FileUtils.deleteQuietly(target.toFile());
+	}
+
 	/**
 	 * Test method for {@link StreamExtensions#getInputStream(File)}.
 	 *
@@ -258,6 +620,82 @@ public class StreamExtensionsTest extends BaseTestCase
 		FileUtils.deleteQuietly(inputFile);
 	}
 
+	/**
+	 * Test method for {@link StreamExtensions#getWriter(File, String, boolean)} with an unknown
+	 * encoding and an existing file that will be truncated
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testGetWriterFileStringBoolean() throws IOException
+	{
+		final File file = new File(".", "testGetWriterFileStringBoolean.out");
+		Files.write(file.toPath(), "old content that is longer".getBytes(StandardCharsets.UTF_8));
+
+		try (Writer writer = StreamExtensions.getWriter(file, "UTF-8", false))
+		{
+			writer.write("Grüße");
+		}
+		assertEquals("Grüße", new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+		assertThrows(UnsupportedEncodingException.class,
+			() -> StreamExtensions.getWriter(file, "no-such-encoding", false));
+		FileUtils.deleteQuietly(file);
+	}
+
+	/**
+	 * Test method for {@link StreamExtensions#getWriter(Path, Charset, OpenOption...)} and
+	 * {@link StreamExtensions#getWriter(Path, Charset, int, OpenOption...)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testGetWriterPath() throws IOException
+	{
+		final Path path = new File(".", "testGetWriterPath.out").toPath();
+
+		try (Writer writer = StreamExtensions.getWriter(path, StandardCharsets.UTF_8))
+		{
+			writer.write("first");
+		}
+		try (Writer writer = StreamExtensions.getWriter(path, StandardCharsets.UTF_8, 16,
+			StandardOpenOption.APPEND, StandardOpenOption.DSYNC))
+		{
+			writer.write(", second and a text longer than the buffer");
+		}
+		assertEquals("first, second and a text longer than the buffer",
+			new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+		FileUtils.deleteQuietly(path.toFile());
+
+		assertThrows(NoSuchFileException.class, () -> StreamExtensions.getWriter(path,
+			StandardCharsets.UTF_8, StandardOpenOption.WRITE));
+	}
+
+	/**
+	 * Test method for {@link StreamExtensions#getOutputStream(Path, int, OpenOption...)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testGetOutputStreamPathWithBufferSize() throws IOException
+	{
+		final Path path = new File(".", "testGetOutputStreamPathWithBufferSize.out").toPath();
+
+		try (OutputStream outputStream = StreamExtensions.getOutputStream(path, 4))
+		{
+			outputStream.write("0123456789".getBytes());
+		}
+		try (OutputStream outputStream = StreamExtensions.getOutputStream(path, 4,
+			StandardOpenOption.CREATE, StandardOpenOption.APPEND))
+		{
+			outputStream.write("abc".getBytes());
+		}
+		assertEquals("0123456789abc", new String(Files.readAllBytes(path)));
+		FileUtils.deleteQuietly(path.toFile());
+	}
+
 	/**
 	 * Test method for {@link StreamExtensions#getWriter(File, String, boolean)}.
 	 *
@@ -307,7 +745,9 @@ public class StreamExtensionsTest extends BaseTestCase
 			"testWriteInputStreamToOutputStreamInputStreamOutputStream.out");
 		try (final OutputStream outputStream = StreamExtensions.getOutputStream(fileout, true);)
 		{
-			StreamExtensions.writeInputStreamToOutputStream(inputStream, outputStream);
+			final long transferred = StreamExtensions.writeInputStreamToOutputStream(inputStream,
+				outputStream);
+			assertEquals(writeInMe.length(), transferred);
 		}
 
 		final Object readedObjectFromFile = SerializedObjectExtensions
@@ -331,5 +771,148 @@ public class StreamExtensionsTest extends BaseTestCase
 		expected = "";
 		actual = StreamExtensions.toString(null);
 		assertEquals(actual, expected);
+
+		expected = "first\nsecond\nthird\n";
+		actual = StreamExtensions.toString(
+			new ByteArrayInputStream("first\r\nsecond\nthird".getBytes(StandardCharsets.UTF_8)));
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Test method for {@link StreamExtensions#writeReaderToWriter(Reader, Writer)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testWriteReaderToWriter() throws IOException
+	{
+		final String expected = "Grüße aus Athen\r\n".repeat(2_000);
+		final StringWriter writer = new StringWriter();
+
+		final long transferred = StreamExtensions.writeReaderToWriter(new StringReader(expected),
+			writer);
+		assertEquals(expected.length(), transferred);
+		assertEquals(expected, writer.toString());
+	}
+
+	/**
+	 * Test method for
+	 * {@link StreamExtensions#transcode(InputStream, Charset, OutputStream, Charset)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testTranscode() throws IOException
+	{
+		final String expected = "Grüße aus Athen, Ελλάδα \uD83D\uDE00\n".repeat(5_000);
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+		long transcoded = StreamExtensions.transcode(
+			new ByteArrayInputStream(expected.getBytes(StandardCharsets.UTF_8)),
+			StandardCharsets.UTF_8, outputStream, StandardCharsets.UTF_16);
+		assertEquals(expected.length(), transcoded);
+		assertEquals(expected, outputStream.toString(StandardCharsets.UTF_16));
+
+		outputStream = new ByteArrayOutputStream();
+		transcoded = StreamExtensions.transcode(
+			new ByteArrayInputStream("Grüße".getBytes(StandardCharsets.UTF_8)),
+			StandardCharsets.UTF_8, outputStream, StandardCharsets.ISO_8859_1);
+		assertEquals(5, transcoded);
+		assertArrayEquals("Grüße".getBytes(StandardCharsets.ISO_8859_1),
+			outputStream.toByteArray());
+
+		// a stateful charset that writes the shift back to ascii on the flush of the encoder
+		final Charset iso2022jp = Charset.forName("ISO-2022-JP");
+		final String japanese = "abc\u65e5\u672c\u8a9e".repeat(3_000);
+		outputStream = new ByteArrayOutputStream();
+		transcoded = StreamExtensions.transcode(
+			new ByteArrayInputStream(japanese.getBytes(StandardCharsets.UTF_8)),
+			StandardCharsets.UTF_8, outputStream, iso2022jp);
+		assertEquals(japanese.length(), transcoded);
+		assertArrayEquals(japanese.getBytes(iso2022jp), outputStream.toByteArray());
+
+		outputStream = new ByteArrayOutputStream();
+		transcoded = StreamExtensions.transcode(new ByteArrayInputStream(new byte[0]),
+			StandardCharsets.UTF_8, outputStream, StandardCharsets.UTF_8);
+		assertEquals(0, transcoded);
+		assertEquals(0, outputStream.size());
+	}
+
+	/**
+	 * Test method for {@link StreamExtensions#toString(InputStream, Charset)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testToStringWithCharset() throws IOException
+	{
+		String expected;
+		String actual;
+
+		actual = StreamExtensions.toString(null, StandardCharsets.UTF_8);
+		assertEquals("", actual);
+
+		expected = "{\"name\":\"Albert\"}\r\n{\"name\":\"Leonardo\"}";
+		actual = StreamExtensions.toString(
+			new ByteArrayInputStream(expected.getBytes(StandardCharsets.US_ASCII)),
+			StandardCharsets.UTF_8);
+		assertEquals(expected, actual);
+
+		expected = "Grüße aus Athen, Ελλάδα \uD83D\uDE00";
+		actual = StreamExtensions.toString(
+			new ByteArrayInputStream(expected.getBytes(StandardCharsets.UTF_8)),
+			StandardCharsets.UTF_8);
+		assertEquals(expected, actual);
+
+		expected = "Grüße";
+		actual = StreamExtensions.toString(
+			new ByteArrayInputStream(expected.getBytes(StandardCharsets.ISO_8859_1)),
+			StandardCharsets.ISO_8859_1);
+		assertEquals(expected, actual);
+
+		expected = "Grüße aus Athen";
+		actual = StreamExtensions.toString(
+			new ByteArrayInputStream(expected.getBytes(StandardCharsets.UTF_16)),
+			StandardCharsets.UTF_16);
+		assertEquals(expected, actual);
+
+		final byte[] malformed = { 'a', (byte)0xC3, 'b' };
+		actual = StreamExtensions.toString(new ByteArrayInputStream(malformed),
+			StandardCharsets.UTF_8);
+		assertEquals(new String(malformed, StandardCharsets.UTF_8), actual);
+	}
+
+	/**
+	 * Test method for {@link StreamExtensions#forEachLine(InputStream, Charset, Consumer)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testForEachLine() throws IOException
+	{
+		final StringBuilder actual = new StringBuilder();
+		final long count = StreamExtensions.forEachLine(
+			new ByteArrayInputStream("äöü\r\nfoo\n\nbar".getBytes(StandardCharsets.UTF_8)),
+			StandardCharsets.UTF_8, line -> actual.append('[').append(line).append(']'));
+		assertEquals(4, count);
+		assertEquals("[äöü][foo][][bar]", actual.toString());
+	}
+
+	/**
+	 * Test method for {@link StreamExtensions#lines(InputStream, Charset)}
+	 */
+	@Test
+	public void testLines()
+	{
+		try (Stream<String> lines = StreamExtensions.lines(
+			new ByteArrayInputStream("a\nb\r\nc".getBytes(StandardCharsets.UTF_8)),
+			StandardCharsets.UTF_8))
+		{
+			assertEquals("a|b|c", lines.collect(Collectors.joining("|")));
+		}
 	}
 }
@@ -24,8 +24,10 @@
  */
 package io.github.astrapi69.io;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -154,4 +156,81 @@ public class StringOutputStreamTest
 		FileUtils.deleteQuietly(writeInMe);
 	}
 
+	/**
+	 * Test method for {@link StringOutputStream#toString()} with content over many chunks and
+	 * multi byte chars
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testToStringLargeContent() throws IOException
+	{
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 50_000; i++)
+		{
+			sb.append("line \u00e4\u00f6\u00fc ").append(i).append('\n');
+		}
+		final String expected = sb.toString();
+		final StringOutputStream stringOutput = new StringOutputStream();
+		stringOutput.write(expected.getBytes(StandardCharsets.UTF_8));
+		assertEquals(expected, stringOutput.toString());
+		stringOutput.close();
+	}
+
+	/**
+	 * Test method for {@link StringOutputStream#size()}, {@link StringOutputStream#reset()} and
+	 * {@link StringOutputStream#writeTo(java.io.OutputStream)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testSizeResetAndWriteTo() throws IOException
+	{
+		final StringOutputStream stringOutput = new StringOutputStream();
+		stringOutput.write("first".getBytes(StandardCharsets.UTF_8));
+		assertEquals(5, stringOutput.size());
+
+		final ByteArrayOutputStream target = new ByteArrayOutputStream();
+		stringOutput.writeTo(target);
+		assertEquals("first", target.toString(StandardCharsets.UTF_8));
+
+		stringOutput.reset();
+		assertEquals(0, stringOutput.size());
+		assertEquals("", stringOutput.toString());
+		stringOutput.write("second".getBytes(StandardCharsets.UTF_8));
+		assertEquals("second", stringOutput.toString());
+		stringOutput.close();
+	}
+
+	/**
+	 * Test method for {@link StringOutputStream#write(CharSequence)} with multi byte chars over the
+	 * borders of the chunks and with the charset of the {@link StringOutputStream}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testWriteCharSequence() throws IOException
+	{
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 10_000; i++)
+		{
+			sb.append("\u00e4\u20ac\ud83d\ude00").append(i);
+		}
+		final String expected = sb.toString();
+		final StringOutputStream stringOutput = new StringOutputStream();
+		stringOutput.write(sb);
+		assertEquals(expected.getBytes(StandardCharsets.UTF_8).length, stringOutput.size());
+		assertEquals(expected, stringOutput.toString());
+
+		stringOutput.reset();
+		stringOutput.setCharset(StandardCharsets.UTF_16BE);
+		stringOutput.write(expected);
+		assertEquals(expected.length() * 2L, stringOutput.size());
+		assertEquals(expected, stringOutput.toString());
+		stringOutput.close();
+	}
+
 }
@@ -0,0 +1,85 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link ThrottledInputStream}
+ */
+public class ThrottledInputStreamTest
+{
+
+	/**
+	 * Test method for {@link ThrottledInputStream#read(byte[], int, int)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testRead() throws IOException
+	{
+		final byte[] data = new byte[60_000];
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		final long start = System.nanoTime();
+		try (ThrottledInputStream in = new ThrottledInputStream(new ByteArrayInputStream(data),
+			new TokenBucket(200_000, 20_000)))
+		{
+			assertEquals(data.length, StreamExtensions.copy(in, out));
+		}
+		final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		// 20000 bytes burst and 40000 bytes with 200000 bytes per second
+		assertTrue(180 <= elapsedMillis, "elapsed " + elapsedMillis);
+		assertArrayEquals(data, out.toByteArray());
+	}
+
+	/**
+	 * Test method for {@link ThrottledInputStream#read()} with an unlimited token bucket
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testReadUnlimited() throws IOException
+	{
+		try (ThrottledInputStream in = new ThrottledInputStream(
+			new ByteArrayInputStream(new byte[] { 1, 2 }), TokenBucket.unlimited()))
+		{
+			assertEquals(1, in.read());
+			assertEquals(2, in.read());
+			assertEquals(-1, in.read());
+		}
+	}
+
+}
@@ -0,0 +1,83 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link ThrottledOutputStream}
+ */
+public class ThrottledOutputStreamTest
+{
+
+	/**
+	 * Test method for {@link ThrottledOutputStream#write(byte[], int, int)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testWrite() throws IOException
+	{
+		final byte[] data = new byte[30_000];
+		final ByteArrayOutputStream target = new ByteArrayOutputStream();
+		final long start = System.nanoTime();
+		try (ThrottledOutputStream out = new ThrottledOutputStream(target,
+			new TokenBucket(100_000, 10_000)))
+		{
+			out.write(data, 0, 10_000);
+			out.write(data, 10_000, 20_000);
+		}
+		final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		assertTrue(180 <= elapsedMillis, "elapsed " + elapsedMillis);
+		assertArrayEquals(data, target.toByteArray());
+	}
+
+	/**
+	 * Test method for {@link ThrottledOutputStream#write(int)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testWriteSingleByte() throws IOException
+	{
+		final ByteArrayOutputStream target = new ByteArrayOutputStream();
+		try (ThrottledOutputStream out = new ThrottledOutputStream(target,
+			TokenBucket.unlimited()))
+		{
+			out.write(7);
+		}
+		assertArrayEquals(new byte[] { 7 }, target.toByteArray());
+	}
+
+}
@@ -0,0 +1,142 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link TokenBucket}
+ */
+public class TokenBucketTest
+{
+
+	/**
+	 * Test method for {@link TokenBucket#acquire(long)} with a request larger than the capacity
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testAcquire() throws IOException
+	{
+		final TokenBucket tokenBucket = new TokenBucket(100_000, 10_000);
+		final long start = System.nanoTime();
+		// the first 10000 bytes pass as burst, the other 20000 need 200 milliseconds
+		tokenBucket.acquire(10_000);
+		tokenBucket.acquire(20_000);
+		final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		assertTrue(180 <= elapsedMillis, "elapsed " + elapsedMillis);
+		assertTrue(elapsedMillis < 2000, "elapsed " + elapsedMillis);
+	}
+
+	/**
+	 * Test method for {@link TokenBucket#tryAcquire(long)}
+	 */
+	@Test
+	public void testTryAcquire()
+	{
+		final TokenBucket tokenBucket = new TokenBucket(1, 100);
+		assertTrue(tokenBucket.tryAcquire(60));
+		assertFalse(tokenBucket.tryAcquire(60));
+		assertTrue(tokenBucket.tryAcquire(40));
+	}
+
+	/**
+	 * Test method for {@link TokenBucket#tryAcquire(long)} after a long idle time with a high rate,
+	 * the refilled tokens must not overflow
+	 */
+	@Test
+	public void testTryAcquireAfterLongIdleTime()
+	{
+		final AtomicLong nanos = new AtomicLong();
+		final TokenBucket tokenBucket = new TokenBucket(1_000_000_000L, 1_000_000_000L,
+			nanos::get);
+		assertTrue(tokenBucket.tryAcquire(1_000_000_000L));
+		assertFalse(tokenBucket.tryAcquire(1));
+		nanos.addAndGet(TimeUnit.SECONDS.toNanos(10));
+		assertTrue(tokenBucket.tryAcquire(1));
+		assertTrue(tokenBucket.tryAcquire(999_999_999L));
+		assertFalse(tokenBucket.tryAcquire(1));
+		nanos.addAndGet(TimeUnit.DAYS.toNanos(365));
+		assertTrue(tokenBucket.tryAcquire(1_000_000_000L));
+	}
+
+	/**
+	 * Test method for {@link TokenBucket#unlimited()}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testUnlimited() throws IOException
+	{
+		final TokenBucket tokenBucket = TokenBucket.unlimited();
+		assertSame(tokenBucket, TokenBucket.unlimited());
+		assertTrue(tokenBucket.isUnlimited());
+		tokenBucket.acquire(Long.MAX_VALUE);
+		assertTrue(tokenBucket.tryAcquire(Long.MAX_VALUE));
+		assertFalse(new TokenBucket(1).isUnlimited());
+	}
+
+	/**
+	 * Test method for {@link TokenBucket#acquire(long)} with an interrupted thread
+	 */
+	@Test
+	public void testAcquireInterrupted()
+	{
+		final TokenBucket tokenBucket = new TokenBucket(1, 1);
+		Thread.currentThread().interrupt();
+		try
+		{
+			assertThrows(InterruptedIOException.class, () -> tokenBucket.acquire(1000));
+			assertTrue(Thread.currentThread().isInterrupted());
+		}
+		finally
+		{
+			Thread.interrupted();
+		}
+	}
+
+	/**
+	 * Test method for the validation of the constructor of {@link TokenBucket}
+	 */
+	@Test
+	public void testInvalidArguments()
+	{
+		assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0));
+		assertThrows(IllegalArgumentException.class, () -> new TokenBucket(10, 0));
+	}
+
+}
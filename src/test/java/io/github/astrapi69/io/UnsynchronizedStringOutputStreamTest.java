@@ -0,0 +1,73 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link UnsynchronizedStringOutputStream}
+ */
+public class UnsynchronizedStringOutputStreamTest
+{
+
+	/**
+	 * Test method for the write methods of {@link UnsynchronizedStringOutputStream}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	@Test
+	public void testWrite() throws IOException
+	{
+		final StringOutputStream stringOutput = new UnsynchronizedStringOutputStream();
+		stringOutput.write('a');
+		stringOutput.write("bc".getBytes(StandardCharsets.UTF_8));
+		stringOutput.write("xdex".getBytes(StandardCharsets.UTF_8), 1, 2);
+		stringOutput.write("fä");
+		stringOutput.write(new StringBuilder("€"));
+		assertEquals("abcdefä€", stringOutput.toString());
+		assertEquals(11, stringOutput.size());
+
+		final ByteArrayOutputStream target = new ByteArrayOutputStream();
+		stringOutput.writeTo(target);
+		assertArrayEquals("abcdefä€".getBytes(StandardCharsets.UTF_8), target.toByteArray());
+
+		stringOutput.reset();
+		assertEquals(0, stringOutput.size());
+		stringOutput.setCharset(StandardCharsets.ISO_8859_1);
+		stringOutput.write("ä€");
+		assertEquals(2, stringOutput.size());
+		assertEquals("ä?", stringOutput.toString());
+		stringOutput.close();
+	}
+
+}
@@ -0,0 +1,286 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io.codec;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.Serializable;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.io.SegmentedByteArrayOutputStream;
+
+/**
+ * The unit test class for the class {@link CompactCodec}
+ */
+public class CompactCodecTest
+{
+
+	/**
+	 * The enum for the tests
+	 */
+	public enum Level
+	{
+		LOW, HIGH
+	}
+
+	/**
+	 * The record for the tests
+	 *
+	 * @param id
+	 *            the id
+	 * @param name
+	 *            the name
+	 * @param level
+	 *            the level
+	 * @param tags
+	 *            the tags
+	 * @param created
+	 *            the creation time
+	 */
+	public record Entry(long id, String name, Level level, List<String> tags, Instant created)
+		implements
+			Serializable
+	{
+	}
+
+	/**
+	 * The record with a nested record for the tests
+	 *
+	 * @param entry
+	 *            the nested entry
+	 * @param values
+	 *            the values
+	 * @param scores
+	 *            the scores
+	 */
+	public record Container(Entry entry, int[] values, Map<String, Double> scores)
+	{
+	}
+
+	private final CompactCodec codec = new CompactCodec();
+
+	private Object roundTrip(final Object value) throws IOException, ClassNotFoundException
+	{
+		return codec.toObject(codec.toByteArray(value));
+	}
+
+	/**
+	 * Test method for {@link CompactCodec#toByteArray(Object)} and
+	 * {@link CompactCodec#toObject(byte[])} with the supported JDK types
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws ClassNotFoundException
+	 *             is thrown when a class of the read object is not found
+	 */
+	@Test
+	public void testRoundTripJdkTypes() throws IOException, ClassNotFoundException
+	{
+		final List<Object> values = Arrays.asList(Boolean.TRUE, Boolean.FALSE, (byte)-3,
+			(short)1234, 'x', 0, -1, Integer.MIN_VALUE, Long.MAX_VALUE, 1.5f, Math.PI, "",
+			"Grüße 😀", new BigInteger("-123456789012345678901234567890"),
+			new BigDecimal("1234.5678"), UUID.randomUUID(), new Date(1_000L),
+			Instant.ofEpochSecond(-5, 123), LocalDate.of(2020, 2, 29), LocalTime.of(23, 59, 1, 7),
+			LocalDateTime.of(1970, 1, 1, 0, 0), Duration.ofMillis(-1500),
+			new ArrayList<>(List.of(1, 2)), new LinkedList<>(List.of("a")),
+			new LinkedHashSet<>(List.of(3L, 1L)), new LinkedHashMap<>(Map.of("k", "v")), List.of(),
+			List.of(1), List.of(1, 2, 3), Set.of("a", "b", "c"), Map.of("a", 1),
+			new TreeMap<>(Map.of("z", 1, "a", 2)));
+		for (final Object expected : values)
+		{
+			final Object actual = roundTrip(expected);
+			assertEquals(expected, actual);
+			assertSame(expected.getClass(), actual.getClass());
+		}
+		assertNull(roundTrip(null));
+		assertEquals(Arrays.asList("a", null), roundTrip(Stream.of("a", null).toList()));
+		assertArrayEquals(new byte[] { 1, -2, 3 }, (byte[])roundTrip(new byte[] { 1, -2, 3 }));
+		assertArrayEquals(new long[] { Long.MIN_VALUE, 7 },
+			(long[])roundTrip(new long[] { Long.MIN_VALUE, 7 }));
+		assertArrayEquals(new double[] { -0.5 }, (double[])roundTrip(new double[] { -0.5 }));
+		assertArrayEquals(new String[] { "a", null },
+			(String[])roundTrip(new String[] { "a", null }));
+	}
+
+	/**
+	 * Test method for {@link CompactCodec#toByteArray(Object)} and
+	 * {@link CompactCodec#toObject(byte[])} with records and enums
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws ClassNotFoundException
+	 *             is thrown when a class of the read object is not found
+	 */
+	@Test
+	public void testRoundTripRecords() throws IOException, ClassNotFoundException
+	{
+		final Entry entry = new Entry(42L, "first", Level.HIGH, List.of("x", "y"),
+			Instant.ofEpochMilli(1_600_000_000_000L));
+		assertEquals(entry, roundTrip(entry));
+		assertSame(Level.LOW, roundTrip(Level.LOW));
+
+		final Container expected = new Container(entry, new int[] { 1, -1 },
+			new LinkedHashMap<>(Map.of("score", 0.75)));
+		final Container actual = (Container)roundTrip(expected);
+		assertEquals(expected.entry(), actual.entry());
+		assertArrayEquals(expected.values(), actual.values());
+		assertEquals(expected.scores(), actual.scores());
+
+		final List<Entry> entries = new ArrayList<>();
+		for (int i = 0; i < 100; i++)
+		{
+			entries.add(new Entry(i, "entry" + i, Level.values()[i % 2], List.of(), null));
+		}
+		assertEquals(entries, roundTrip(entries));
+	}
+
+	/**
+	 * Test that the compact format is smaller than the java serialization format
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testSmallerThanJavaSerialization() throws IOException
+	{
+		final List<Entry> entries = new ArrayList<>();
+		for (int i = 0; i < 100; i++)
+		{
+			entries.add(new Entry(i, "entry" + i, Level.LOW, List.of("tag"), Instant.EPOCH));
+		}
+		final int compactSize = codec.toByteArray(entries).length;
+		final int javaSize = new JavaSerializationCodec().toByteArray(entries).length;
+		assertTrue(compactSize < javaSize, compactSize + " / " + javaSize);
+	}
+
+	/**
+	 * Test method for {@link CompactCodec#write(Object, java.io.OutputStream)} and
+	 * {@link CompactCodec#read(java.io.InputStream)} with several objects in one stream
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws ClassNotFoundException
+	 *             is thrown when a class of the read object is not found
+	 */
+	@Test
+	public void testWriteAndRead() throws IOException, ClassNotFoundException
+	{
+		final SegmentedByteArrayOutputStream outputStream = new SegmentedByteArrayOutputStream();
+		codec.write(Level.HIGH, outputStream);
+		codec.write("second", outputStream);
+		final ByteArrayInputStream inputStream = new ByteArrayInputStream(
+			outputStream.toByteArray());
+		assertSame(Level.HIGH, codec.read(inputStream));
+		assertEquals("second", codec.read(inputStream));
+		assertEquals(-1, inputStream.read());
+		assertEquals(CompactCodec.NAME, codec.getName());
+	}
+
+	/**
+	 * Test method for {@link CompactCodec#toByteArray(Object)} with an object that is not
+	 * serializable
+	 */
+	@Test
+	public void testNotSerializable()
+	{
+		assertThrows(NotSerializableException.class, () -> codec.toByteArray(new Object()));
+		assertThrows(NotSerializableException.class,
+			() -> codec.toByteArray(List.of(new Object())));
+	}
+
+	/**
+	 * Test method for {@link CompactCodec#toObject(byte[])} with corrupt input
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testCorruptInput() throws IOException
+	{
+		assertThrows(StreamCorruptedException.class,
+			() -> codec.toObject(new byte[] { 99, 0 }));
+		assertThrows(StreamCorruptedException.class,
+			() -> codec.toObject(new byte[] { 1, (byte)200 }));
+		final byte[] bytes = codec.toByteArray("a longer string");
+		assertThrows(IOException.class,
+			() -> codec.toObject(Arrays.copyOf(bytes, bytes.length - 3)));
+	}
+
+	/**
+	 * Test method for {@link CompactCodec#toObject(byte[])} with arrays that declare a huge length
+	 * but end after a few elements, the arrays must not be allocated with the declared length
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws ClassNotFoundException
+	 *             is thrown when a class of the read object is not found
+	 */
+	@Test
+	public void testCorruptArrayLength() throws IOException, ClassNotFoundException
+	{
+		// format version, array tag and the length Integer.MAX_VALUE - 8 as var long
+		for (final byte tag : new byte[] { 12, 13, 14 })
+		{
+			assertThrows(IOException.class, () -> codec.toObject(new byte[] { 1, tag, (byte)0xF7,
+					(byte)0xFF, (byte)0xFF, (byte)0xFF, 0x07, 2, 4, 6 }));
+		}
+		final int[] ints = new int[10_000];
+		Arrays.setAll(ints, i -> i * 31);
+		assertArrayEquals(ints, (int[])roundTrip(ints));
+		final String[] strings = new String[9_000];
+		Arrays.setAll(strings, String::valueOf);
+		assertArrayEquals(strings, (String[])roundTrip(strings));
+	}
+
+}
@@ -0,0 +1,82 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.io.codec;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.io.SegmentedByteArrayOutputStream;
+
+/**
+ * The unit test class for the class {@link JavaSerializationCodec}
+ */
+public class JavaSerializationCodecTest
+{
+
+	/**
+	 * Test method for {@link JavaSerializationCodec#toByteArray(Object)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testToByteArray() throws IOException
+	{
+		final byte[] expected = { -84, -19, 0, 5, 116, 0, 7, 70, 111, 111, 32, 98, 97, 114 };
+		final JavaSerializationCodec codec = new JavaSerializationCodec();
+		assertArrayEquals(expected, codec.toByteArray("Foo bar"));
+		assertEquals(JavaSerializationCodec.NAME, codec.getName());
+	}
+
+	/**
+	 * Test method for {@link JavaSerializationCodec#write(Object, java.io.OutputStream)} and
+	 * {@link JavaSerializationCodec#read(java.io.InputStream)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws ClassNotFoundException
+	 *             is thrown when a class of the read object is not found
+	 */
+	@Test
+	public void testWriteAndRead() throws IOException, ClassNotFoundException
+	{
+		final Date expected = new Date(1_234_567_890L);
+		final JavaSerializationCodec codec = new JavaSerializationCodec();
+		final SegmentedByteArrayOutputStream outputStream = new SegmentedByteArrayOutputStream();
+		codec.write(expected, outputStream);
+		codec.write("second", outputStream);
+		final ByteArrayInputStream inputStream = new ByteArrayInputStream(
+			outputStream.toByteArray());
+		assertEquals(expected, codec.read(inputStream));
+		assertEquals("second", codec.read(inputStream));
+	}
+
+}